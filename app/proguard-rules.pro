@@ -18,4 +18,9 @@
 
 # If you keep the line number information, uncomment this to
 # hide the original source file name.
-#-renamesourcefileattribute SourceFile
\ No newline at end of file
+#-renamesourcefileattribute SourceFile
+
+# API models are read and written by the hand-written adapters in
+# com.example.project.network.ModelTypeAdapters, which use the models' setters and
+# getters instead of reflection, so the models need no -keep rules when minifying.
+# A new model class must get an adapter there rather than a -keep rule here.
@@ -2,8 +2,6 @@ package com.example.project;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.util.Log;
 import android.view.View;
 import android.widget.ImageView;
@@ -20,15 +18,32 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.project.adapters.FavoritesAdapter;
+import com.example.project.adapters.PaginationScrollListener;
+import com.example.project.models.FavoriteItem;
 import com.example.project.models.FavoritesListResponse;
+import com.example.project.models.PendingFavorite;
 import com.example.project.models.Restaurant;
 import com.example.project.network.ApiClient;
+import com.example.project.network.FavoritesOutbox;
+import com.example.project.network.FavoritesStore;
+import com.example.project.network.RequestHandle;
+import com.example.project.network.RequestScope;
+import com.example.project.utils.AppLog;
 
-public class FavoritesActivity extends AppCompatActivity {
+import java.util.ArrayList;
+import java.util.List;
+
+public class FavoritesActivity extends AppCompatActivity implements FavoritesOutbox.Listener {
     private static final String TAG = "FavoritesActivity";
 
     private ApiClient apiClient;
-    private Handler mainHandler;
+    private FavoritesOutbox favoritesOutbox;
+    private FavoritesStore favoritesStore;
+    private List<FavoriteItem> serverFavorites = new ArrayList<>();
+    private int lastPendingCount = 0;
+    private String nextCursor;
+    private RequestHandle pageRequest;
+    private RequestScope requests;
     private RecyclerView favoritesRecyclerView;
     private FavoritesAdapter favoritesAdapter;
     private TextView emptyStateText;
@@ -46,13 +61,31 @@ public class FavoritesActivity extends AppCompatActivity {
 
         // Initialize API client and handler
         apiClient = ApiClient.getInstance(this);
-        mainHandler = new Handler(Looper.getMainLooper());
+        requests = RequestScope.bind(this);
+        favoritesOutbox = FavoritesOutbox.getInstance(this);
+        lastPendingCount = favoritesOutbox.getPending().size();
+        favoritesOutbox.addListener(this);
+        favoritesStore = FavoritesStore.getInstance(this);
 
         // Debug: Show toast to confirm new code is running
         Toast.makeText(this, "NEW FavoritesActivity loaded!", Toast.LENGTH_SHORT).show();
 
         setupViews();
         setupClickListeners();
+
+        // Render the last synced list as soon as it is read; the sync below only fetches what changed
+        requests.track(favoritesStore.loadSnapshot(new FavoritesStore.SyncCallback() {
+            @Override
+            public void onSuccess(List<FavoriteItem> favorites) {
+                serverFavorites = favorites;
+                showFavorites();
+            }
+
+            @Override
+            public void onError(String error) {
+                // Reading the stored list does not fail; the sync reports network errors
+            }
+        }));
         loadFavorites();
     }
     
@@ -107,12 +140,16 @@ public class FavoritesActivity extends AppCompatActivity {
         favoritesAdapter = new FavoritesAdapter(restaurant -> {
             // Handle restaurant click - navigate to detail activity
             Intent intent = new Intent(FavoritesActivity.this, RestaurantDetailActivity.class);
+            intent.putExtra("restaurant_id", restaurant.getId());
             intent.putExtra("restaurant_name", restaurant.getName());
-            intent.putExtra("restaurant_description", restaurant.getDescription());
             intent.putExtra("restaurant_info", restaurant.getAddress() + " | " + restaurant.getCuisineType());
-            intent.putExtra("restaurant_hours", restaurant.getTodayHours());
-            intent.putExtra("restaurant_rating", String.format("%.1f", restaurant.getRating()));
-            intent.putExtra("restaurant_phone", "Phone: " + restaurant.getPhone());
+            // List rows may be a compact projection; the detail screen loads the rest by id
+            if (restaurant.hasDetails()) {
+                intent.putExtra("restaurant_description", restaurant.getDescription());
+                intent.putExtra("restaurant_hours", restaurant.getTodayHours());
+                intent.putExtra("restaurant_phone", "Phone: " + restaurant.getPhone());
+            }
+            intent.putExtra("restaurant_rating", restaurant.getRatingText());
             intent.putExtra("restaurant_image", R.drawable.restaurant_bella_trattoria); // Default image
 
             // Pass coordinates if available
@@ -126,6 +163,9 @@ public class FavoritesActivity extends AppCompatActivity {
 
         favoritesRecyclerView.setLayoutManager(new LinearLayoutManager(this));
         favoritesRecyclerView.setAdapter(favoritesAdapter);
+        favoritesRecyclerView.addOnScrollListener(new PaginationScrollListener(
+                apiClient::getPrefetchDistance,
+                this::loadNextFavoritesPage));
         Log.d(TAG, "RecyclerView setup complete");
     }
 
@@ -137,21 +177,58 @@ public class FavoritesActivity extends AppCompatActivity {
 
         // Check if user is authenticated
         if (!apiClient.isAuthenticated()) {
-            showEmptyState("Please log in to view your favorites");
+            if (favoritesOutbox.getPending().isEmpty()) {
+                showEmptyState("Please log in to view your favorites");
+            } else {
+                showFavorites();
+            }
+            return;
+        }
+
+        // A reload starts over from the first page
+        cancelPageRequest();
+        nextCursor = null;
+
+        if (favoritesStore.isDeltaSyncSupported()) {
+            syncFavorites();
             return;
         }
 
-        apiClient.getFavorites(new ApiClient.FavoritesListCallback() {
+        requests.track(apiClient.getFavorites(new ApiClient.FavoritesListCallback() {
             @Override
             public void onSuccess(FavoritesListResponse response) {
-                mainHandler.post(() -> handleFavoritesSuccess(response));
+                requests.post(() -> handleFavoritesSuccess(response));
             }
 
             @Override
             public void onError(String error) {
-                mainHandler.post(() -> handleFavoritesError(error));
+                requests.post(() -> handleFavoritesError(error));
             }
-        });
+        }));
+    }
+
+    /**
+     * Apply the changes since the last sync to the local store and show the result
+     */
+    private void syncFavorites() {
+        requests.track(favoritesStore.sync(new FavoritesStore.SyncCallback() {
+            @Override
+            public void onSuccess(List<FavoriteItem> favorites) {
+                Log.d(TAG, "Favorites synced: " + favorites.size() + " favorites");
+                serverFavorites = favorites;
+                showFavorites();
+            }
+
+            @Override
+            public void onError(String error) {
+                if (!favoritesStore.isDeltaSyncSupported()) {
+                    // Older backend: download the list page by page instead
+                    loadFavorites();
+                } else {
+                    handleFavoritesError(error);
+                }
+            }
+        }));
     }
 
     /**
@@ -159,7 +236,7 @@ public class FavoritesActivity extends AppCompatActivity {
      */
     private void handleFavoritesSuccess(FavoritesListResponse response) {
         Log.d(TAG, "Favorites loaded successfully: " + response.getCount() + " favorites");
-        Log.d(TAG, "📊 Response details: " + response.toString());
+        AppLog.d(TAG, "📊 Response details: {}", response);
 
         if (response.getFavorites() != null && !response.getFavorites().isEmpty()) {
             Log.d(TAG, "📋 Found " + response.getFavorites().size() + " favorites, showing list");
@@ -171,22 +248,107 @@ public class FavoritesActivity extends AppCompatActivity {
                     firstFavorite.getRestaurantData().getName() : "null restaurant data"));
             }
 
-            showFavoritesList();
-            favoritesAdapter.updateFavorites(response.getFavorites());
-            Log.d(TAG, "Adapter updated with favorites data");
+            // Copy: the response may be shared with other callers and later pages are appended here
+            serverFavorites = new ArrayList<>(response.getFavorites());
         } else {
-            Log.d(TAG, "📭 No favorites found, showing empty state");
+            Log.d(TAG, "📭 No favorites found on server");
+            serverFavorites = new ArrayList<>();
+        }
+        nextCursor = response.hasMorePages() ? response.getNextCursor() : null;
+        showFavorites();
+    }
+
+    /**
+     * Fetch the page after the last one shown; called as the list nears its end
+     */
+    private void loadNextFavoritesPage() {
+        if (nextCursor == null || pageRequest != null || !apiClient.isAuthenticated()) {
+            return;
+        }
+        Log.d(TAG, "Loading next page of favorites");
+        pageRequest = requests.track(apiClient.getFavorites(nextCursor, new ApiClient.FavoritesListCallback() {
+            @Override
+            public void onSuccess(FavoritesListResponse response) {
+                requests.post(() -> {
+                    pageRequest = null;
+                    nextCursor = response.hasMorePages() ? response.getNextCursor() : null;
+                    if (response.getFavorites() != null) {
+                        serverFavorites.addAll(response.getFavorites());
+                        favoritesAdapter.appendFavorites(response.getFavorites());
+                    }
+                });
+            }
+
+            @Override
+            public void onError(String error) {
+                requests.post(() -> {
+                    // Keep the cursor so scrolling again retries this page
+                    pageRequest = null;
+                    Log.w(TAG, "Failed to load next page of favorites: " + error);
+                });
+            }
+        }));
+    }
+
+    private void cancelPageRequest() {
+        if (pageRequest != null) {
+            pageRequest.cancel();
+            pageRequest = null;
+        }
+    }
+
+    /**
+     * Show favorites still waiting to sync on top of the ones the server returned
+     */
+    private void showFavorites() {
+        List<FavoriteItem> items = new ArrayList<>();
+        for (PendingFavorite pending : favoritesOutbox.getPending()) {
+            items.add(pending.toFavoriteItem());
+        }
+        items.addAll(serverFavorites);
+
+        if (items.isEmpty()) {
             showEmptyState("No favorites yet. Start exploring restaurants!");
+            return;
+        }
+        showFavoritesList();
+        favoritesAdapter.updateFavorites(items);
+    }
+
+    @Override
+    public void onPendingFavoritesChanged(List<PendingFavorite> pending) {
+        boolean synced = pending.size() < lastPendingCount;
+        lastPendingCount = pending.size();
+        if (synced) {
+            // Some queued favorites reached the server; reload to show the server's copies
+            loadFavorites();
+        } else {
+            showFavorites();
         }
     }
 
+    @Override
+    public void onFavoriteRejected(Restaurant restaurant, String error) {
+        Toast.makeText(this, "Could not save " + restaurant.getName() + " to favorites", Toast.LENGTH_LONG).show();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        favoritesOutbox.removeListener(this);
+    }
+
     /**
      * Handle favorites error
      */
     private void handleFavoritesError(String error) {
         Log.e(TAG, " Failed to load favorites: " + error);
         Toast.makeText(this, "Unable to load favorites", Toast.LENGTH_SHORT).show();
-        showEmptyState("Unable to load favorites. Please try again.");
+        if (favoritesOutbox.getPending().isEmpty() && serverFavorites.isEmpty()) {
+            showEmptyState("Unable to load favorites. Please try again.");
+        } else {
+            showFavorites();
+        }
     }
 
     /**
@@ -2,8 +2,6 @@ package com.example.project;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.util.Log;
 import android.view.View;
 import android.widget.ImageView;
@@ -20,13 +18,23 @@ import androidx.core.view.WindowInsetsCompat;
 import com.example.project.models.Restaurant;
 import com.example.project.models.SearchResponse;
 import com.example.project.network.ApiClient;
+import com.example.project.network.FavoritesOutbox;
+import com.example.project.network.FavoritesStore;
+import com.example.project.network.RequestScope;
+import com.example.project.network.TrendingSnapshot;
+import com.example.project.services.DirectionsService;
+import com.example.project.utils.ConfigManager;
 import com.google.android.material.card.MaterialCardView;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class MainActivity extends AppCompatActivity {
     private static final String TAG = "MainActivity";
 
     private ApiClient apiClient;
-    private Handler mainHandler;
+    private RequestScope requests;
+    private boolean showingTrending;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -41,9 +49,19 @@ public class MainActivity extends AppCompatActivity {
 
         // Initialize API client and handler
         apiClient = ApiClient.getInstance(this);
-        mainHandler = new Handler(Looper.getMainLooper());
+        requests = RequestScope.bind(this);
+
+        // Open backend and Directions connections in the background so the first real request reuses them
+        apiClient.prewarmConnection();
+        DirectionsService.getInstance(this).prewarmConnection();
+
+        // Resume syncing favorites that were queued before the app was closed. Both favorites
+        // singletons exist from here on, so a login or logout always clears per-user data
+        FavoritesOutbox.getInstance(this);
+        FavoritesStore.getInstance(this);
 
         setupClickListeners();
+        showTrendingSnapshot();
         loadTrendingRestaurants();
     }
 
@@ -167,23 +185,48 @@ public class MainActivity extends AppCompatActivity {
         }
     }
 
+    /**
+     * Fill the cards with the last trending result before the first frame
+     * The snapshot is memory-mapped and only the restaurants on the cards are decoded.
+     */
+    private void showTrendingSnapshot() {
+        if (!ConfigManager.getInstance(this).isRestaurantStoreEnabled()) {
+            return;
+        }
+        TrendingSnapshot trendingSnapshot = TrendingSnapshot.getInstance(this);
+        List<Restaurant> cards;
+        try {
+            // Decode the records the cards show before touching any view
+            List<Restaurant> snapshot = trendingSnapshot.load();
+            cards = new ArrayList<>(snapshot.subList(0, Math.min(snapshot.size(), 3)));
+        } catch (IllegalStateException e) {
+            Log.w(TAG, "Discarding unreadable trending snapshot", e);
+            trendingSnapshot.discard();
+            return;
+        }
+        if (!cards.isEmpty()) {
+            Log.d(TAG, "Showing trending snapshot until the refresh arrives");
+            updateTrendingSection(cards);
+        }
+    }
+
     /**
      * Load trending restaurants from the API and update the UI
      */
     private void loadTrendingRestaurants() {
         Log.d(TAG, " Loading trending restaurants");
 
-        apiClient.getTrendingRestaurants(new ApiClient.SearchCallback() {
+        requests.track(apiClient.getTrendingRestaurants(new ApiClient.SearchCallback() {
             @Override
             public void onSuccess(SearchResponse response) {
-                mainHandler.post(() -> handleTrendingSuccess(response));
+                requests.post(() -> handleTrendingSuccess(response));
             }
 
             @Override
             public void onError(String error) {
-                mainHandler.post(() -> handleTrendingError(error));
+                requests.post(() -> handleTrendingError(error));
             }
-        });
+        }));
     }
 
     /**
@@ -205,6 +248,10 @@ public class MainActivity extends AppCompatActivity {
      */
     private void handleTrendingError(String error) {
         Log.e(TAG, " Failed to load trending restaurants: " + error);
+        if (showingTrending) {
+            // The cards already show the last trending result
+            return;
+        }
         Toast.makeText(this, "Unable to load trending restaurants", Toast.LENGTH_SHORT).show();
         // Keep the existing hardcoded restaurants as fallback
     }
@@ -212,7 +259,7 @@ public class MainActivity extends AppCompatActivity {
     /**
      * Update the trending section with API data
      */
-    private void updateTrendingSection(java.util.List<Restaurant> restaurants) {
+    private void updateTrendingSection(List<Restaurant> restaurants) {
         // Update section title
         TextView sectionTitle = findViewById(R.id.favorites_section_title);
         if (sectionTitle != null) {
@@ -226,6 +273,7 @@ public class MainActivity extends AppCompatActivity {
             Restaurant restaurant = restaurants.get(i);
             updateRestaurantCard(i, restaurant);
         }
+        showingTrending = maxRestaurants > 0;
     }
 
     /**
@@ -269,12 +317,16 @@ public class MainActivity extends AppCompatActivity {
             // Update click listener to use API data
             restaurantCard.setOnClickListener(v -> {
                 Intent intent = new Intent(MainActivity.this, RestaurantDetailActivity.class);
+                intent.putExtra("restaurant_id", restaurant.getId());
                 intent.putExtra("restaurant_name", restaurant.getName());
-                intent.putExtra("restaurant_description", restaurant.getDescription());
                 intent.putExtra("restaurant_info", restaurant.getAddress() + " | " + restaurant.getCuisineType());
-                intent.putExtra("restaurant_hours", restaurant.getTodayHours());
-                intent.putExtra("restaurant_rating", String.format("%.1f", restaurant.getRating()));
-                intent.putExtra("restaurant_phone", "Phone: " + restaurant.getPhone());
+                // List rows may be a compact projection; the detail screen loads the rest by id
+                if (restaurant.hasDetails()) {
+                    intent.putExtra("restaurant_description", restaurant.getDescription());
+                    intent.putExtra("restaurant_hours", restaurant.getTodayHours());
+                    intent.putExtra("restaurant_phone", "Phone: " + restaurant.getPhone());
+                }
+                intent.putExtra("restaurant_rating", restaurant.getRatingText());
                 intent.putExtra("restaurant_image", getDefaultRestaurantImage(index));
 
                 // Pass coordinates if available
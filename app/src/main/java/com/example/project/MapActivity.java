@@ -73,7 +73,7 @@ public class MapActivity extends AppCompatActivity implements OnMapReadyCallback
 
         // Initialize services
         mainHandler = new Handler(Looper.getMainLooper());
-        directionsService = new DirectionsService(this);
+        directionsService = DirectionsService.getInstance(this);
 
         // Get restaurant data from intent
         getRestaurantDataFromIntent();
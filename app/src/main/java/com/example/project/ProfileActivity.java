@@ -13,6 +13,8 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
+import com.example.project.network.ApiClient;
+
 public class ProfileActivity extends AppCompatActivity {
 
     @Override
@@ -75,5 +77,18 @@ public class ProfileActivity extends AppCompatActivity {
                 // TODO: Navigate to SettingsActivity when implemented
             });
         }
+
+        // Log out option click - drop the session and this account's local data
+        LinearLayout logoutOption = findViewById(R.id.logout_option);
+        if (logoutOption != null) {
+            logoutOption.setOnClickListener(v -> {
+                ApiClient.getInstance(this).logout();
+                Toast.makeText(this, "Logged out", Toast.LENGTH_SHORT).show();
+                Intent intent = new Intent(ProfileActivity.this, LoginActivity.class);
+                intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
+                startActivity(intent);
+                finish();
+            });
+        }
     }
 }
@@ -2,8 +2,6 @@ package com.example.project;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.util.Log;
 import android.view.View;
 import android.widget.ImageView;
@@ -16,10 +14,11 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
-import com.example.project.models.FavoriteRequest;
-import com.example.project.models.FavoriteResponse;
 import com.example.project.models.Restaurant;
 import com.example.project.network.ApiClient;
+import com.example.project.network.FavoritesOutbox;
+import com.example.project.network.RequestScope;
+import com.example.project.network.RestaurantIdentityMap;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.card.MaterialCardView;
 
@@ -32,9 +31,11 @@ public class RestaurantDetailActivity extends AppCompatActivity {
     private MaterialCardView shareButton;
     private MaterialButton directionsButton, favoriteButton;
 
-    private ApiClient apiClient;
-    private Handler mainHandler;
+    private FavoritesOutbox favoritesOutbox;
     private Restaurant currentRestaurant;
+    // Whether currentRestaurant is the instance other screens share, which must not be modified
+    private boolean sharedRestaurant;
+    private RequestScope requests;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -47,9 +48,9 @@ public class RestaurantDetailActivity extends AppCompatActivity {
             return insets;
         });
 
-        // Initialize API client and handler
-        apiClient = ApiClient.getInstance(this);
-        mainHandler = new Handler(Looper.getMainLooper());
+        // Favorites are queued and synced in the background
+        favoritesOutbox = FavoritesOutbox.getInstance(this);
+        requests = RequestScope.bind(this);
 
         initializeViews();
         loadRestaurantData();
@@ -72,6 +73,7 @@ public class RestaurantDetailActivity extends AppCompatActivity {
     private void loadRestaurantData() {
         // Get restaurant data from Intent extras
         Intent intent = getIntent();
+        String id = intent.getStringExtra("restaurant_id");
         String name = intent.getStringExtra("restaurant_name");
         String description = intent.getStringExtra("restaurant_description");
         String info = intent.getStringExtra("restaurant_info");
@@ -90,6 +92,22 @@ public class RestaurantDetailActivity extends AppCompatActivity {
             longitude = intent.getDoubleExtra("restaurant_longitude", 0.0);
         }
 
+        // The list screens usually still hold this restaurant, possibly with details loaded earlier
+        Restaurant shared = RestaurantIdentityMap.getInstance(this).get(id);
+        if (shared != null && description == null && shared.hasDetails()) {
+            description = shared.getDescription() != null ? shared.getDescription() : "";
+            hours = shared.getTodayHours();
+            phone = shared.getPhone() != null ? "Phone: " + shared.getPhone() : "";
+        }
+
+        // A list summary without description, hours and phone: show placeholders and load the full record
+        boolean detailsPending = id != null && description == null;
+        if (detailsPending) {
+            description = "Loading details...";
+            hours = "";
+            phone = "";
+        }
+
         // Set default values if no data is passed
         if (name == null) name = "The Golden Spoon";
         if (description == null) description = "The Golden Spoon offers a delightful Italian dining experience with a menu featuring classic pasta dishes, wood-fired pizzas, and fresh seafood. Enjoy a cozy atmosphere and attentive service.";
@@ -99,45 +117,55 @@ public class RestaurantDetailActivity extends AppCompatActivity {
         if (phone == null) phone = "Phone: (555) 123-4567";
 
         // Create Restaurant object for favorites functionality
-        try {
-            currentRestaurant = new Restaurant();
-            currentRestaurant.setName(name);
-            currentRestaurant.setDescription(description);
-            currentRestaurant.setRating(Double.parseDouble(rating));
-
-            // Extract address from info (format: "address | cuisine | price")
-            Log.d(TAG, "Raw restaurant_info: '" + info + "'");
-            String[] infoParts = info.split(" \\| ");
-            Log.d(TAG, "Split into " + infoParts.length + " parts");
-
-            if (infoParts.length > 0) {
-                String address = infoParts[0].trim();
-                currentRestaurant.setAddress(address);
-                Log.d(TAG, "Extracted address: '" + address + "'");
-            }
-            if (infoParts.length > 1) {
-                currentRestaurant.setCuisineType(infoParts[1]);
-                Log.d(TAG, "Extracted cuisine: '" + infoParts[1] + "'");
+        if (shared != null) {
+            currentRestaurant = shared;
+            sharedRestaurant = true;
+        } else {
+            try {
+                currentRestaurant = new Restaurant();
+                currentRestaurant.setId(id);
+                currentRestaurant.setName(name);
+                if (!detailsPending) {
+                    currentRestaurant.setDescription(description);
+                }
+                currentRestaurant.setRating(Double.parseDouble(rating));
+
+                // Extract address from info (format: "address | cuisine | price")
+                Log.d(TAG, "Raw restaurant_info: '" + info + "'");
+                String[] infoParts = info.split(" \\| ");
+                Log.d(TAG, "Split into " + infoParts.length + " parts");
+
+                if (infoParts.length > 0) {
+                    String address = infoParts[0].trim();
+                    currentRestaurant.setAddress(address);
+                    Log.d(TAG, "Extracted address: '" + address + "'");
+                }
+                if (infoParts.length > 1) {
+                    currentRestaurant.setCuisineType(infoParts[1]);
+                    Log.d(TAG, "Extracted cuisine: '" + infoParts[1] + "'");
+                }
+
+                if (!detailsPending) {
+                    // Extract phone number (remove "Phone: " prefix if present)
+                    String phoneNumber = phone.replace("Phone: ", "");
+                    currentRestaurant.setPhone(phoneNumber);
+
+                    // Set default hours map
+                    java.util.Map<String, String> hoursMap = new java.util.HashMap<>();
+                    hoursMap.put("monday", "11:00 AM - 10:00 PM");
+                    currentRestaurant.setHours(hoursMap);
+                }
+
+                // Set coordinates if available
+                if (latitude != null && longitude != null) {
+                    currentRestaurant.setLatitude(latitude);
+                    currentRestaurant.setLongitude(longitude);
+                    Log.d(TAG, "Set restaurant coordinates: " + latitude + ", " + longitude);
+                }
+
+            } catch (Exception e) {
+                Log.e(TAG, "Error creating Restaurant object: " + e.getMessage());
             }
-
-            // Extract phone number (remove "Phone: " prefix if present)
-            String phoneNumber = phone.replace("Phone: ", "");
-            currentRestaurant.setPhone(phoneNumber);
-
-            // Set default hours map
-            java.util.Map<String, String> hoursMap = new java.util.HashMap<>();
-            hoursMap.put("monday", "11:00 AM - 10:00 PM");
-            currentRestaurant.setHours(hoursMap);
-
-            // Set coordinates if available
-            if (latitude != null && longitude != null) {
-                currentRestaurant.setLatitude(latitude);
-                currentRestaurant.setLongitude(longitude);
-                Log.d(TAG, "Set restaurant coordinates: " + latitude + ", " + longitude);
-            }
-
-        } catch (Exception e) {
-            Log.e(TAG, "Error creating Restaurant object: " + e.getMessage());
         }
 
         // Update UI with restaurant data
@@ -148,8 +176,49 @@ public class RestaurantDetailActivity extends AppCompatActivity {
         restaurantRating.setText(rating);
         restaurantPhone.setText(phone);
         restaurantHeroImage.setImageResource(imageResource);
+
+        if (detailsPending) {
+            loadRestaurantDetails(id);
+        }
     }
-    
+
+    /**
+     * Fetch the full record for a restaurant opened from a compact list row
+     */
+    private void loadRestaurantDetails(String id) {
+        requests.track(ApiClient.getInstance(this).getRestaurantDetails(id, new ApiClient.RestaurantCallback() {
+            @Override
+            public void onSuccess(Restaurant restaurant) {
+                requests.post(() -> showRestaurantDetails(restaurant));
+            }
+
+            @Override
+            public void onError(String error) {
+                Log.w(TAG, "Could not load details for restaurant " + id + ": " + error);
+                requests.post(() -> restaurantDescription.setText("Details are not available right now"));
+            }
+        }));
+    }
+
+    private void showRestaurantDetails(Restaurant restaurant) {
+        restaurantDescription.setText(restaurant.getDescription() != null ? restaurant.getDescription() : "");
+        restaurantHours.setText(restaurant.getTodayHours());
+        restaurantPhone.setText(restaurant.getPhone() != null ? "Phone: " + restaurant.getPhone() : "");
+
+        if (sharedRestaurant) {
+            // The loaded record is the new shared instance and already carries the row's location
+            currentRestaurant = restaurant;
+        } else if (currentRestaurant != null) {
+            currentRestaurant.setDescription(restaurant.getDescription());
+            currentRestaurant.setPhone(restaurant.getPhone());
+            currentRestaurant.setHours(restaurant.getHours());
+            if (!currentRestaurant.hasLocation() && restaurant.hasLocation()) {
+                currentRestaurant.setLatitude(restaurant.getLatitude());
+                currentRestaurant.setLongitude(restaurant.getLongitude());
+            }
+        }
+    }
+
     private void setupClickListeners() {
         // Back arrow click - return to previous activity
         ImageView backArrow = findViewById(R.id.back_arrow);
@@ -209,44 +278,25 @@ public class RestaurantDetailActivity extends AppCompatActivity {
         }
 
         Log.d(TAG, "️ Adding restaurant to favorites: " + currentRestaurant.getName());
-        Toast.makeText(this, "Adding " + currentRestaurant.getName() + " to favorites...", Toast.LENGTH_SHORT).show();
-
-        // Create favorite request
-        FavoriteRequest favoriteRequest = new FavoriteRequest(currentRestaurant);
 
-        // Call API to add to favorites
-        apiClient.addToFavorites(favoriteRequest, new ApiClient.FavoritesCallback() {
+        // Queued in the outbox and synced in the background, so this also works offline
+        Restaurant restaurant = currentRestaurant;
+        favoritesOutbox.add(restaurant, new FavoritesOutbox.AddCallback() {
             @Override
-            public void onSuccess(FavoriteResponse response) {
-                mainHandler.post(() -> handleFavoriteSuccess(response));
+            public void onSuccess(boolean queued) {
+                requests.post(() -> Toast.makeText(RestaurantDetailActivity.this, "" + restaurant.getName()
+                        + (queued ? " added to favorites!" : " is already being added to favorites"),
+                        Toast.LENGTH_SHORT).show());
             }
 
             @Override
             public void onError(String error) {
-                mainHandler.post(() -> handleFavoriteError(error));
+                requests.post(() -> Toast.makeText(RestaurantDetailActivity.this,
+                        "Couldn't add " + restaurant.getName() + " to favorites: " + error, Toast.LENGTH_SHORT).show());
             }
         });
     }
 
-    /**
-     * Handle successful favorite addition
-     */
-    private void handleFavoriteSuccess(FavoriteResponse response) {
-        Log.d(TAG, "Restaurant added to favorites successfully: " + response.toString());
-        Toast.makeText(this, "" + currentRestaurant.getName() + " added to favorites!", Toast.LENGTH_SHORT).show();
-
-        // Optional: Update UI to show restaurant is favorited
-        // You could change the button text or color to indicate it's been favorited
-    }
-
-    /**
-     * Handle favorite addition error
-     */
-    private void handleFavoriteError(String error) {
-        Log.e(TAG, " Failed to add restaurant to favorites: " + error);
-        Toast.makeText(this, " Failed to add " + currentRestaurant.getName() + " to favorites: " + error, Toast.LENGTH_LONG).show();
-    }
-
     /**
      * Open directions to the restaurant using Google Maps
      */
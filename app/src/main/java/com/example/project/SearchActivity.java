@@ -24,12 +24,16 @@ import androidx.core.view.WindowInsetsCompat;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.project.adapters.PaginationScrollListener;
 import com.example.project.adapters.RestaurantSearchAdapter;
-import com.example.project.models.FavoriteRequest;
-import com.example.project.models.FavoriteResponse;
 import com.example.project.models.Restaurant;
 import com.example.project.models.SearchResponse;
 import com.example.project.network.ApiClient;
+import com.example.project.network.FavoritesOutbox;
+import com.example.project.network.RequestScope;
+import com.example.project.network.SearchQueryPipeline;
+import com.example.project.utils.AppLog;
+import com.example.project.utils.ConfigManager;
 import com.google.android.material.card.MaterialCardView;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 
@@ -47,11 +51,11 @@ public class SearchActivity extends AppCompatActivity {
 
     private ApiClient apiClient;
     private Handler mainHandler;
+    private RequestScope requests;
     private RestaurantSearchAdapter searchAdapter;
     
     // Search management
-    private Handler searchHandler;
-    private Runnable searchRunnable;
+    private SearchQueryPipeline searchPipeline;
     private boolean isSearchInProgress = false;
 
     @Override
@@ -76,7 +80,8 @@ public class SearchActivity extends AppCompatActivity {
         // Initialize API client and test connectivity
         apiClient = ApiClient.getInstance(this);
         mainHandler = new Handler(Looper.getMainLooper());
-        searchHandler = new Handler(Looper.getMainLooper());
+        requests = RequestScope.bind(this);
+        setupSearchPipeline();
         testBackendConnectivity();
     }
 
@@ -102,12 +107,17 @@ public class SearchActivity extends AppCompatActivity {
                 restaurant -> {
                     // Handle restaurant click - navigate to detail activity
                     Intent intent = new Intent(SearchActivity.this, RestaurantDetailActivity.class);
+                    intent.putExtra("restaurant_id", restaurant.getId());
                     intent.putExtra("restaurant_name", restaurant.getName());
-                    intent.putExtra("restaurant_rating", String.format("%.1f", restaurant.getRating()));
+                    intent.putExtra("restaurant_rating", restaurant.getRatingText());
                     intent.putExtra("restaurant_reviews", "Reviews available");
                     intent.putExtra("restaurant_info", restaurant.getAddress() + " | " + restaurant.getCuisineType());
-                    intent.putExtra("restaurant_hours", restaurant.getTodayHours());
-                    intent.putExtra("restaurant_description", restaurant.getDescription());
+                    // List rows may be a compact projection; the detail screen loads the rest by id
+                    if (restaurant.hasDetails()) {
+                        intent.putExtra("restaurant_description", restaurant.getDescription());
+                        intent.putExtra("restaurant_hours", restaurant.getTodayHours());
+                        intent.putExtra("restaurant_phone", "Phone: " + restaurant.getPhone());
+                    }
 
                     // Pass coordinates if available
                     if (restaurant.hasLocation()) {
@@ -115,7 +125,6 @@ public class SearchActivity extends AppCompatActivity {
                         intent.putExtra("restaurant_longitude", restaurant.getLongitude());
                         Log.d(TAG, "Passing coordinates for " + restaurant.getName() + ": " + restaurant.getLocationString());
                     }
-                    intent.putExtra("restaurant_phone", "Phone: " + restaurant.getPhone());
                     intent.putExtra("restaurant_image", R.drawable.search_bella_trattoria); // Default image
                     startActivity(intent);
                 },
@@ -127,6 +136,15 @@ public class SearchActivity extends AppCompatActivity {
 
         searchResultsRecycler.setLayoutManager(new LinearLayoutManager(this));
         searchResultsRecycler.setAdapter(searchAdapter);
+
+        // Fetch the next page before the user reaches the end of the list
+        searchResultsRecycler.addOnScrollListener(new PaginationScrollListener(
+                apiClient::getPrefetchDistance,
+                () -> {
+                    if (searchPipeline != null) {
+                        searchPipeline.loadNextPage();
+                    }
+                }));
     }
 
     private void setupClickListeners() {
@@ -144,16 +162,6 @@ public class SearchActivity extends AppCompatActivity {
             searchButton.setOnClickListener(v -> {
                 String query = searchEditText.getText().toString().trim();
                 if (!query.isEmpty()) {
-                    // Check if search is already in progress
-                    if (isSearchInProgress) {
-                        Toast.makeText(this, "Search in progress, please wait...", Toast.LENGTH_SHORT).show();
-                        return;
-                    }
-                    
-                    // Cancel any pending search
-                    if (searchRunnable != null) {
-                        searchHandler.removeCallbacks(searchRunnable);
-                    }
                     performSearch(query);
                 } else {
                     Toast.makeText(this, "Please enter a search term", Toast.LENGTH_SHORT).show();
@@ -164,10 +172,8 @@ public class SearchActivity extends AppCompatActivity {
         // Clear search button
         if (clearSearch != null) {
             clearSearch.setOnClickListener(v -> {
-                // Cancel any pending search
-                if (searchRunnable != null) {
-                    searchHandler.removeCallbacks(searchRunnable);
-                }
+                // Cancel any pending or in-flight search
+                searchPipeline.cancel();
                 searchEditText.setText("");
                 searchEditText.requestFocus();
                 showDefaultState();
@@ -193,19 +199,10 @@ public class SearchActivity extends AppCompatActivity {
 
                 @Override
                 public void afterTextChanged(Editable s) {
-                    // Cancel any pending search when text changes
-                    if (searchRunnable != null) {
-                        searchHandler.removeCallbacks(searchRunnable);
-                    }
-                    
-                    // If search field is empty, show default state immediately
-                    if (s.toString().trim().isEmpty()) {
-                        showDefaultState();
-                        return;
+                    // Debounced search; superseded requests are cancelled by the pipeline
+                    if (searchPipeline != null) {
+                        searchPipeline.onQueryChanged(s.toString());
                     }
-                    
-                    // Don't perform automatic search - wait for user to press Enter or search button
-                    // This prevents excessive API calls while user is typing
                 }
             });
 
@@ -216,17 +213,7 @@ public class SearchActivity extends AppCompatActivity {
                     if (actionId == EditorInfo.IME_ACTION_SEARCH) {
                         String query = v.getText().toString().trim();
                         
-                        // Check if search is already in progress
-                        if (isSearchInProgress) {
-                            Toast.makeText(SearchActivity.this, "Search in progress, please wait...", Toast.LENGTH_SHORT).show();
-                            return true;
-                        }
-                        
                         if (!query.isEmpty()) {
-                            // Cancel any pending delayed search
-                            if (searchRunnable != null) {
-                                searchHandler.removeCallbacks(searchRunnable);
-                            }
                             // Perform immediate search
                             performSearch(query);
                         } else {
@@ -243,6 +230,54 @@ public class SearchActivity extends AppCompatActivity {
         }
     }
 
+    /**
+     * Create the search-as-you-type pipeline that drives all searches on this screen
+     */
+    private void setupSearchPipeline() {
+        ConfigManager configManager = ConfigManager.getInstance(this);
+        searchPipeline = new SearchQueryPipeline(apiClient, mainHandler, "toronto",
+                configManager.getSearchMinQueryLength(),
+                configManager.getSearchDebounceMinMs(),
+                configManager.getSearchDebounceMaxMs(),
+                new SearchQueryPipeline.Listener() {
+                    @Override
+                    public void onSearchStarted(String query) {
+                        Log.d(TAG, "Performing search for: " + query);
+                        isSearchInProgress = true;
+                        updateSearchButtonState();
+
+                        // Keep current results on screen while the next query loads
+                        if (searchAdapter.getItemCount() == 0) {
+                            showLoadingState();
+                        }
+                    }
+
+                    @Override
+                    public void onSearchResults(String query, SearchResponse response) {
+                        handleSearchSuccess(response);
+                    }
+
+                    @Override
+                    public void onMoreResults(String query, SearchResponse page) {
+                        Log.d(TAG, "Appending " + (page.getRestaurants() != null ? page.getRestaurants().size() : 0) + " more results");
+                        searchAdapter.appendRestaurants(page.getRestaurants());
+                    }
+
+                    @Override
+                    public void onSearchError(String query, String error) {
+                        handleSearchError(error);
+                    }
+
+                    @Override
+                    public void onQueryCleared() {
+                        isSearchInProgress = false;
+                        updateSearchButtonState();
+                        hideLoadingState();
+                        showDefaultState();
+                    }
+                });
+    }
+
     private void performSearch(String query) {
         if (query == null || query.trim().isEmpty()) {
             Log.d(TAG, "Empty search query, skipping search");
@@ -250,35 +285,9 @@ public class SearchActivity extends AppCompatActivity {
             return;
         }
 
-        // Check if search is already in progress
-        if (isSearchInProgress) {
-            Log.d(TAG, "Search already in progress, ignoring new request");
-            Toast.makeText(this, "Search in progress, please wait...", Toast.LENGTH_SHORT).show();
-            return;
+        if (!searchPipeline.submit(query)) {
+            Toast.makeText(this, "Please enter at least " + searchPipeline.getMinQueryLength() + " characters", Toast.LENGTH_SHORT).show();
         }
-
-        Log.d(TAG, "Performing search for: " + query);
-        Toast.makeText(this, "Searching for: " + query, Toast.LENGTH_SHORT).show();
-
-        // Set search state to in progress
-        isSearchInProgress = true;
-        updateSearchButtonState();
-
-        // Show loading state
-        showLoadingState();
-
-        // Call the backend API
-        apiClient.searchRestaurants(query.trim(), "toronto", new ApiClient.SearchCallback() {
-            @Override
-            public void onSuccess(SearchResponse response) {
-                mainHandler.post(() -> handleSearchSuccess(response));
-            }
-
-            @Override
-            public void onError(String error) {
-                mainHandler.post(() -> handleSearchError(error));
-            }
-        });
     }
 
     private void setupRestaurantClickListeners() {
@@ -314,10 +323,10 @@ public class SearchActivity extends AppCompatActivity {
         Toast.makeText(this, "🔗 Testing server connection...", Toast.LENGTH_SHORT).show();
 
         // First try the default configuration
-        apiClient.testConnectivity(new ApiClient.SearchCallback() {
+        requests.track(apiClient.testConnectivity(new ApiClient.SearchCallback() {
             @Override
             public void onSuccess(SearchResponse response) {
-                mainHandler.post(() -> {
+                requests.post(() -> {
                     Log.d(TAG, "Backend connectivity test successful");
                     Toast.makeText(SearchActivity.this, "Connected to backend server", Toast.LENGTH_SHORT).show();
                 });
@@ -325,19 +334,19 @@ public class SearchActivity extends AppCompatActivity {
 
             @Override
             public void onError(String error) {
-                mainHandler.post(() -> {
+                requests.post(() -> {
                     Log.e(TAG, " Backend connectivity test failed: " + error);
                     Toast.makeText(SearchActivity.this, " Failed to connect to backend server", Toast.LENGTH_LONG).show();
                 });
             }
-        });
+        }));
     }
 
     /**
      * Handle successful search response
      */
     private void handleSearchSuccess(SearchResponse response) {
-        Log.d(TAG, "Search successful: " + response.toString());
+        AppLog.d(TAG, "Search successful: {}", response);
 
         // Reset search state
         isSearchInProgress = false;
@@ -347,26 +356,29 @@ public class SearchActivity extends AppCompatActivity {
         hideLoadingState();
 
         if (response.getRestaurants() != null && !response.getRestaurants().isEmpty()) {
-            // Log detailed information about each restaurant for testing
-            for (int i = 0; i < response.getRestaurants().size(); i++) {
-                Restaurant restaurant = response.getRestaurants().get(i);
-                Log.d(TAG, "Restaurant " + (i + 1) + ": " + restaurant.toString());
-
-                // Validate restaurant data according to testing guide
-                if (restaurant.isValid()) {
-                    Log.d(TAG, "Restaurant " + restaurant.getName() + " passed validation");
-                } else {
-                    Log.w(TAG, " Restaurant " + restaurant.getName() + " failed validation");
+            // Log detailed information about each restaurant for testing; skipped entirely unless debug
+            // logging is on, since this runs for every debounced query and every cache refresh
+            if (AppLog.isDebugEnabled()) {
+                for (int i = 0; i < response.getRestaurants().size(); i++) {
+                    Restaurant restaurant = response.getRestaurants().get(i);
+                    AppLog.d(TAG, "Restaurant {}: {}", i + 1, restaurant);
+
+                    // Validate restaurant data according to testing guide (summary rows load the rest later)
+                    if (!restaurant.hasDetails()) {
+                        AppLog.d(TAG, "Restaurant {} is a list summary", restaurant.getName());
+                    } else if (restaurant.isValid()) {
+                        AppLog.d(TAG, "Restaurant {} passed validation", restaurant.getName());
+                    } else {
+                        Log.w(TAG, " Restaurant " + restaurant.getName() + " failed validation");
+                    }
                 }
             }
 
             // Update UI with search results
             showSearchResults(response.getRestaurants(), response.getCount());
-            Toast.makeText(this, "Found " + response.getCount() + " restaurants", Toast.LENGTH_SHORT).show();
         } else {
             Log.d(TAG, "No restaurants found in response");
             showNoResults();
-            Toast.makeText(this, "No restaurants found", Toast.LENGTH_SHORT).show();
         }
     }
 
@@ -454,47 +466,27 @@ public class SearchActivity extends AppCompatActivity {
 
     /**
      * Add a restaurant to favorites
+     * The outbox syncs it in the background, so this works offline; the toast confirms once it is saved on the device
      */
     private void addRestaurantToFavorites(Restaurant restaurant) {
         Log.d(TAG, "️ Adding restaurant to favorites: " + restaurant.getName());
-        Toast.makeText(this, "Adding " + restaurant.getName() + " to favorites...", Toast.LENGTH_SHORT).show();
-
-        // Create favorite request
-        FavoriteRequest favoriteRequest = new FavoriteRequest(restaurant);
 
-        // Call API to add to favorites
-        apiClient.addToFavorites(favoriteRequest, new ApiClient.FavoritesCallback() {
+        FavoritesOutbox.getInstance(this).add(restaurant, new FavoritesOutbox.AddCallback() {
             @Override
-            public void onSuccess(FavoriteResponse response) {
-                mainHandler.post(() -> handleFavoriteSuccess(response, restaurant));
+            public void onSuccess(boolean queued) {
+                requests.post(() -> Toast.makeText(SearchActivity.this, "" + restaurant.getName()
+                        + (queued ? " added to favorites!" : " is already being added to favorites"),
+                        Toast.LENGTH_SHORT).show());
             }
 
             @Override
             public void onError(String error) {
-                mainHandler.post(() -> handleFavoriteError(error, restaurant));
+                requests.post(() -> Toast.makeText(SearchActivity.this,
+                        "Couldn't add " + restaurant.getName() + " to favorites: " + error, Toast.LENGTH_SHORT).show());
             }
         });
     }
 
-    /**
-     * Handle successful favorite addition
-     */
-    private void handleFavoriteSuccess(FavoriteResponse response, Restaurant restaurant) {
-        Log.d(TAG, "Restaurant added to favorites successfully: " + response.toString());
-        Toast.makeText(this, "" + restaurant.getName() + " added to favorites!", Toast.LENGTH_SHORT).show();
-
-        // Optional: Update UI to show restaurant is favorited
-        // You could change the heart icon color or show a different state
-    }
-
-    /**
-     * Handle favorite addition error
-     */
-    private void handleFavoriteError(String error, Restaurant restaurant) {
-        Log.e(TAG, " Failed to add restaurant to favorites: " + error);
-        Toast.makeText(this, " Failed to add " + restaurant.getName() + " to favorites: " + error, Toast.LENGTH_LONG).show();
-    }
-
     /**
      * Show loading state during search
      */
@@ -519,9 +511,9 @@ public class SearchActivity extends AppCompatActivity {
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        // Cancel any pending search to prevent memory leaks
-        if (searchRunnable != null && searchHandler != null) {
-            searchHandler.removeCallbacks(searchRunnable);
+        // Cancel any pending or in-flight search to prevent memory leaks
+        if (searchPipeline != null) {
+            searchPipeline.cancel();
         }
         // Reset search state
         isSearchInProgress = false;
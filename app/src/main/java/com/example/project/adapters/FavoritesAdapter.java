@@ -10,6 +10,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.project.R;
 import com.example.project.models.FavoriteItem;
 import com.example.project.models.Restaurant;
+import com.example.project.utils.AppLog;
 import com.google.android.material.imageview.ShapeableImageView;
 import java.util.ArrayList;
 import java.util.List;
@@ -52,12 +53,10 @@ public class FavoritesAdapter extends RecyclerView.Adapter<FavoritesAdapter.Favo
     
     @Override
     public void onBindViewHolder(@NonNull FavoriteViewHolder holder, int position) {
-        Log.d(TAG, "🔗 Binding view holder at position: " + position);
         FavoriteItem favoriteItem = favorites.get(position);
         Restaurant restaurant = favoriteItem.getRestaurantData();
 
         if (restaurant != null) {
-            Log.d(TAG, "🍽️ Binding restaurant: " + restaurant.getName());
             holder.bind(restaurant, position);
         } else {
             Log.e(TAG, " Restaurant data is null at position: " + position);
@@ -66,27 +65,38 @@ public class FavoritesAdapter extends RecyclerView.Adapter<FavoritesAdapter.Favo
     
     @Override
     public int getItemCount() {
-        int count = favorites.size();
-        Log.d(TAG, "📊 getItemCount() returning: " + count);
-        return count;
+        return favorites.size();
     }
     
     public void updateFavorites(List<FavoriteItem> newFavorites) {
-        Log.d(TAG, "📊 Updating favorites: " + (newFavorites != null ? newFavorites.size() : 0) + " items");
+        AppLog.d(TAG, "📊 Updating favorites: {} items", (newFavorites != null ? newFavorites.size() : 0));
         this.favorites.clear();
         if (newFavorites != null) {
             this.favorites.addAll(newFavorites);
-            Log.d(TAG, "Added " + newFavorites.size() + " favorites to adapter");
+            AppLog.d(TAG, "Added {} favorites to adapter", newFavorites.size());
 
             // Log first item for debugging
             if (!newFavorites.isEmpty()) {
                 FavoriteItem first = newFavorites.get(0);
                 Restaurant restaurant = first.getRestaurantData();
-                Log.d(TAG, "🍽️ First item: " + (restaurant != null ? restaurant.getName() : "null restaurant"));
+                AppLog.d(TAG, "🍽️ First item: {}", (restaurant != null ? restaurant.getName() : "null restaurant"));
             }
         }
         notifyDataSetChanged();
-        Log.d(TAG, "🔄 notifyDataSetChanged() called");
+        AppLog.d(TAG, "🔄 notifyDataSetChanged() called");
+    }
+
+    /**
+     * Add the next page of favorites below the current ones without rebinding visible rows
+     */
+    public void appendFavorites(List<FavoriteItem> moreFavorites) {
+        if (moreFavorites == null || moreFavorites.isEmpty()) {
+            return;
+        }
+        int start = favorites.size();
+        favorites.addAll(moreFavorites);
+        notifyItemRangeInserted(start, moreFavorites.size());
+        AppLog.d(TAG, "Appended {} favorites, {} total", moreFavorites.size(), favorites.size());
     }
     
     class FavoriteViewHolder extends RecyclerView.ViewHolder {
@@ -104,35 +114,26 @@ public class FavoritesAdapter extends RecyclerView.Adapter<FavoritesAdapter.Favo
         }
         
         public void bind(Restaurant restaurant, int position) {
-            Log.d(TAG, "🔗 bind() called for position " + position);
-            Log.d(TAG, "🍽️ Restaurant name: " + restaurant.getName());
-            Log.d(TAG, "📝 Restaurant description: " + restaurant.getDescription());
-            Log.d(TAG, "🏷️ Restaurant cuisine: " + restaurant.getCuisineType());
-            Log.d(TAG, "⭐ Restaurant rating: " + restaurant.getRating());
-
-            // Check if views are found
-            Log.d(TAG, "🔍 Views found - Name: " + (restaurantName != null) +
-                      ", Description: " + (restaurantDescription != null) +
-                      ", Details: " + (restaurantDetails != null));
+            // Guarded so scrolling doesn't box the position when debug logging is off
+            if (AppLog.isDebugEnabled()) {
+                AppLog.d(TAG, "🔗 bind() position {}: {}", position, restaurant.getName());
+            }
 
             if (restaurantName != null) {
                 restaurantName.setText(restaurant.getName());
-                Log.d(TAG, "Set restaurant name: " + restaurant.getName());
             } else {
                 Log.e(TAG, " restaurantName view is null");
             }
 
             if (restaurantDescription != null) {
                 restaurantDescription.setText(restaurant.getDescription());
-                Log.d(TAG, "Set restaurant description");
             } else {
                 Log.e(TAG, " restaurantDescription view is null");
             }
 
             if (restaurantDetails != null) {
-                String details = restaurant.getCuisineType() + " · " + String.format("%.1f", restaurant.getRating());
+                String details = restaurant.getCuisineType() + " · " + restaurant.getRatingText();
                 restaurantDetails.setText(details);
-                Log.d(TAG, "Set restaurant details: " + details);
             } else {
                 Log.e(TAG, " restaurantDetails view is null");
             }
@@ -141,7 +142,6 @@ public class FavoritesAdapter extends RecyclerView.Adapter<FavoritesAdapter.Favo
             int imageIndex = position % RESTAURANT_IMAGES.length;
             if (restaurantImage != null) {
                 restaurantImage.setImageResource(RESTAURANT_IMAGES[imageIndex]);
-                Log.d(TAG, "Set restaurant image");
             } else {
                 Log.e(TAG, " restaurantImage view is null");
             }
@@ -152,8 +152,6 @@ public class FavoritesAdapter extends RecyclerView.Adapter<FavoritesAdapter.Favo
                     clickListener.onFavoriteClick(restaurant);
                 }
             });
-
-            Log.d(TAG, "bind() completed for position " + position);
         }
     }
 }
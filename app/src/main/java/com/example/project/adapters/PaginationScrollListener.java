@@ -0,0 +1,56 @@
+package com.example.project.adapters;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Asks for the next page once the user scrolls within a few rows of the end of a list
+ * The callback may fire repeatedly while the user keeps scrolling; it should ignore calls
+ * while a page is already loading or when there are no more pages.
+ */
+public class PaginationScrollListener extends RecyclerView.OnScrollListener {
+
+    public interface OnLoadMoreListener {
+        void onLoadMore();
+    }
+
+    private final IntSupplier prefetchDistance;
+    private final OnLoadMoreListener loadMoreListener;
+
+    /**
+     * @param prefetchDistance start loading when this many rows or fewer are left below the last visible one
+     */
+    public PaginationScrollListener(int prefetchDistance, OnLoadMoreListener loadMoreListener) {
+        this(() -> prefetchDistance, loadMoreListener);
+    }
+
+    /**
+     * @param prefetchDistance read on every scroll, so it can follow e.g. the network profile
+     */
+    public PaginationScrollListener(IntSupplier prefetchDistance, OnLoadMoreListener loadMoreListener) {
+        this.prefetchDistance = prefetchDistance;
+        this.loadMoreListener = loadMoreListener;
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        // Only scrolling down can bring the end closer
+        if (dy <= 0) {
+            return;
+        }
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        if (!(layoutManager instanceof LinearLayoutManager)) {
+            return;
+        }
+
+        LinearLayoutManager linearLayoutManager = (LinearLayoutManager) layoutManager;
+        int lastVisible = linearLayoutManager.findLastVisibleItemPosition();
+        int itemCount = linearLayoutManager.getItemCount();
+        if (lastVisible != RecyclerView.NO_POSITION && lastVisible >= itemCount - 1 - prefetchDistance.getAsInt()) {
+            loadMoreListener.onLoadMore();
+        }
+    }
+}
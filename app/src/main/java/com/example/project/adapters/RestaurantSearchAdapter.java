@@ -74,6 +74,18 @@ public class RestaurantSearchAdapter extends RecyclerView.Adapter<RestaurantSear
         notifyDataSetChanged();
     }
     
+    /**
+     * Add the next page of results below the current ones without rebinding visible rows
+     */
+    public void appendRestaurants(List<Restaurant> moreRestaurants) {
+        if (moreRestaurants == null || moreRestaurants.isEmpty()) {
+            return;
+        }
+        int start = restaurants.size();
+        restaurants.addAll(moreRestaurants);
+        notifyItemRangeInserted(start, moreRestaurants.size());
+    }
+    
     public void clearRestaurants() {
         this.restaurants.clear();
         notifyDataSetChanged();
@@ -116,7 +128,7 @@ public class RestaurantSearchAdapter extends RecyclerView.Adapter<RestaurantSear
             restaurantName.setText(restaurant.getName());
             
             // Set rating
-            restaurantRating.setText(String.format("%.1f", restaurant.getRating()));
+            restaurantRating.setText(restaurant.getRatingText());
             
             // Generate random review count for display (since API doesn't provide this)
             int reviewCount = 100 + random.nextInt(1900); // Random between 100-2000
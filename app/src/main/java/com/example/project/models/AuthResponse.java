@@ -143,6 +143,8 @@ public class AuthResponse {
         public void setName(String name) { this.name = name; }
         public void setPicture(String picture) { this.picture = picture; }
         public void setType(String type) { this.type = type; }
+        public void setUserMetadata(UserMetadata user_metadata) { this.user_metadata = user_metadata; }
+        public void setAppMetadata(AppMetadata app_metadata) { this.app_metadata = app_metadata; }
         
         public boolean isGuest() {
             return "guest".equals(type);
@@ -216,6 +218,10 @@ public class AuthResponse {
             return avatar_url; // fallback to avatar_url
         }
         public String getAvatar_url() { return avatar_url; }
+        
+        public void setFull_name(String full_name) { this.full_name = full_name; }
+        public void setPicture(String picture) { this.picture = picture; }
+        public void setAvatar_url(String avatar_url) { this.avatar_url = avatar_url; }
     }
 
     /**
@@ -225,5 +231,6 @@ public class AuthResponse {
         private String provider;
 
         public String getProvider() { return provider; }
+        public void setProvider(String provider) { this.provider = provider; }
     }
 }
@@ -0,0 +1,80 @@
+package com.example.project.models;
+
+import java.util.List;
+
+/**
+ * Response model for the favorites sync API endpoint
+ * Lists what changed since the version the client sent. When reset is true the server could not
+ * diff against that version (or none was sent) and added holds the complete list instead.
+ * Large change sets are split into pages linked by next_cursor; version is set on the last page.
+ */
+public class FavoritesDeltaResponse {
+    private boolean success;
+    private List<FavoriteItem> added;
+    private List<String> removed;
+    private boolean reset;
+    private String version;
+    private String next_cursor;
+    private String error;
+    private String message;
+
+    // Default constructor for Gson
+    public FavoritesDeltaResponse() {}
+
+    // Getters
+    public boolean isSuccess() { return success; }
+    public List<FavoriteItem> getAdded() { return added; }
+    public List<String> getRemoved() { return removed; }
+    public boolean isReset() { return reset; }
+    public String getVersion() { return version; }
+    public String getNextCursor() { return next_cursor; }
+    public String getError() { return error; }
+    public String getMessage() { return message; }
+
+    // Setters
+    public void setSuccess(boolean success) { this.success = success; }
+    public void setAdded(List<FavoriteItem> added) { this.added = added; }
+    public void setRemoved(List<String> removed) { this.removed = removed; }
+    public void setReset(boolean reset) { this.reset = reset; }
+    public void setVersion(String version) { this.version = version; }
+    public void setNextCursor(String next_cursor) { this.next_cursor = next_cursor; }
+    public void setError(String error) { this.error = error; }
+    public void setMessage(String message) { this.message = message; }
+
+    /**
+     * Whether the server has another page of changes after this one
+     */
+    public boolean hasMorePages() {
+        return next_cursor != null && !next_cursor.isEmpty();
+    }
+
+    /**
+     * Validates the response structure
+     */
+    public boolean isValidResponse() {
+        if (success) {
+            return hasMorePages() || (version != null && !version.trim().isEmpty());
+        } else {
+            return error != null && !error.trim().isEmpty();
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (success) {
+            return "FavoritesDeltaResponse{" +
+                    "added=" + (added != null ? added.size() : 0) +
+                    ", removed=" + (removed != null ? removed.size() : 0) +
+                    ", reset=" + reset +
+                    ", version='" + version + '\'' +
+                    ", next_cursor=" + next_cursor +
+                    '}';
+        } else {
+            return "FavoritesDeltaResponse{" +
+                    "success=" + success +
+                    ", error='" + error + '\'' +
+                    ", message='" + message + '\'' +
+                    '}';
+        }
+    }
+}
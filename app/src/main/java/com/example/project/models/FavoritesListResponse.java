@@ -12,6 +12,7 @@ public class FavoritesListResponse {
     private int count;
     private String error;
     private String message;
+    private String next_cursor;
 
     // Default constructor for Gson
     public FavoritesListResponse() {}
@@ -36,6 +37,7 @@ public class FavoritesListResponse {
     public int getCount() { return count; }
     public String getError() { return error; }
     public String getMessage() { return message; }
+    public String getNextCursor() { return next_cursor; }
 
     // Setters
     public void setSuccess(boolean success) { this.success = success; }
@@ -43,6 +45,14 @@ public class FavoritesListResponse {
     public void setCount(int count) { this.count = count; }
     public void setError(String error) { this.error = error; }
     public void setMessage(String message) { this.message = message; }
+    public void setNextCursor(String next_cursor) { this.next_cursor = next_cursor; }
+
+    /**
+     * Whether the server has another page after this one
+     */
+    public boolean hasMorePages() {
+        return next_cursor != null && !next_cursor.isEmpty();
+    }
 
     /**
      * Validates the response structure according to testing guide
@@ -62,6 +72,7 @@ public class FavoritesListResponse {
                     "success=" + success +
                     ", favorites=" + (favorites != null ? favorites.size() : 0) + " items" +
                     ", count=" + count +
+                    ", next_cursor=" + next_cursor +
                     '}';
         } else {
             return "FavoritesListResponse{" +
@@ -0,0 +1,443 @@
+package com.example.project.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A restaurant's weekly hours, parsed once from the API's day-name map
+ * Kept as day-indexed arrays (Monday first) of the display text and of the opening and closing
+ * minute after midnight, instead of a HashMap per restaurant. The display text is pooled, since
+ * most restaurants share the same few strings. Maps with keys other than the seven lowercase day
+ * names, or with null values, are kept as given so they still round-trip unchanged.
+ *
+ * For "open now" questions the spans of all days are normalized once into the sorted minutes of
+ * the week (Monday 00:00 is 0) at which the restaurant opens or closes. Spans past midnight run
+ * into the next day, Sunday's into Monday, and overlapping spans are merged. A query only scans
+ * the few changes of its own day, so it costs the same however the week is laid out. Days
+ * without parseable hours count as closed.
+ */
+@JsonAdapter(OpeningHours.GsonAdapter.class)
+public final class OpeningHours {
+
+    /** Minute value for a day marked closed */
+    public static final int CLOSED = -2;
+    /** Minute value for a day without hours or with text that could not be parsed */
+    public static final int UNKNOWN = -1;
+
+    static final String[] DAYS = {
+            "monday", "tuesday", "wednesday", "thursday", "friday", "saturday", "sunday"
+    };
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+    private static final Pattern SPANS = Pattern.compile("\\s*(?:[,;&]|\\band\\b)\\s*");
+    private static final Pattern RANGE = Pattern.compile("\\s*[-\u2013\u2014]\\s*|\\s+to\\s+");
+    private static final Pattern TIME = Pattern.compile("(\\d{1,2})(?::(\\d{2}))?\\s*(?:([ap])\\.?m?\\.?)?");
+
+    private final String[] text;
+    private final short[] opens;
+    private final short[] closes;
+    // Week minutes at which the restaurant opens or closes, in order
+    private final int[] changes;
+    // Index of the first change on or after each day's midnight, plus the end of the array
+    private final short[] firstChangeOfDay;
+    private final boolean openAtWeekStart;
+    // Only set when the source map does not fit the day-indexed layout
+    private final Map<String, String> irregular;
+    private Map<String, String> view;
+
+    private OpeningHours(String[] text, Map<String, String> irregular) {
+        this.text = text;
+        this.irregular = irregular;
+        this.opens = new short[DAYS.length];
+        this.closes = new short[DAYS.length];
+        List<int[]> spans = new ArrayList<>();
+        for (int day = 0; day < DAYS.length; day++) {
+            parseDay(day, text[day], spans);
+        }
+
+        int[][] open = normalize(spans);
+        this.openAtWeekStart = open.length > 0 && open[0][0] == 0;
+        int[] points = new int[open.length * 2];
+        int count = 0;
+        for (int[] span : open) {
+            // Opening at the start or closing at the end of the week is covered by openAtWeekStart
+            if (span[0] != 0) points[count++] = span[0];
+            if (span[1] != MINUTES_PER_WEEK) points[count++] = span[1];
+        }
+        this.changes = Arrays.copyOf(points, count);
+        this.firstChangeOfDay = new short[DAYS.length + 1];
+        int index = 0;
+        for (int day = 0; day <= DAYS.length; day++) {
+            while (index < count && changes[index] < day * MINUTES_PER_DAY) index++;
+            firstChangeOfDay[day] = (short) index;
+        }
+    }
+
+    /**
+     * Parse the API's hours map
+     * @return null if there are no hours
+     */
+    public static OpeningHours of(Map<String, String> hours) {
+        if (hours == null) {
+            return null;
+        }
+        String[] text = new String[DAYS.length];
+        boolean regular = true;
+        for (Map.Entry<String, String> entry : hours.entrySet()) {
+            int day = dayIndex(entry.getKey());
+            if (day < 0 || entry.getValue() == null) {
+                regular = false;
+                continue;
+            }
+            text[day] = StringPool.intern(entry.getValue());
+        }
+        if (regular) {
+            return new OpeningHours(text, null);
+        }
+        return new OpeningHours(text, Collections.unmodifiableMap(new LinkedHashMap<>(hours)));
+    }
+
+    /**
+     * Index of a lowercase day name, Monday being 0, or -1
+     */
+    static int dayIndex(String day) {
+        if (day == null) return -1;
+        switch (day) {
+            case "monday": return 0;
+            case "tuesday": return 1;
+            case "wednesday": return 2;
+            case "thursday": return 3;
+            case "friday": return 4;
+            case "saturday": return 5;
+            case "sunday": return 6;
+            default: return -1;
+        }
+    }
+
+    /**
+     * Display text for a day (0 is Monday), or null if the API gave none
+     */
+    public String getText(int day) {
+        return text[day];
+    }
+
+    /**
+     * Opening minute after midnight of a day's first span, or {@link #CLOSED} / {@link #UNKNOWN}
+     */
+    public int getOpenMinute(int day) {
+        return opens[day];
+    }
+
+    /**
+     * Closing minute after midnight of a day's first span; 1440 when it closes at midnight and earlier than
+     * the opening minute when it closes after midnight
+     */
+    public int getCloseMinute(int day) {
+        return closes[day];
+    }
+
+    /**
+     * Whether a day is marked closed, as opposed to having no hours at all
+     */
+    public boolean isClosedOn(int day) {
+        return opens[day] == CLOSED;
+    }
+
+    public boolean isEmpty() {
+        if (irregular != null) {
+            return irregular.isEmpty();
+        }
+        for (String day : text) {
+            if (day != null) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Minutes since Monday 00:00 in the calendar's time zone, the unit the queries below take
+     */
+    public static int weekMinute(Calendar time) {
+        int day = (time.get(Calendar.DAY_OF_WEEK) + 5) % 7;
+        return day * MINUTES_PER_DAY + time.get(Calendar.HOUR_OF_DAY) * 60 + time.get(Calendar.MINUTE);
+    }
+
+    /**
+     * Whether the restaurant is open at a minute of the week
+     */
+    public boolean isOpenAt(int weekMinute) {
+        int minute = Math.floorMod(weekMinute, MINUTES_PER_WEEK);
+        return openAtWeekStart ^ ((changesUpTo(minute) & 1) == 1);
+    }
+
+    public boolean isOpenAt(Calendar time) {
+        return isOpenAt(weekMinute(time));
+    }
+
+    /**
+     * Minutes from a minute of the week until the restaurant next opens or closes
+     * @return -1 if it never changes, being always open or never open
+     */
+    public int nextChange(int weekMinute) {
+        if (changes.length == 0) {
+            return -1;
+        }
+        int minute = Math.floorMod(weekMinute, MINUTES_PER_WEEK);
+        int next = changesUpTo(minute);
+        return next < changes.length ? changes[next] - minute : changes[0] + MINUTES_PER_WEEK - minute;
+    }
+
+    public int nextChange(Calendar time) {
+        return nextChange(weekMinute(time));
+    }
+
+    // Number of changes at or before a minute; only the changes of that day are scanned
+    private int changesUpTo(int minute) {
+        int index = firstChangeOfDay[minute / MINUTES_PER_DAY];
+        while (index < changes.length && changes[index] <= minute) index++;
+        return index;
+    }
+
+    /**
+     * The hours as the API's day-name map; read-only
+     */
+    public Map<String, String> asMap() {
+        if (irregular != null) {
+            return irregular;
+        }
+        Map<String, String> map = view;
+        if (map == null) {
+            map = new DayMap();
+            view = map;
+        }
+        return map;
+    }
+
+    /**
+     * Parse one day's text, such as "11:00 AM - 2:00 PM, 5:00 PM - 1:00 AM", into week-minute spans
+     */
+    private void parseDay(int day, String value, List<int[]> spans) {
+        opens[day] = UNKNOWN;
+        closes[day] = UNKNOWN;
+        if (value == null) {
+            return;
+        }
+        String normalized = value.trim().toLowerCase(Locale.US);
+        int midnight = day * MINUTES_PER_DAY;
+        if (normalized.startsWith("closed")) {
+            opens[day] = CLOSED;
+            closes[day] = CLOSED;
+            return;
+        }
+        if (normalized.contains("24 hours")) {
+            opens[day] = 0;
+            closes[day] = MINUTES_PER_DAY;
+            spans.add(new int[]{midnight, midnight + MINUTES_PER_DAY});
+            return;
+        }
+        for (String range : SPANS.split(normalized)) {
+            String[] parts = RANGE.split(range);
+            if (parts.length != 2) {
+                continue;
+            }
+            int open = parseTime(parts[0]);
+            int close = parseTime(parts[1]);
+            if (open < 0 || close < 0) {
+                continue;
+            }
+            if (close == 0) {
+                close = MINUTES_PER_DAY;
+            }
+            if (opens[day] == UNKNOWN) {
+                opens[day] = (short) open;
+                closes[day] = (short) close;
+            }
+            // Closing at or before the opening time means closing after midnight
+            spans.add(new int[]{midnight + open, midnight + (close > open ? close : close + MINUTES_PER_DAY)});
+        }
+    }
+
+    /**
+     * Sorted, non-overlapping spans within the week; spans past its end wrap to Monday
+     */
+    private static int[][] normalize(List<int[]> spans) {
+        List<int[]> wrapped = new ArrayList<>(spans.size() + 1);
+        for (int[] span : spans) {
+            if (span[1] > MINUTES_PER_WEEK) {
+                wrapped.add(new int[]{span[0], MINUTES_PER_WEEK});
+                wrapped.add(new int[]{0, span[1] - MINUTES_PER_WEEK});
+            } else {
+                wrapped.add(span);
+            }
+        }
+        wrapped.sort((a, b) -> Integer.compare(a[0], b[0]));
+
+        List<int[]> merged = new ArrayList<>(wrapped.size());
+        for (int[] span : wrapped) {
+            int[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && span[0] <= last[1]) {
+                last[1] = Math.max(last[1], span[1]);
+            } else {
+                merged.add(new int[]{span[0], span[1]});
+            }
+        }
+        return merged.toArray(new int[0][]);
+    }
+
+    /**
+     * Minute after midnight for "9", "9 pm", "9:30 PM", "21:30", "noon" or "midnight", or -1
+     */
+    static int parseTime(String value) {
+        String time = value.trim();
+        if (time.equals("noon")) return 12 * 60;
+        if (time.equals("midnight")) return 0;
+        Matcher matcher = TIME.matcher(time);
+        if (!matcher.matches()) {
+            return -1;
+        }
+        int hour = Integer.parseInt(matcher.group(1));
+        int minute = matcher.group(2) != null ? Integer.parseInt(matcher.group(2)) : 0;
+        String half = matcher.group(3);
+        if (half != null) {
+            if (hour < 1 || hour > 12) return -1;
+            hour = hour % 12 + (half.equals("p") ? 12 : 0);
+        }
+        if (hour > 23 || minute > 59) {
+            return -1;
+        }
+        return hour * 60 + minute;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OpeningHours that = (OpeningHours) o;
+        return Arrays.equals(text, that.text) && Objects.equals(irregular, that.irregular);
+    }
+
+    @Override
+    public int hashCode() {
+        return irregular != null ? irregular.hashCode() : Arrays.hashCode(text);
+    }
+
+    @Override
+    public String toString() {
+        return asMap().toString();
+    }
+
+    /**
+     * Read-only map view over the day-indexed text, in day order
+     */
+    private final class DayMap extends AbstractMap<String, String> {
+        @Override
+        public String get(Object key) {
+            int day = key instanceof String ? dayIndex((String) key) : -1;
+            return day >= 0 ? text[day] : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<Entry<String, String>>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<Entry<String, String>>() {
+                        private int next = advance(0);
+
+                        private int advance(int from) {
+                            while (from < text.length && text[from] == null) from++;
+                            return from;
+                        }
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < text.length;
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (next >= text.length) throw new NoSuchElementException();
+                            Entry<String, String> entry = new SimpleImmutableEntry<>(DAYS[next], text[next]);
+                            next = advance(next + 1);
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    int size = 0;
+                    for (String day : text) {
+                        if (day != null) size++;
+                    }
+                    return size;
+                }
+            };
+        }
+    }
+
+    /**
+     * Reads and writes the API's day-name object, so reflective Gson sees the same JSON as before
+     */
+    public static final class GsonAdapter extends TypeAdapter<OpeningHours> {
+        @Override
+        public void write(JsonWriter out, OpeningHours value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            for (Map.Entry<String, String> entry : value.asMap().entrySet()) {
+                out.name(entry.getKey()).value(entry.getValue());
+            }
+            out.endObject();
+        }
+
+        @Override
+        public OpeningHours read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            Map<String, String> hours = new LinkedHashMap<>();
+            in.beginObject();
+            while (in.hasNext()) {
+                String day = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    hours.put(day, null);
+                } else {
+                    hours.put(day, in.nextString());
+                }
+            }
+            in.endObject();
+            return of(hours);
+        }
+    }
+}
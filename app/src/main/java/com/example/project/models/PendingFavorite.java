@@ -0,0 +1,50 @@
+package com.example.project.models;
+
+/**
+ * A favorite the user added that has not been confirmed by the backend yet
+ * The idempotency key is sent with every attempt so retries never create duplicates
+ */
+public class PendingFavorite {
+    private String idempotency_key;
+    private Restaurant restaurant;
+    private long created_at;
+    private int attempts;
+
+    // Default constructor for Gson
+    public PendingFavorite() {}
+
+    public PendingFavorite(String idempotency_key, Restaurant restaurant, long created_at) {
+        this.idempotency_key = idempotency_key;
+        this.restaurant = restaurant;
+        this.created_at = created_at;
+        this.attempts = 0;
+    }
+
+    // Getters
+    public String getIdempotencyKey() { return idempotency_key; }
+    public Restaurant getRestaurant() { return restaurant; }
+    public long getCreatedAt() { return created_at; }
+    public int getAttempts() { return attempts; }
+
+    // Setters
+    public void setIdempotencyKey(String idempotency_key) { this.idempotency_key = idempotency_key; }
+    public void setRestaurant(Restaurant restaurant) { this.restaurant = restaurant; }
+    public void setCreatedAt(long created_at) { this.created_at = created_at; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    /**
+     * Convert to a list item so the favorites screen can show it before it is synced
+     */
+    public FavoriteItem toFavoriteItem() {
+        return new FavoriteItem("pending:" + idempotency_key, restaurant, String.valueOf(created_at));
+    }
+
+    @Override
+    public String toString() {
+        return "PendingFavorite{" +
+                "idempotency_key='" + idempotency_key + '\'' +
+                ", restaurant=" + (restaurant != null ? restaurant.getName() : "null") +
+                ", attempts=" + attempts +
+                '}';
+    }
+}
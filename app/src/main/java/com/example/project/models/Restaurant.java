@@ -1,22 +1,28 @@
 package com.example.project.models;
 
+import java.util.Calendar;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Restaurant model class representing the data structure from the backend API
  * Based on the testing guide response format
  */
 public class Restaurant {
+    private String id;
     private String name;
     private String cuisine_type;
     private double rating;
     private String address;
     private String phone;
     private String description;
-    private Map<String, String> hours;
+    private OpeningHours hours;
     private Double latitude;  // Using Double to allow null values
     private Double longitude; // Using Double to allow null values
 
+    // Derived from the fields above on first use and dropped by any setter that changes them
+    private transient Derived derived;
+
     // Default constructor for Gson
     public Restaurant() {}
 
@@ -24,12 +30,12 @@ public class Restaurant {
     public Restaurant(String name, String cuisine_type, double rating, String address,
                      String phone, String description, Map<String, String> hours) {
         this.name = name;
-        this.cuisine_type = cuisine_type;
+        this.cuisine_type = StringPool.intern(cuisine_type);
         this.rating = rating;
         this.address = address;
         this.phone = phone;
         this.description = description;
-        this.hours = hours;
+        this.hours = OpeningHours.of(hours);
         this.latitude = null;
         this.longitude = null;
     }
@@ -39,35 +45,39 @@ public class Restaurant {
                      String phone, String description, Map<String, String> hours,
                      Double latitude, Double longitude) {
         this.name = name;
-        this.cuisine_type = cuisine_type;
+        this.cuisine_type = StringPool.intern(cuisine_type);
         this.rating = rating;
         this.address = address;
         this.phone = phone;
         this.description = description;
-        this.hours = hours;
+        this.hours = OpeningHours.of(hours);
         this.latitude = latitude;
         this.longitude = longitude;
     }
 
     // Getters
+    public String getId() { return id; }
     public String getName() { return name; }
     public String getCuisineType() { return cuisine_type; }
     public double getRating() { return rating; }
     public String getAddress() { return address; }
     public String getPhone() { return phone; }
     public String getDescription() { return description; }
-    public Map<String, String> getHours() { return hours; }
+    public Map<String, String> getHours() { return hours != null ? hours.asMap() : null; }
+    public OpeningHours getOpeningHours() { return hours; }
     public Double getLatitude() { return latitude; }
     public Double getLongitude() { return longitude; }
 
     // Setters
-    public void setName(String name) { this.name = name; }
-    public void setCuisineType(String cuisine_type) { this.cuisine_type = cuisine_type; }
-    public void setRating(double rating) { this.rating = rating; }
-    public void setAddress(String address) { this.address = address; }
-    public void setPhone(String phone) { this.phone = phone; }
-    public void setDescription(String description) { this.description = description; }
-    public void setHours(Map<String, String> hours) { this.hours = hours; }
+    public void setId(String id) { this.id = id; }
+    public void setName(String name) { this.name = name; derived = null; }
+    public void setCuisineType(String cuisine_type) { this.cuisine_type = StringPool.intern(cuisine_type); derived = null; }
+    public void setRating(double rating) { this.rating = rating; derived = null; }
+    public void setAddress(String address) { this.address = address; derived = null; }
+    public void setPhone(String phone) { this.phone = phone; derived = null; }
+    public void setDescription(String description) { this.description = description; derived = null; }
+    public void setHours(Map<String, String> hours) { setOpeningHours(OpeningHours.of(hours)); }
+    public void setOpeningHours(OpeningHours hours) { this.hours = hours; derived = null; }
     public void setLatitude(Double latitude) { this.latitude = latitude; }
     public void setLongitude(Double longitude) { this.longitude = longitude; }
 
@@ -75,6 +85,10 @@ public class Restaurant {
      * Validates the restaurant data according to testing guide requirements
      */
     public boolean isValid() {
+        return derived().valid;
+    }
+
+    private boolean checkValid() {
         return name != null && !name.trim().isEmpty() &&
                cuisine_type != null && !cuisine_type.trim().isEmpty() &&
                rating >= 3.0 && rating <= 5.0 &&
@@ -85,17 +99,45 @@ public class Restaurant {
     }
 
     /**
-     * Gets formatted hours for today (simplified for testing)
+     * False for list rows fetched with the compact field projection, which leave out
+     * description, phone and hours until the full record is loaded
+     */
+    public boolean hasDetails() {
+        return description != null || phone != null || hours != null;
+    }
+
+    /**
+     * Gets formatted hours for today
      */
     public String getTodayHours() {
-        if (hours == null) return "Hours not available";
-        
-        // For testing, just return Monday hours or first available
-        String todayHours = hours.get("monday");
-        if (todayHours == null && !hours.isEmpty()) {
-            todayHours = hours.values().iterator().next();
-        }
-        return todayHours != null ? "Open today: " + todayHours : "Hours not available";
+        Calendar now = Calendar.getInstance();
+        return getHoursText(OpeningHours.weekMinute(now) / (24 * 60));
+    }
+
+    /**
+     * Gets formatted hours for a day of the week, 0 being Monday, as shown on that day
+     */
+    public String getHoursText(int day) {
+        return derived().hoursText(day);
+    }
+
+    /**
+     * Whether the restaurant is open at a minute of the week, see {@link OpeningHours#weekMinute}
+     * False when its hours are unknown.
+     */
+    public boolean isOpenAt(int weekMinute) {
+        return hours != null && hours.isOpenAt(weekMinute);
+    }
+
+    public boolean isOpenNow() {
+        return isOpenAt(OpeningHours.weekMinute(Calendar.getInstance()));
+    }
+
+    /**
+     * Rating with one decimal, as list rows show it
+     */
+    public String getRatingText() {
+        return derived().ratingText;
     }
 
     /**
@@ -115,10 +157,74 @@ public class Restaurant {
         return "No coordinates available";
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Restaurant that = (Restaurant) o;
+        return Double.compare(that.rating, rating) == 0 &&
+               Objects.equals(id, that.id) &&
+               Objects.equals(name, that.name) &&
+               Objects.equals(cuisine_type, that.cuisine_type) &&
+               Objects.equals(address, that.address) &&
+               Objects.equals(phone, that.phone) &&
+               Objects.equals(description, that.description) &&
+               Objects.equals(hours, that.hours) &&
+               Objects.equals(latitude, that.latitude) &&
+               Objects.equals(longitude, that.longitude);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, cuisine_type, rating, address, phone, description, hours, latitude, longitude);
+    }
+
+    private Derived derived() {
+        Derived current = derived;
+        if (current == null) {
+            current = new Derived(this);
+            derived = current;
+        }
+        return current;
+    }
+
+    /**
+     * Values list binding and validation ask for repeatedly, computed once per record
+     */
+    private static final class Derived {
+        final boolean valid;
+        final String ratingText;
+        private final OpeningHours hours;
+        // Filled per day on first use; strings are safe to publish without locking
+        private final String[] hoursText = new String[OpeningHours.DAYS.length];
+
+        Derived(Restaurant restaurant) {
+            this.valid = restaurant.checkValid();
+            this.ratingText = String.format("%.1f", restaurant.rating);
+            this.hours = restaurant.hours;
+        }
+
+        String hoursText(int day) {
+            String text = hoursText[day];
+            if (text == null) {
+                if (hours == null || hours.getText(day) == null) {
+                    text = "Hours not available";
+                } else if (hours.isClosedOn(day)) {
+                    text = "Closed today";
+                } else {
+                    text = StringPool.intern("Open today: " + hours.getText(day));
+                }
+                hoursText[day] = text;
+            }
+            return text;
+        }
+    }
+
     @Override
     public String toString() {
         return "Restaurant{" +
-                "name='" + name + '\'' +
+                "id='" + id + '\'' +
+                ", name='" + name + '\'' +
                 ", cuisine_type='" + cuisine_type + '\'' +
                 ", rating=" + rating +
                 ", address='" + address + '\'' +
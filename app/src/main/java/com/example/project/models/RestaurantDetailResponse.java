@@ -0,0 +1,48 @@
+package com.example.project.models;
+
+/**
+ * Response model for the full record of a single restaurant
+ * List endpoints may send a compact projection; this carries every field
+ */
+public class RestaurantDetailResponse {
+    private boolean success;
+    private Restaurant restaurant;
+    private String error;
+    private String message;
+
+    // Default constructor for Gson
+    public RestaurantDetailResponse() {}
+
+    // Getters
+    public boolean isSuccess() { return success; }
+    public Restaurant getRestaurant() { return restaurant; }
+    public String getError() { return error; }
+    public String getMessage() { return message; }
+
+    // Setters
+    public void setSuccess(boolean success) { this.success = success; }
+    public void setRestaurant(Restaurant restaurant) { this.restaurant = restaurant; }
+    public void setError(String error) { this.error = error; }
+    public void setMessage(String message) { this.message = message; }
+
+    /**
+     * Validates the response structure
+     */
+    public boolean isValidResponse() {
+        if (success) {
+            return restaurant != null;
+        } else {
+            return error != null && !error.trim().isEmpty();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RestaurantDetailResponse{" +
+                "success=" + success +
+                ", restaurant=" + restaurant +
+                ", error='" + error + '\'' +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
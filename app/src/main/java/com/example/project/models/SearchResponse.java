@@ -1,6 +1,7 @@
 package com.example.project.models;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Response model for the restaurant search API
@@ -12,6 +13,7 @@ public class SearchResponse {
     private int count;
     private String error;
     private String message;
+    private String next_cursor;
 
     // Default constructor for Gson
     public SearchResponse() {}
@@ -36,6 +38,7 @@ public class SearchResponse {
     public int getCount() { return count; }
     public String getError() { return error; }
     public String getMessage() { return message; }
+    public String getNextCursor() { return next_cursor; }
 
     // Setters
     public void setSuccess(boolean success) { this.success = success; }
@@ -43,6 +46,14 @@ public class SearchResponse {
     public void setCount(int count) { this.count = count; }
     public void setError(String error) { this.error = error; }
     public void setMessage(String message) { this.message = message; }
+    public void setNextCursor(String next_cursor) { this.next_cursor = next_cursor; }
+
+    /**
+     * Whether the server has another page after this one
+     */
+    public boolean hasMorePages() {
+        return next_cursor != null && !next_cursor.isEmpty();
+    }
 
     /**
      * Validates the response structure according to testing guide
@@ -55,6 +66,14 @@ public class SearchResponse {
         }
     }
 
+    /**
+     * Check whether another response carries exactly the same restaurants
+     */
+    public boolean hasSameResults(SearchResponse other) {
+        if (other == null) return false;
+        return count == other.count && Objects.equals(restaurants, other.restaurants);
+    }
+
     @Override
     public String toString() {
         if (success) {
@@ -62,6 +81,7 @@ public class SearchResponse {
                     "success=" + success +
                     ", restaurants=" + (restaurants != null ? restaurants.size() : 0) + " items" +
                     ", count=" + count +
+                    ", next_cursor=" + next_cursor +
                     '}';
         } else {
             return "SearchResponse{" +
@@ -0,0 +1,30 @@
+package com.example.project.models;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares one String instance for values repeated across many restaurants, such as cuisine types
+ * and opening-hours text
+ * Bounded so unusual server data cannot grow it without limit; values past the cap are kept as-is.
+ */
+final class StringPool {
+    private static final int MAX_ENTRIES = 2048;
+    private static final ConcurrentHashMap<String, String> POOL = new ConcurrentHashMap<>();
+
+    private StringPool() {}
+
+    static String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String pooled = POOL.get(value);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (POOL.size() >= MAX_ENTRIES) {
+            return value;
+        }
+        pooled = POOL.putIfAbsent(value, value);
+        return pooled != null ? pooled : value;
+    }
+}
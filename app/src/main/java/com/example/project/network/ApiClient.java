@@ -1,25 +1,40 @@
 package com.example.project.network;
 
 import android.content.Context;
+import android.content.SharedPreferences;
 import android.util.Log;
 import com.example.project.models.AuthRequest;
 import com.example.project.models.AuthResponse;
 import com.example.project.models.FavoriteRequest;
-import com.example.project.models.FavoriteResponse;
+import com.example.project.models.FavoritesDeltaResponse;
 import com.example.project.models.FavoritesListResponse;
+import com.example.project.models.PendingFavorite;
+import com.example.project.models.Restaurant;
+import com.example.project.models.RestaurantDetailResponse;
 import com.example.project.models.SearchResponse;
+import com.example.project.network.RequestScheduler.Priority;
+import com.example.project.utils.AppLog;
 import com.example.project.utils.ConfigManager;
 import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import okhttp3.Cache;
 import okhttp3.Call;
 import okhttp3.Callback;
+import okhttp3.ConnectionPool;
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 /**
  * API Client for communicating with the Foodie backend server
@@ -30,7 +45,12 @@ public class ApiClient {
 
     private static final String SEARCH_ENDPOINT = "/api/restaurants/search";
     private static final String FAVORITES_ENDPOINT = "/api/favorites";
+    private static final String FAVORITES_BATCH_ENDPOINT = "/api/favorites/batch";
+    private static final String FAVORITES_SYNC_ENDPOINT = "/api/favorites/sync";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
     private static final String TRENDING_ENDPOINT = "/api/restaurants/trending";
+    private static final String RESTAURANTS_ENDPOINT = "/api/restaurants";
+    private static final String RESTAURANT_DETAIL_ROUTE = RESTAURANTS_ENDPOINT + "/{id}";
     private static final String AUTH_GOOGLE_ENDPOINT = "/api/auth/google";
     private static final String AUTH_GUEST_ENDPOINT = "/api/auth/guest";
     private static final String AUTH_REFRESH_ENDPOINT = "/api/auth/refresh";
@@ -38,15 +58,42 @@ public class ApiClient {
     private static final String AUTH_LOGOUT_ENDPOINT = "/api/auth/logout";
 
     private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    // Remembers whose per-user data (favorites snapshot, outbox) is on the device
+    private static final String AUTH_STATE_PREFS = "auth_state";
+    private static final String PREF_USER_ID = "user_id";
+    // Everything a list row or the map needs; description, phone and hours come with the full record
+    private static final String LIST_FIELDS = "id,name,cuisine_type,rating,address,latitude,longitude";
+    private static final String ACCEPT_BINARY = CborModelCodec.MEDIA_TYPE + ", application/json;q=0.9";
     
     private final OkHttpClient client;
+    private final HttpClientProvider httpClientProvider;
+    private final HttpCacheInterceptor cacheInterceptor;
+    private final ResilienceInterceptor resilienceInterceptor;
+    private final RequestHedger searchHedger;
+    private final RequestScheduler scheduler;
+    private final NetworkQualityMonitor networkQualityMonitor;
+    private final SearchResultCache searchCache;
+    private final RestaurantDetailCache detailCache;
+    private final RestaurantIdentityMap identityMap;
+    private final RestaurantStore restaurantStore;
+    private final TrendingSnapshot trendingSnapshot;
+    private final RequestCoalescer<SearchCallback> searchFlights = new RequestCoalescer<>();
+    private final RequestCoalescer<FavoritesListCallback> favoritesFlights = new RequestCoalescer<>();
     private final Gson gson;
     private final ConfigManager configManager;
     private final String baseUrl;
+    private final int searchPageSize;
+    private final int favoritesPageSize;
+    private final int prefetchDistance;
+    private final boolean binaryFormatEnabled;
+    private final boolean listProjectionEnabled;
 
     // Token management
-    private String accessToken;
-    private String refreshToken;
+    private final TokenManager tokenManager;
+    private final SharedPreferences authState;
+    private final List<Runnable> authenticatedListeners = new CopyOnWriteArrayList<>();
+    private final List<Runnable> signedOutListeners = new CopyOnWriteArrayList<>();
 
     // Singleton instance
     private static ApiClient instance;
@@ -54,13 +101,86 @@ public class ApiClient {
     private ApiClient(Context context) {
         this.configManager = ConfigManager.getInstance(context);
         this.baseUrl = configManager.getApiBaseUrl();
+        this.searchPageSize = configManager.getSearchPageSize();
+        this.favoritesPageSize = configManager.getFavoritesPageSize();
+        this.prefetchDistance = configManager.getPaginationPrefetchDistance();
+        this.binaryFormatEnabled = configManager.isBinaryFormatEnabled();
+        this.listProjectionEnabled = configManager.isListProjectionEnabled();
+
+        // Shared pool, dispatcher and disk cache; stale cache entries are revalidated
+        // with If-None-Match / If-Modified-Since
+        this.httpClientProvider = HttpClientProvider.getInstance(context);
+        this.networkQualityMonitor = httpClientProvider.getNetworkQualityMonitor();
+        this.cacheInterceptor = new HttpCacheInterceptor()
+                .addPolicy(SEARCH_ENDPOINT, configManager.getSearchCacheMaxAgeSeconds())
+                .addPolicy(TRENDING_ENDPOINT, configManager.getTrendingCacheMaxAgeSeconds());
+        
+        EndpointTimeoutInterceptor timeoutInterceptor = new EndpointTimeoutInterceptor()
+                .setTimeout(SEARCH_ENDPOINT, configManager.getSearchTimeoutSeconds())
+                .setTimeout(AUTH_GOOGLE_ENDPOINT, configManager.getAuthTimeoutSeconds())
+                .setTimeout(AUTH_GUEST_ENDPOINT, configManager.getAuthTimeoutSeconds())
+                .setTimeout(AUTH_REFRESH_ENDPOINT, configManager.getAuthTimeoutSeconds());
+        
+        this.gson = ModelTypeAdapters.createGson();
         
-        this.client = new OkHttpClient.Builder()
-                .connectTimeout(configManager.getApiTimeoutSeconds(), TimeUnit.SECONDS)
-                .readTimeout(configManager.getApiTimeoutSeconds(), TimeUnit.SECONDS)
-                .writeTimeout(configManager.getApiTimeoutSeconds(), TimeUnit.SECONDS)
+        // Refresh calls use their own client so they never pass through the auth interceptor
+        this.tokenManager = new TokenManager(
+                httpClientProvider.newClientBuilder(configManager.getAuthTimeoutSeconds()).build(),
+                gson, baseUrl + AUTH_REFRESH_ENDPOINT,
+                TimeUnit.SECONDS.toMillis(configManager.getAuthRefreshSkewSeconds()));
+        tokenManager.setOnSessionRevokedListener(() -> {
+            Log.w(TAG, "Session revoked by the server, signing out");
+            notifySignedOut();
+        });
+        this.authState = context.getSharedPreferences(AUTH_STATE_PREFS, Context.MODE_PRIVATE);
+        AuthInterceptor authInterceptor = new AuthInterceptor(tokenManager);
+
+        // Outermost, so every retry passes through the timeout and auth interceptors again.
+        // Search gives up sooner than the rest: a typed query is usually superseded quickly.
+        RetryPolicy retryPolicy = new RetryPolicy(configManager.getHttpRetryMaxAttempts(),
+                configManager.getHttpRetryBaseDelayMs(), configManager.getHttpRetryMaxDelayMs());
+        this.resilienceInterceptor = new ResilienceInterceptor(configManager.getCircuitFailureThreshold(),
+                TimeUnit.SECONDS.toMillis(configManager.getCircuitOpenSeconds()))
+                .setRetryPolicy(SEARCH_ENDPOINT, new RetryPolicy(Math.min(2, retryPolicy.getMaxAttempts()),
+                        retryPolicy.getBaseDelayMs(), retryPolicy.getMaxDelayMs()))
+                .setRetryPolicy(TRENDING_ENDPOINT, retryPolicy)
+                .addRoute(RESTAURANT_DETAIL_ROUTE)
+                .setRetryPolicy(RESTAURANT_DETAIL_ROUTE, retryPolicy)
+                .setRetryPolicy(FAVORITES_ENDPOINT, retryPolicy)
+                .setRetryPolicy(FAVORITES_SYNC_ENDPOINT, retryPolicy)
+                .setRetryPolicy(AUTH_USER_ENDPOINT, retryPolicy);
+        
+        this.client = httpClientProvider.newClientBuilder(configManager.getApiTimeoutSeconds())
+                .addInterceptor(resilienceInterceptor)
+                .addInterceptor(timeoutInterceptor)
+                .addInterceptor(new NetworkProfileInterceptor(this::getNetworkProfile))
+                .addInterceptor(authInterceptor)
+                .authenticator(authInterceptor)
+                .addNetworkInterceptor(cacheInterceptor)
                 .build();
-        this.gson = new Gson();
+        this.scheduler = new RequestScheduler(configManager.getHttpMaxRequestsPerHost(),
+                configManager.getSchedulerMaxScreenLoad(), configManager.getSchedulerMaxPrefetch(),
+                configManager.getSchedulerMaxBackground());
+        // Opt-in: hedges use their own small pool so a stalled connection can't hold both copies,
+        // and take their slot from the scheduler since they share its dispatcher
+        this.searchHedger = configManager.isSearchHedgingEnabled()
+                ? new RequestHedger(
+                        client.newBuilder()
+                                .connectionPool(new ConnectionPool(2, configManager.getHttpKeepAliveSeconds(), TimeUnit.SECONDS))
+                                .build(),
+                        scheduler,
+                        configManager.getSearchHedgeMinDelayMs(),
+                        configManager.getSearchHedgeDefaultDelayMs(),
+                        configManager.getSearchHedgeBudgetPercent())
+                : null;
+        this.searchCache = new SearchResultCache(configManager.getSearchResultCacheEntries(),
+                TimeUnit.SECONDS.toMillis(configManager.getSearchResultTtlSeconds()),
+                TimeUnit.SECONDS.toMillis(configManager.getSearchResultMaxStaleSeconds()));
+        this.detailCache = new RestaurantDetailCache(configManager.getRestaurantDetailCacheEntries(),
+                TimeUnit.SECONDS.toMillis(configManager.getRestaurantDetailTtlSeconds()));
+        this.identityMap = RestaurantIdentityMap.getInstance(context);
+        this.restaurantStore = configManager.isRestaurantStoreEnabled() ? RestaurantStore.getInstance(context) : null;
+        this.trendingSnapshot = configManager.isRestaurantStoreEnabled() ? TrendingSnapshot.getInstance(context) : null;
         
         // Log configuration status
         configManager.logConfigurationStatus();
@@ -84,25 +204,399 @@ public class ApiClient {
      * Set authentication tokens
      */
     public void setAuthTokens(String accessToken, String refreshToken) {
-        this.accessToken = accessToken;
-        this.refreshToken = refreshToken;
-        Log.d(TAG, "🔑 Auth tokens updated");
+        tokenManager.setTokens(accessToken, refreshToken, 0);
+        AppLog.d(TAG, "🔑 Auth tokens updated");
+        onSignedIn(tokenManager.getSubject());
+    }
+
+    /**
+     * Run the listener on a background thread every time the user logs in
+     */
+    public void addOnAuthenticatedListener(Runnable listener) {
+        authenticatedListeners.add(listener);
+    }
+
+    /**
+     * A different account than the one whose data is stored counts as the previous one signing out
+     * @param userId the account that just signed in, or null if unknown
+     */
+    private void onSignedIn(String userId) {
+        String previousUserId = authState.getString(PREF_USER_ID, null);
+        if (previousUserId != null && !previousUserId.equals(userId)) {
+            AppLog.d(TAG, "🔑 Different account signed in, dropping the previous account's data");
+            notifySignedOut();
+        }
+        authState.edit().putString(PREF_USER_ID, userId).apply();
+        for (Runnable listener : authenticatedListeners) {
+            listener.run();
+        }
+    }
+
+    private void notifySignedOut() {
+        authState.edit().remove(PREF_USER_ID).apply();
+        for (Runnable listener : signedOutListeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Run the listener every time the user logs out, the server revokes the session or another
+     * account logs in, e.g. to drop per-user local data
+     */
+    public void addOnSignedOutListener(Runnable listener) {
+        signedOutListeners.add(listener);
     }
 
     /**
      * Clear authentication tokens
      */
     public void clearAuthTokens() {
-        this.accessToken = null;
-        this.refreshToken = null;
-        Log.d(TAG, "🔑 Auth tokens cleared");
+        tokenManager.clear();
+        AppLog.d(TAG, "🔑 Auth tokens cleared");
+        notifySignedOut();
+    }
+
+    /**
+     * Log the user out: local tokens and per-user data are dropped right away, then the server
+     * session is ended in the background
+     */
+    public void logout() {
+        Request request = tokenManager.hasAccessToken()
+                ? authorizedRequest(baseUrl + AUTH_LOGOUT_ENDPOINT).post(RequestBody.create("", JSON)).build()
+                : null;
+        clearAuthTokens();
+        if (request == null) {
+            return;
+        }
+        scheduler.enqueue(client.newCall(request), Priority.BACKGROUND, new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                Log.w(TAG, "Logout request failed: " + e.getMessage());
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                AppLog.d(TAG, "Logout response code: {}", response.code());
+                response.close();
+            }
+        });
     }
 
     /**
      * Check if user is authenticated
      */
     public boolean isAuthenticated() {
-        return accessToken != null && !accessToken.trim().isEmpty();
+        return tokenManager.hasAccessToken();
+    }
+
+    /**
+     * Get hit/miss/revalidation counters for the HTTP disk cache
+     */
+    public HttpCacheStats getHttpCacheStats() {
+        Cache httpCache = httpClientProvider.getCache();
+        return new HttpCacheStats(httpCache.requestCount(), httpCache.hitCount(), httpCache.networkCount(),
+                cacheInterceptor.getRevalidationCount(), cacheInterceptor.getNotModifiedCount());
+    }
+
+    /**
+     * Get connection reuse and idle-pool metrics for the shared HTTP stack
+     */
+    public ConnectionPoolStats getConnectionPoolStats() {
+        return httpClientProvider.getConnectionPoolStats();
+    }
+
+    /**
+     * Request profile for the current network link
+     */
+    public NetworkProfile getNetworkProfile() {
+        return configManager.isNetworkProfilesEnabled()
+                ? networkQualityMonitor.getProfile()
+                : NetworkProfile.MODERATE;
+    }
+
+    /**
+     * How many rows before the end of a list the next page should be requested
+     */
+    public int getPrefetchDistance() {
+        return getNetworkProfile().scalePrefetchDistance(prefetchDistance);
+    }
+
+    /**
+     * Identify a request for coalescing; requests for different users never share a key
+     */
+    private static String flightKey(Request request) {
+        String authorization = request.header("Authorization");
+        return request.method() + " " + request.url()
+                + (authorization != null ? " #" + authorization.hashCode() : "");
+    }
+
+    /**
+     * Callback that delivers one parsed search result to every caller waiting on the same request
+     * The response object is shared between callers and must be treated as read-only
+     */
+    private SearchCallback searchFanOut(RequestCoalescer.Flight<SearchCallback> flight) {
+        return new SearchCallback() {
+            @Override
+            public void onSuccess(SearchResponse response) {
+                for (SearchCallback waiter : searchFlights.complete(flight)) {
+                    waiter.onSuccess(response);
+                }
+            }
+
+            @Override
+            public void onError(String error) {
+                for (SearchCallback waiter : searchFlights.complete(flight)) {
+                    waiter.onError(error);
+                }
+            }
+        };
+    }
+
+    /**
+     * Callback that delivers one parsed favorites list to every caller waiting on the same request
+     */
+    private FavoritesListCallback favoritesFanOut(RequestCoalescer.Flight<FavoritesListCallback> flight) {
+        return new FavoritesListCallback() {
+            @Override
+            public void onSuccess(FavoritesListResponse response) {
+                for (FavoritesListCallback waiter : favoritesFlights.complete(flight)) {
+                    waiter.onSuccess(response);
+                }
+            }
+
+            @Override
+            public void onError(String error) {
+                for (FavoritesListCallback waiter : favoritesFlights.complete(flight)) {
+                    waiter.onError(error);
+                }
+            }
+        };
+    }
+
+    /**
+     * Wrap a search callback so nothing is delivered after its request was cancelled
+     */
+    private static SearchCallback guardSearch(SearchCallback callback, AtomicBoolean cancelled) {
+        return new SearchCallback() {
+            @Override
+            public void onSuccess(SearchResponse response) {
+                if (!cancelled.get()) callback.onSuccess(response);
+            }
+
+            @Override
+            public void onError(String error) {
+                if (!cancelled.get()) callback.onError(error);
+            }
+        };
+    }
+
+    /**
+     * Wrap a favorites list callback so nothing is delivered after its request was cancelled
+     */
+    private static FavoritesListCallback guardFavorites(FavoritesListCallback callback, AtomicBoolean cancelled) {
+        return new FavoritesListCallback() {
+            @Override
+            public void onSuccess(FavoritesListResponse response) {
+                if (!cancelled.get()) callback.onSuccess(response);
+            }
+
+            @Override
+            public void onError(String error) {
+                if (!cancelled.get()) callback.onError(error);
+            }
+        };
+    }
+
+    /**
+     * Start a list request and meanwhile show the copy stored on the device, if there is one
+     * @param fetch starts the network request with the callback it is given
+     */
+    private RequestHandle withStoredList(String listKey, SearchCallback callback,
+                                         Function<SearchCallback, RequestHandle> fetch) {
+        if (restaurantStore == null) {
+            return fetch.apply(callback);
+        }
+        StoredListCallback hydrating = new StoredListCallback(listKey, callback);
+        RequestHandle network = fetch.apply(hydrating);
+        RequestHandle stored = restaurantStore.loadList(listKey,
+                restaurants -> hydrating.onStored(identityMap.internAll(restaurants)));
+        return new RequestHandle() {
+            @Override
+            public void cancel() {
+                stored.cancel();
+                network.cancel();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return network.isCancelled();
+            }
+        };
+    }
+
+    /**
+     * Write a successful list response through to the device
+     */
+    private void storeList(String listKey, SearchResponse response) {
+        if (restaurantStore != null && response.getRestaurants() != null) {
+            restaurantStore.saveList(listKey, response.getRestaurants());
+        }
+    }
+
+    /**
+     * Delivers the stored copy of a list unless the network answered first
+     * Once the stored list is on screen, a network error is logged instead of replacing it.
+     */
+    private static final class StoredListCallback implements SearchCallback {
+        private final String listKey;
+        private final SearchCallback callback;
+
+        // Guarded by this; deliveries happen under the lock so they reach the caller in order
+        private boolean answered;
+        private boolean showingStored;
+
+        StoredListCallback(String listKey, SearchCallback callback) {
+            this.listKey = listKey;
+            this.callback = callback;
+        }
+
+        synchronized void onStored(List<Restaurant> restaurants) {
+            if (answered || restaurants.isEmpty()) {
+                return;
+            }
+            showingStored = true;
+            AppLog.d(TAG, "💾 Showing {} stored restaurants for {}", restaurants.size(), listKey);
+            callback.onSuccess(new SearchResponse(true, restaurants, restaurants.size()));
+        }
+
+        @Override
+        public synchronized void onSuccess(SearchResponse response) {
+            answered = true;
+            callback.onSuccess(response);
+        }
+
+        @Override
+        public synchronized void onError(String error) {
+            answered = true;
+            if (showingStored) {
+                Log.w(TAG, "Refreshing stored " + listKey + " failed, keeping it: " + error);
+            } else {
+                callback.onError(error);
+            }
+        }
+    }
+
+    /**
+     * Handle that detaches one caller from a coalesced request and cancels
+     * the network call once no caller is left waiting for it
+     */
+    private static class FlightHandle<C> implements RequestHandle {
+        private final RequestCoalescer<C> coalescer;
+        private final RequestCoalescer.Flight<C> flight;
+        private final C callback;
+        private final AtomicBoolean cancelled;
+
+        FlightHandle(RequestCoalescer<C> coalescer, RequestCoalescer.Flight<C> flight, C callback, AtomicBoolean cancelled) {
+            this.coalescer = coalescer;
+            this.flight = flight;
+            this.callback = callback;
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled.getAndSet(true)) return;
+            Call call = coalescer.leave(flight, callback);
+            if (call != null) {
+                call.cancel();
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled.get();
+        }
+    }
+
+    /**
+     * Handle for a single uncoalesced call
+     */
+    private static class CallHandle implements RequestHandle {
+        private final Call call;
+        private final AtomicBoolean cancelled;
+
+        CallHandle(Call call, AtomicBoolean cancelled) {
+            this.call = call;
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled.getAndSet(true)) return;
+            call.cancel();
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled.get();
+        }
+    }
+
+    /**
+     * Whether every caller left before the response arrived; the body is then closed unread
+     * instead of being parsed for nobody
+     */
+    private static boolean abandoned(Call call, Response response) {
+        if (!call.isCanceled()) {
+            return false;
+        }
+        response.close();
+        AppLog.d(TAG, "Dropped response nobody is waiting for");
+        return true;
+    }
+
+    /**
+     * Decode a response body straight from its byte stream into the model,
+     * without buffering the payload as a String first. Restaurant lists may arrive as CBOR
+     * when the request offered it; everything else is JSON.
+     */
+    private <T> T parseBody(Response response, Class<T> type) throws IOException {
+        try (ResponseBody body = response.body()) {
+            if (body == null) return null;
+            if (CborModelCodec.isCbor(body.contentType())) {
+                if (type != SearchResponse.class) {
+                    throw new IOException("Unexpected binary response for " + type.getSimpleName());
+                }
+                return type.cast(CborModelCodec.readSearchResponse(body.byteStream()));
+            }
+            return gson.fromJson(body.charStream(), type);
+        }
+    }
+
+    /**
+     * GET request for a restaurant list, offering the compact binary encoding when enabled.
+     * The server picks the format (and should send Vary: Accept); parseBody follows its Content-Type.
+     */
+    private Request restaurantListRequest(String url) {
+        Request.Builder builder = new Request.Builder()
+                .url(url)
+                .get();
+        if (binaryFormatEnabled) {
+            builder.header("Accept", ACCEPT_BINARY);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Describe where a response came from for logging
+     */
+    private static String describeCacheSource(Response response) {
+        if (response.cacheResponse() != null && response.networkResponse() == null) {
+            return "cache";
+        } else if (response.cacheResponse() != null) {
+            return "cache (revalidated)";
+        }
+        return "network";
     }
 
     /**
@@ -114,10 +608,10 @@ public class ApiClient {
     }
 
     /**
-     * Interface for handling favorites operations
+     * Interface for handling a single restaurant's full record
      */
-    public interface FavoritesCallback {
-        void onSuccess(FavoriteResponse response);
+    public interface RestaurantCallback {
+        void onSuccess(Restaurant restaurant);
         void onError(String error);
     }
 
@@ -137,20 +631,33 @@ public class ApiClient {
         void onError(String error);
     }
 
+    /**
+     * Search for restaurants using the backend API, first page only
+     * @see #searchRestaurants(String, String, String, SearchCallback)
+     */
+    public RequestHandle searchRestaurants(String query, String location, SearchCallback callback) {
+        return searchRestaurants(query, location, null, callback);
+    }
+
     /**
      * Search for restaurants using the backend API
+     * Cached first pages are delivered immediately; if they are stale, onSuccess is called
+     * a second time when a background refresh returns different results. Without a cached page,
+     * results stored on the device by an earlier run may be delivered before the network's.
      * @param query Search query (required)
      * @param location Location filter (optional)
+     * @param cursor next_cursor of the previous page, or null for the first page
      * @param callback Callback to handle the response
+     * @return handle that cancels the request; a superseded search should be cancelled
      */
-    public void searchRestaurants(String query, String location, SearchCallback callback) {
-        Log.d(TAG, "🔍 Searching restaurants: query=" + query + ", location=" + location);
-        Log.d(TAG, "Using base URL: " + baseUrl);
+    public RequestHandle searchRestaurants(String query, String location, String cursor, SearchCallback callback) {
+        AppLog.d(TAG, "🔍 Searching restaurants: query={}, location={}, cursor={}", query, location, cursor);
+        AppLog.d(TAG, "Using base URL: {}", baseUrl);
         
         // Validate required parameters
         if (query == null || query.trim().isEmpty()) {
             callback.onError("Query parameter is required");
-            return;
+            return RequestHandle.COMPLETED;
         }
         
         // Build URL with parameters
@@ -160,69 +667,181 @@ public class ApiClient {
         if (location != null && !location.trim().isEmpty()) {
             urlBuilder.addQueryParameter("location", location.trim());
         }
+        addPageParameters(urlBuilder, cursor, getNetworkProfile().scalePageSize(searchPageSize));
+        addListProjection(urlBuilder);
         
         String url = urlBuilder.build().toString();
-        Log.d(TAG, "Request URL: " + url);
+        AppLog.d(TAG, "Request URL: {}", url);
         
         // Create request
-        Request request = new Request.Builder()
-                .url(url)
-                .get()
-                .build();
-        
-        // Execute request asynchronously
-        client.newCall(request).enqueue(new Callback() {
+        Request request = restaurantListRequest(url);
+
+        // Only first pages are cached; later pages are appended once and never re-delivered
+        if (cursor != null) {
+            return executeSearch(request, null, Priority.PREFETCH, callback);
+        }
+
+        String cacheKey = SearchResultCache.key(query, location);
+        SearchResultCache.Entry cached = searchCache.get(cacheKey);
+        if (cached == null) {
+            // After a restart the last results for this query may still be on the device
+            return withStoredList(RestaurantStore.searchListKey(cacheKey), callback,
+                    listener -> executeSearch(request, cacheKey, Priority.INTERACTIVE, listener));
+        }
+
+        // Show cached results right away
+        AppLog.d(TAG, "Serving cached search results (age {}ms)", cached.getAgeMillis());
+        callback.onSuccess(cached.getResponse());
+        if (cached.isFresh()) {
+            return RequestHandle.COMPLETED;
+        }
+
+        // Stale: refresh in the background and only push results that changed
+        return executeSearch(request, cacheKey, Priority.PREFETCH, new SearchCallback() {
+            @Override
+            public void onSuccess(SearchResponse response) {
+                if (response.hasSameResults(cached.getResponse())) {
+                    AppLog.d(TAG, "Background search refresh unchanged");
+                } else {
+                    AppLog.d(TAG, "Background search refresh changed, updating results");
+                    callback.onSuccess(response);
+                }
+            }
+
+            @Override
+            public void onError(String error) {
+                Log.w(TAG, "Background search refresh failed, keeping cached results: " + error);
+            }
+        });
+    }
+
+    /**
+     * Ask for one page of results; servers without pagination ignore these and
+     * return everything with no next_cursor
+     */
+    private static void addPageParameters(HttpUrl.Builder urlBuilder, String cursor, int pageSize) {
+        urlBuilder.addQueryParameter("limit", String.valueOf(pageSize));
+        if (cursor != null) {
+            urlBuilder.addQueryParameter("cursor", cursor);
+        }
+    }
+
+    /**
+     * Ask for only the fields list rows show; servers without projection support ignore
+     * this and send full records, which the detail screen then uses as-is
+     */
+    private void addListProjection(HttpUrl.Builder urlBuilder) {
+        if (listProjectionEnabled) {
+            urlBuilder.addQueryParameter("fields", LIST_FIELDS);
+        }
+    }
+
+    /**
+     * Run a search request and store successful results in the in-memory cache
+     * @param cacheKey key to cache the results under, or null to skip caching
+     * @param priority INTERACTIVE for the query being typed, PREFETCH for later pages and refreshes
+     */
+    private RequestHandle executeSearch(Request request, String cacheKey, Priority priority, SearchCallback callback) {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        SearchCallback guarded = guardSearch(callback, cancelled);
+        RequestCoalescer.Flight<SearchCallback> flight = searchFlights.join(flightKey(request), guarded);
+        RequestHandle handle = new FlightHandle<>(searchFlights, flight, guarded, cancelled);
+        if (!flight.isLeader(guarded)) {
+            AppLog.d(TAG, "Joined in-flight search request");
+            return handle;
+        }
+
+        SearchCallback fanOut = searchFanOut(flight);
+        Call searchCall = client.newCall(request);
+        if (!searchFlights.attachCall(flight, searchCall)) {
+            return handle;
+        }
+        Callback searchCallback = new Callback() {
             @Override
             public void onFailure(Call call, IOException e) {
-                Log.e(TAG, "Network request failed", e);
-                callback.onError("Network error: " + e.getMessage());
+                if (call.isCanceled()) {
+                    AppLog.d(TAG, "Search request cancelled");
+                } else {
+                    Log.e(TAG, "Network request failed", e);
+                }
+                fanOut.onError("Network error: " + e.getMessage());
             }
             
             @Override
             public void onResponse(Call call, Response response) throws IOException {
-                String responseBody = response.body().string();
-                Log.d(TAG, "Response code: " + response.code());
-                Log.d(TAG, "Response body: " + responseBody);
+                if (abandoned(searchCall, response)) {
+                    return;
+                }
+                if (AppLog.isDebugEnabled()) {
+                    AppLog.d(TAG, "Response code: {} from {}", response.code(), describeCacheSource(response));
+                    AppLog.d(TAG, "HTTP cache: {}", getHttpCacheStats());
+                    AppLog.d(TAG, "Connection pool: {}", getConnectionPoolStats());
+                    AppLog.d(TAG, "Resilience: {}", resilienceInterceptor.getStats());
+                    AppLog.d(TAG, "Scheduler: {}", scheduler.getStats());
+                    if (searchHedger != null) {
+                        AppLog.d(TAG, "Hedging: {}", searchHedger.getStats());
+                    }
+                }
                 
                 try {
                     if (response.isSuccessful()) {
-                        SearchResponse searchResponse = gson.fromJson(responseBody, SearchResponse.class);
+                        SearchResponse searchResponse = parseBody(response, SearchResponse.class);
                         
                         // Validate response structure
                         if (searchResponse != null && searchResponse.isValidResponse()) {
-                            Log.d(TAG, "Parsed response: " + searchResponse.toString());
-                            callback.onSuccess(searchResponse);
+                            AppLog.d(TAG, "Parsed response: {}", searchResponse);
+                            identityMap.internAll(searchResponse.getRestaurants());
+                            if (cacheKey != null) {
+                                searchCache.put(cacheKey, searchResponse);
+                                storeList(RestaurantStore.searchListKey(cacheKey), searchResponse);
+                            }
+                            fanOut.onSuccess(searchResponse);
                         } else {
                             Log.e(TAG, "Invalid response structure");
-                            callback.onError("Invalid response structure");
+                            fanOut.onError("Invalid response structure");
                         }
                     } else {
                         // Try to parse error response
                         try {
-                            SearchResponse errorResponse = gson.fromJson(responseBody, SearchResponse.class);
+                            SearchResponse errorResponse = parseBody(response, SearchResponse.class);
                             if (errorResponse != null && errorResponse.getError() != null) {
-                                callback.onError(errorResponse.getError() + ": " + errorResponse.getMessage());
+                                fanOut.onError(errorResponse.getError() + ": " + errorResponse.getMessage());
                             } else {
-                                callback.onError("HTTP " + response.code() + ": " + response.message());
+                                fanOut.onError("HTTP " + response.code() + ": " + response.message());
                             }
                         } catch (Exception e) {
-                            callback.onError("HTTP " + response.code() + ": " + response.message());
+                            fanOut.onError("HTTP " + response.code() + ": " + response.message());
                         }
                     }
                 } catch (Exception e) {
                     Log.e(TAG, "Error parsing response", e);
-                    callback.onError("Error parsing response: " + e.getMessage());
+                    fanOut.onError("Error parsing response: " + e.getMessage());
                 }
             }
-        });
+        };
+        // Only the search the user is waiting on is worth hedging
+        if (searchHedger != null && priority == Priority.INTERACTIVE) {
+            scheduler.enqueue(searchCall, priority, searchCallback, searchHedger::enqueue);
+        } else {
+            scheduler.enqueue(searchCall, priority, searchCallback);
+        }
+        return handle;
+    }
+
+    /**
+     * Open a connection to the backend ahead of the first request, off the main thread
+     */
+    public void prewarmConnection() {
+        httpClientProvider.prewarm(baseUrl + "/health");
     }
 
     /**
      * Test connectivity to the backend server
+     * @return handle that cancels the request
      */
-    public void testConnectivity(SearchCallback callback) {
-        Log.d(TAG, "🔗 Testing connectivity to backend server");
-                Log.d(TAG, "Testing URL: " + baseUrl + "/health");
+    public RequestHandle testConnectivity(SearchCallback callback) {
+        AppLog.d(TAG, "🔗 Testing connectivity to backend server");
+                AppLog.d(TAG, "Testing URL: {}/health", baseUrl);
         
         String healthUrl = baseUrl + "/health";
         Request request = new Request.Builder()
@@ -230,9 +849,13 @@ public class ApiClient {
                 .get()
                 .build();
 
-        client.newCall(request).enqueue(new Callback() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        SearchCallback guarded = guardSearch(callback, cancelled);
+        Call healthCall = client.newCall(request);
+        scheduler.enqueue(healthCall, Priority.SCREEN_LOAD, new Callback() {
             @Override
             public void onFailure(Call call, IOException e) {
+                if (cancelled.get()) return;
                         Log.e(TAG, " Connectivity test failed to " + baseUrl, e);
             String errorMsg = "Cannot connect to server at " + baseUrl + ": " + e.getMessage();
 
@@ -243,115 +866,112 @@ public class ApiClient {
                     errorMsg += "\n Tip: Check if server is running and accessible";
                 }
 
-                callback.onError(errorMsg);
+                guarded.onError(errorMsg);
             }
 
             @Override
             public void onResponse(Call call, Response response) throws IOException {
-                Log.d(TAG, "Connectivity test response: " + response.code());
+                if (cancelled.get()) {
+                    response.close();
+                    return;
+                }
+                AppLog.d(TAG, "Connectivity test response: {}", response.code());
                 if (response.isSuccessful()) {
-                    String body = response.body().string();
-                    Log.d(TAG, "Server health response: " + body);
-                    callback.onSuccess(new SearchResponse(true, null, 0));
+                    // Only read the body when it is going to be logged
+                    if (AppLog.isDebugEnabled()) {
+                        AppLog.d(TAG, "Server health response: {}", response.body().string());
+                    }
+                    response.close();
+                    guarded.onSuccess(new SearchResponse(true, null, 0));
                 } else {
-                    callback.onError("Server returned: " + response.code());
+                    response.close();
+                    guarded.onError("Server returned: " + response.code());
                 }
             }
         });
+        return new CallHandle(healthCall, cancelled);
     }
 
     /**
-     * Add a restaurant to favorites
-     * @param favoriteRequest Request containing restaurant data
-     * @param callback Callback to handle the response
+     * Upload several queued favorites in one request; blocks, call off the main thread
+     * Every item carries its idempotency key so the server can ignore ones it already stored
+     * @return the HTTP status code
      */
-    public void addToFavorites(FavoriteRequest favoriteRequest, FavoritesCallback callback) {
-        Log.d(TAG, "️ Adding restaurant to favorites: " + favoriteRequest.getRestaurantData().getName());
-        Log.d(TAG, "Using URL: " + baseUrl + FAVORITES_ENDPOINT);
-
-        // Validate request
-        if (!favoriteRequest.isValid()) {
-            callback.onError("Invalid restaurant data");
-            return;
+    public int postFavoritesBatch(List<PendingFavorite> batch) throws IOException {
+        StringWriter json = new StringWriter();
+        JsonWriter writer = new JsonWriter(json);
+        writer.beginObject();
+        writer.name("favorites");
+        ModelTypeAdapters.writeList(writer, batch, ModelTypeAdapters.PENDING_FAVORITE);
+        writer.endObject();
+        writer.flush();
+
+        Request request = authorizedRequest(baseUrl + FAVORITES_BATCH_ENDPOINT)
+                .post(RequestBody.create(json.toString(), JSON))
+                .build();
+        try (Response response = scheduler.execute(client.newCall(request), Priority.BACKGROUND)) {
+            AppLog.d(TAG, "Favorites batch of {} response code: {}", batch.size(), response.code());
+            return response.code();
         }
+    }
 
-        // Check authentication
-        if (!isAuthenticated()) {
-            callback.onError("Authentication required. Please log in first.");
-            return;
+    /**
+     * Upload a single queued favorite with its idempotency key; blocks, call off the main thread
+     * @return the HTTP status code
+     */
+    public int postFavorite(PendingFavorite pending) throws IOException {
+        String jsonBody = gson.toJson(new FavoriteRequest(pending.getRestaurant()));
+        Request request = authorizedRequest(baseUrl + FAVORITES_ENDPOINT)
+                .header(IDEMPOTENCY_KEY_HEADER, pending.getIdempotencyKey())
+                .post(RequestBody.create(jsonBody, JSON))
+                .build();
+        try (Response response = scheduler.execute(client.newCall(request), Priority.BACKGROUND)) {
+            AppLog.d(TAG, "Queued favorite response code: {}", response.code());
+            return response.code();
         }
+    }
 
-        // Convert request to JSON
-        String jsonBody = gson.toJson(favoriteRequest);
-        Log.d(TAG, " Request body: " + jsonBody);
-
-        RequestBody body = RequestBody.create(jsonBody, JSON);
-
-        // Create request with authorization header
-        Request.Builder requestBuilder = new Request.Builder()
-                .url(baseUrl + FAVORITES_ENDPOINT)
-                .post(body);
-
-        // Add authorization header
-        if (accessToken != null) {
-            requestBuilder.addHeader("Authorization", "Bearer " + accessToken);
-            Log.d(TAG, "🔑 Added authorization header");
+    /**
+     * Fetch one page of favorites changes since a stored version; blocks, call off the main thread
+     * @param sinceVersion version returned by the last completed sync, or null for a full snapshot
+     * @param cursor next_cursor of the previous page of this sync, or null for the first page
+     * @param priority SCREEN_LOAD when a screen is waiting for the result
+     * @return the changes, or null if the backend has no sync endpoint
+     * @throws IOException on network errors and unexpected responses
+     */
+    public FavoritesDeltaResponse fetchFavoritesDelta(String sinceVersion, String cursor, Priority priority)
+            throws IOException {
+        HttpUrl.Builder urlBuilder = HttpUrl.parse(baseUrl + FAVORITES_SYNC_ENDPOINT).newBuilder();
+        if (sinceVersion != null) {
+            urlBuilder.addQueryParameter("since", sinceVersion);
         }
+        addPageParameters(urlBuilder, cursor, getNetworkProfile().scalePageSize(favoritesPageSize));
 
-        Request request = requestBuilder.build();
-
-        // Execute request asynchronously
-        client.newCall(request).enqueue(new Callback() {
-            @Override
-            public void onFailure(Call call, IOException e) {
-                Log.e(TAG, " Add to favorites failed", e);
-                String errorMsg = "Network error: " + e.getMessage();
-
-                if (e.getMessage().contains("CLEARTEXT")) {
-                    errorMsg += "\n Tip: Check network security configuration";
-                } else if (e.getMessage().contains("UnknownHost")) {
-                    errorMsg += "\n Tip: Check if server is running";
-                }
-
-                callback.onError(errorMsg);
+        Request request = authorizedRequest(urlBuilder.build().toString()).get().build();
+        try (Response response = scheduler.execute(client.newCall(request), priority)) {
+            AppLog.d(TAG, "Favorites sync response code: {}", response.code());
+            if (response.code() == 404 || response.code() == 405) {
+                return null;
             }
-
-            @Override
-            public void onResponse(Call call, Response response) throws IOException {
-                String responseBody = response.body().string();
-                Log.d(TAG, " Add to favorites response code: " + response.code());
-                Log.d(TAG, " Add to favorites response body: " + responseBody);
-
-                try {
-                    if (response.isSuccessful()) {
-                        FavoriteResponse favoriteResponse = gson.fromJson(responseBody, FavoriteResponse.class);
-
-                        if (favoriteResponse != null && favoriteResponse.isValidResponse()) {
-                            Log.d(TAG, "Restaurant added to favorites: " + favoriteResponse.toString());
-                            callback.onSuccess(favoriteResponse);
-                        } else {
-                            Log.e(TAG, " Invalid response structure");
-                            callback.onError("Invalid response structure");
-                        }
-                    } else {
-                        // Try to parse error response
-                        try {
-                            FavoriteResponse errorResponse = gson.fromJson(responseBody, FavoriteResponse.class);
-                            if (errorResponse != null && errorResponse.getError() != null) {
-                                callback.onError(errorResponse.getError() + ": " + errorResponse.getMessage());
-                            } else {
-                                callback.onError("HTTP " + response.code() + ": " + response.message());
-                            }
-                        } catch (Exception e) {
-                            callback.onError("HTTP " + response.code() + ": " + response.message());
-                        }
-                    }
-                } catch (Exception e) {
-                    Log.e(TAG, " Error parsing add to favorites response", e);
-                    callback.onError("Error parsing response: " + e.getMessage());
-                }
+            if (!response.isSuccessful()) {
+                throw new IOException("HTTP " + response.code() + ": " + response.message());
             }
-        });
+            FavoritesDeltaResponse delta = parseBody(response, FavoritesDeltaResponse.class);
+            if (delta == null || !delta.isValidResponse() || !delta.isSuccess()) {
+                throw new IOException("Invalid response structure");
+            }
+            AppLog.d(TAG, "Favorites delta: {}", delta);
+            return delta;
+        }
+    }
+
+    private Request.Builder authorizedRequest(String url) {
+        Request.Builder builder = new Request.Builder().url(url);
+        String token = tokenManager.getAccessToken();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
     }
 
     /**
@@ -360,8 +980,8 @@ public class ApiClient {
      * @param callback Callback to handle the response
      */
     public void authenticateWithGoogle(String idToken, AuthCallback callback) {
-        Log.d(TAG, "🔐 Authenticating with Google OAuth");
-        Log.d(TAG, "Using URL: " + baseUrl + AUTH_GOOGLE_ENDPOINT);
+        AppLog.d(TAG, "🔐 Authenticating with Google OAuth");
+        AppLog.d(TAG, "Using URL: {}{}", baseUrl, AUTH_GOOGLE_ENDPOINT);
 
         // Validate input
         if (idToken == null || idToken.trim().isEmpty()) {
@@ -372,7 +992,7 @@ public class ApiClient {
         // Create request
         AuthRequest.GoogleAuthRequest request = new AuthRequest.GoogleAuthRequest(idToken);
         String jsonBody = gson.toJson(request);
-        Log.d(TAG, " Google auth request: " + request.toString());
+        AppLog.d(TAG, " Google auth request: {}", request);
 
         RequestBody body = RequestBody.create(jsonBody, JSON);
 
@@ -390,13 +1010,13 @@ public class ApiClient {
      * @param callback Callback to handle the response
      */
     public void authenticateAsGuest(String deviceId, AuthCallback callback) {
-        Log.d(TAG, "👤 Authenticating as guest user");
-        Log.d(TAG, "Using URL: " + baseUrl + AUTH_GUEST_ENDPOINT);
+        AppLog.d(TAG, "👤 Authenticating as guest user");
+        AppLog.d(TAG, "Using URL: {}{}", baseUrl, AUTH_GUEST_ENDPOINT);
 
         // Create request
         AuthRequest.GuestAuthRequest request = new AuthRequest.GuestAuthRequest(deviceId);
         String jsonBody = gson.toJson(request);
-        Log.d(TAG, " Guest auth request: " + request.toString());
+        AppLog.d(TAG, " Guest auth request: {}", request);
 
         RequestBody body = RequestBody.create(jsonBody, JSON);
 
@@ -412,7 +1032,7 @@ public class ApiClient {
      * Execute authentication request
      */
     private void executeAuthRequest(Request request, String authType, AuthCallback callback) {
-        client.newCall(request).enqueue(new Callback() {
+        scheduler.enqueue(client.newCall(request), Priority.SCREEN_LOAD, new Callback() {
             @Override
             public void onFailure(Call call, IOException e) {
                 Log.e(TAG, " " + authType + " authentication failed", e);
@@ -429,19 +1049,20 @@ public class ApiClient {
 
             @Override
             public void onResponse(Call call, Response response) throws IOException {
-                String responseBody = response.body().string();
-                Log.d(TAG, " " + authType + " auth response code: " + response.code());
-                Log.d(TAG, " " + authType + " auth response body: " + responseBody);
+                AppLog.d(TAG, " {} auth response code: {}", authType, response.code());
 
                 try {
                     if (response.isSuccessful()) {
-                        AuthResponse authResponse = gson.fromJson(responseBody, AuthResponse.class);
+                        AuthResponse authResponse = parseBody(response, AuthResponse.class);
 
                         if (authResponse != null && authResponse.isValidResponse()) {
-                            Log.d(TAG, "" + authType + " authentication successful: " + authResponse.toString());
+                            AppLog.d(TAG, "{} authentication successful: {}", authType, authResponse);
 
-                            // Store authentication tokens
-                            setAuthTokens(authResponse.getAccessToken(), authResponse.getRefreshToken());
+                            // Store authentication tokens along with their expiry
+                            tokenManager.setTokens(authResponse);
+                            AppLog.d(TAG, "🔑 Auth tokens updated");
+                            AuthResponse.User user = authResponse.getUser();
+                            onSignedIn(user != null && user.getId() != null ? user.getId() : tokenManager.getSubject());
 
                             callback.onSuccess(authResponse);
                         } else {
@@ -451,7 +1072,7 @@ public class ApiClient {
                     } else {
                         // Try to parse error response
                         try {
-                            AuthResponse errorResponse = gson.fromJson(responseBody, AuthResponse.class);
+                            AuthResponse errorResponse = parseBody(response, AuthResponse.class);
                             if (errorResponse != null && errorResponse.getError() != null) {
                                 callback.onError(errorResponse.getError() + ": " + errorResponse.getMessage());
                             } else {
@@ -471,20 +1092,37 @@ public class ApiClient {
 
     /**
      * Get trending restaurants from the backend API
+     * The result is also kept as the TrendingSnapshot the home screen starts from
      * @param callback Callback to handle the response
+     * @return handle that cancels the request
      */
-    public void getTrendingRestaurants(SearchCallback callback) {
-        Log.d(TAG, " Getting trending restaurants");
-        Log.d(TAG, "Using URL: " + baseUrl + TRENDING_ENDPOINT);
+    public RequestHandle getTrendingRestaurants(SearchCallback callback) {
+        AppLog.d(TAG, " Getting trending restaurants");
+        AppLog.d(TAG, "Using URL: {}{}", baseUrl, TRENDING_ENDPOINT);
+
+        HttpUrl.Builder urlBuilder = HttpUrl.parse(baseUrl + TRENDING_ENDPOINT).newBuilder();
+        addListProjection(urlBuilder);
 
         // Create request
-        Request request = new Request.Builder()
-                .url(baseUrl + TRENDING_ENDPOINT)
-                .get()
-                .build();
+        Request request = restaurantListRequest(urlBuilder.build().toString());
+
+        AtomicBoolean cancelled = new AtomicBoolean();
+        SearchCallback guarded = guardSearch(callback, cancelled);
+        RequestCoalescer.Flight<SearchCallback> flight = searchFlights.join(flightKey(request), guarded);
+        RequestHandle handle = new FlightHandle<>(searchFlights, flight, guarded, cancelled);
+        if (!flight.isLeader(guarded)) {
+            AppLog.d(TAG, "Joined in-flight trending request");
+            return handle;
+        }
+
+        SearchCallback fanOut = searchFanOut(flight);
+        Call trendingCall = client.newCall(request);
+        if (!searchFlights.attachCall(flight, trendingCall)) {
+            return handle;
+        }
 
         // Execute request asynchronously
-        client.newCall(request).enqueue(new Callback() {
+        scheduler.enqueue(trendingCall, Priority.SCREEN_LOAD, new Callback() {
             @Override
             public void onFailure(Call call, IOException e) {
                 Log.e(TAG, " Get trending restaurants failed", e);
@@ -496,74 +1134,189 @@ public class ApiClient {
                     errorMsg += "\n Tip: Check if server is running";
                 }
 
-                callback.onError(errorMsg);
+                fanOut.onError(errorMsg);
             }
 
             @Override
             public void onResponse(Call call, Response response) throws IOException {
-                String responseBody = response.body().string();
-                Log.d(TAG, " Trending restaurants response code: " + response.code());
-                Log.d(TAG, " Trending restaurants response body: " + responseBody);
+                if (abandoned(trendingCall, response)) {
+                    return;
+                }
+                if (AppLog.isDebugEnabled()) {
+                    AppLog.d(TAG, " Trending restaurants response code: {} from {}", response.code(), describeCacheSource(response));
+                    AppLog.d(TAG, "HTTP cache: {}", getHttpCacheStats());
+                }
 
                 try {
                     if (response.isSuccessful()) {
-                        SearchResponse searchResponse = gson.fromJson(responseBody, SearchResponse.class);
+                        SearchResponse searchResponse = parseBody(response, SearchResponse.class);
 
                         if (searchResponse != null && searchResponse.isValidResponse()) {
-                            Log.d(TAG, "Trending restaurants retrieved successfully: " + searchResponse.getCount() + " restaurants");
-                            callback.onSuccess(searchResponse);
+                            AppLog.d(TAG, "Trending restaurants retrieved successfully: {} restaurants", searchResponse.getCount());
+                            identityMap.internAll(searchResponse.getRestaurants());
+                            if (trendingSnapshot != null && searchResponse.getRestaurants() != null) {
+                                trendingSnapshot.save(searchResponse.getRestaurants());
+                            }
+                            fanOut.onSuccess(searchResponse);
                         } else {
                             Log.e(TAG, " Invalid trending restaurants response structure");
-                            callback.onError("Invalid response format");
+                            fanOut.onError("Invalid response format");
                         }
                     } else {
                         Log.e(TAG, " Trending restaurants request failed with code: " + response.code());
                         try {
-                            SearchResponse errorResponse = gson.fromJson(responseBody, SearchResponse.class);
+                            SearchResponse errorResponse = parseBody(response, SearchResponse.class);
                             if (errorResponse != null && errorResponse.getError() != null) {
-                                callback.onError(errorResponse.getError() + ": " + errorResponse.getMessage());
+                                fanOut.onError(errorResponse.getError() + ": " + errorResponse.getMessage());
                             } else {
-                                callback.onError("HTTP " + response.code() + ": " + response.message());
+                                fanOut.onError("HTTP " + response.code() + ": " + response.message());
                             }
                         } catch (Exception e) {
-                            callback.onError("HTTP " + response.code() + ": " + response.message());
+                            fanOut.onError("HTTP " + response.code() + ": " + response.message());
                         }
                     }
                 } catch (Exception e) {
                     Log.e(TAG, " Error parsing trending restaurants response", e);
-                    callback.onError("Error parsing response: " + e.getMessage());
+                    fanOut.onError("Error parsing response: " + e.getMessage());
+                }
+            }
+        });
+        return handle;
+    }
+
+    /**
+     * Get a restaurant's full record (description, phone, hours) for the detail screen
+     * Served from memory when it was loaded recently, in which case the callback runs before this returns.
+     * @param id restaurant id from a list row
+     * @param callback Callback to handle the response
+     * @return handle that cancels the request
+     */
+    public RequestHandle getRestaurantDetails(String id, RestaurantCallback callback) {
+        if (id == null || id.trim().isEmpty()) {
+            callback.onError("Restaurant id is required");
+            return RequestHandle.COMPLETED;
+        }
+
+        Restaurant cached = detailCache.get(id);
+        if (cached != null) {
+            AppLog.d(TAG, "Restaurant {} details from memory", id);
+            callback.onSuccess(cached);
+            return RequestHandle.COMPLETED;
+        }
+
+        String url = HttpUrl.parse(baseUrl + RESTAURANTS_ENDPOINT).newBuilder()
+                .addPathSegment(id)
+                .build()
+                .toString();
+        AppLog.d(TAG, "Getting restaurant details: {}", url);
+
+        Request request = new Request.Builder()
+                .url(url)
+                .get()
+                .build();
+
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Call detailCall = client.newCall(request);
+        scheduler.enqueue(detailCall, Priority.SCREEN_LOAD, new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                if (cancelled.get()) return;
+                Log.e(TAG, " Get restaurant details failed", e);
+                callback.onError("Network error: " + e.getMessage());
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) throws IOException {
+                if (cancelled.get()) {
+                    response.close();
+                    return;
+                }
+                AppLog.d(TAG, " Restaurant details response code: {} from {}", response.code(), describeCacheSource(response));
+
+                try {
+                    RestaurantDetailResponse detailResponse = parseBody(response, RestaurantDetailResponse.class);
+                    if (response.isSuccessful() && detailResponse != null && detailResponse.isValidResponse()
+                            && detailResponse.isSuccess()) {
+                        Restaurant restaurant = detailResponse.getRestaurant();
+                        if (restaurant.getId() == null) {
+                            restaurant.setId(id);
+                        }
+                        restaurant = identityMap.intern(restaurant);
+                        detailCache.put(id, restaurant);
+                        if (restaurantStore != null) {
+                            restaurantStore.saveRestaurant(restaurant);
+                        }
+                        if (!cancelled.get()) callback.onSuccess(restaurant);
+                    } else if (detailResponse != null && detailResponse.getError() != null) {
+                        if (!cancelled.get()) callback.onError(detailResponse.getError() + ": " + detailResponse.getMessage());
+                    } else {
+                        if (!cancelled.get()) callback.onError("HTTP " + response.code() + ": " + response.message());
+                    }
+                } catch (Exception e) {
+                    Log.e(TAG, " Error parsing restaurant details response", e);
+                    if (!cancelled.get()) callback.onError("Error parsing response: " + e.getMessage());
                 }
             }
         });
+        return new CallHandle(detailCall, cancelled);
+    }
+
+    /**
+     * Get the first page of the user's favorite restaurants
+     * @see #getFavorites(String, FavoritesListCallback)
+     */
+    public RequestHandle getFavorites(FavoritesListCallback callback) {
+        return getFavorites(null, callback);
     }
 
     /**
      * Get user's favorite restaurants from the backend API
+     * @param cursor next_cursor of the previous page, or null for the first page
      * @param callback Callback to handle the response
+     * @return handle that cancels the request
      */
-    public void getFavorites(FavoritesListCallback callback) {
-        Log.d(TAG, "️ Getting user's favorite restaurants");
-        Log.d(TAG, "Using URL: " + baseUrl + FAVORITES_ENDPOINT);
+    public RequestHandle getFavorites(String cursor, FavoritesListCallback callback) {
+        AppLog.d(TAG, "️ Getting user's favorite restaurants, cursor={}", cursor);
+        AppLog.d(TAG, "Using URL: {}{}", baseUrl, FAVORITES_ENDPOINT);
 
         // Check authentication
         if (!isAuthenticated()) {
             callback.onError("Authentication required. Please log in first.");
-            return;
+            return RequestHandle.COMPLETED;
         }
 
+        HttpUrl.Builder urlBuilder = HttpUrl.parse(baseUrl + FAVORITES_ENDPOINT).newBuilder();
+        addPageParameters(urlBuilder, cursor, getNetworkProfile().scalePageSize(favoritesPageSize));
+
         // Create request with authorization header
         Request.Builder requestBuilder = new Request.Builder()
-                .url(baseUrl + FAVORITES_ENDPOINT)
+                .url(urlBuilder.build())
                 .get();
 
-        if (accessToken != null) {
-            requestBuilder.addHeader("Authorization", "Bearer " + accessToken);
+        String token = tokenManager.getAccessToken();
+        if (token != null) {
+            requestBuilder.addHeader("Authorization", "Bearer " + token);
         }
 
         Request request = requestBuilder.build();
 
+        AtomicBoolean cancelled = new AtomicBoolean();
+        FavoritesListCallback guarded = guardFavorites(callback, cancelled);
+        RequestCoalescer.Flight<FavoritesListCallback> flight = favoritesFlights.join(flightKey(request), guarded);
+        RequestHandle handle = new FlightHandle<>(favoritesFlights, flight, guarded, cancelled);
+        if (!flight.isLeader(guarded)) {
+            AppLog.d(TAG, "Joined in-flight favorites request");
+            return handle;
+        }
+
+        FavoritesListCallback fanOut = favoritesFanOut(flight);
+        Call favoritesCall = client.newCall(request);
+        if (!favoritesFlights.attachCall(flight, favoritesCall)) {
+            return handle;
+        }
+
         // Execute request asynchronously
-        client.newCall(request).enqueue(new Callback() {
+        scheduler.enqueue(favoritesCall, cursor == null ? Priority.SCREEN_LOAD : Priority.PREFETCH, new Callback() {
             @Override
             public void onFailure(Call call, IOException e) {
                 Log.e(TAG, " Get favorites failed", e);
@@ -575,44 +1328,47 @@ public class ApiClient {
                     errorMsg += "\n Tip: Check if server is running";
                 }
 
-                callback.onError(errorMsg);
+                fanOut.onError(errorMsg);
             }
 
             @Override
             public void onResponse(Call call, Response response) throws IOException {
-                String responseBody = response.body().string();
-                Log.d(TAG, " Get favorites response code: " + response.code());
-                Log.d(TAG, " Get favorites response body: " + responseBody);
+                if (abandoned(favoritesCall, response)) {
+                    return;
+                }
+                AppLog.d(TAG, " Get favorites response code: {}", response.code());
 
                 try {
                     if (response.isSuccessful()) {
-                        FavoritesListResponse favoritesResponse = gson.fromJson(responseBody, FavoritesListResponse.class);
+                        FavoritesListResponse favoritesResponse = parseBody(response, FavoritesListResponse.class);
 
                         if (favoritesResponse != null && favoritesResponse.isValidResponse()) {
-                            Log.d(TAG, "Favorites retrieved successfully: " + favoritesResponse.getCount() + " favorites");
-                            callback.onSuccess(favoritesResponse);
+                            AppLog.d(TAG, "Favorites retrieved successfully: {} favorites", favoritesResponse.getCount());
+                            identityMap.internFavorites(favoritesResponse.getFavorites());
+                            fanOut.onSuccess(favoritesResponse);
                         } else {
                             Log.e(TAG, " Invalid favorites response structure");
-                            callback.onError("Invalid response format");
+                            fanOut.onError("Invalid response format");
                         }
                     } else {
                         Log.e(TAG, " Get favorites request failed with code: " + response.code());
                         try {
-                            FavoritesListResponse errorResponse = gson.fromJson(responseBody, FavoritesListResponse.class);
+                            FavoritesListResponse errorResponse = parseBody(response, FavoritesListResponse.class);
                             if (errorResponse != null && errorResponse.getError() != null) {
-                                callback.onError(errorResponse.getError() + ": " + errorResponse.getMessage());
+                                fanOut.onError(errorResponse.getError() + ": " + errorResponse.getMessage());
                             } else {
-                                callback.onError("HTTP " + response.code() + ": " + response.message());
+                                fanOut.onError("HTTP " + response.code() + ": " + response.message());
                             }
                         } catch (Exception e) {
-                            callback.onError("HTTP " + response.code() + ": " + response.message());
+                            fanOut.onError("HTTP " + response.code() + ": " + response.message());
                         }
                     }
                 } catch (Exception e) {
                     Log.e(TAG, " Error parsing favorites response", e);
-                    callback.onError("Error parsing response: " + e.getMessage());
+                    fanOut.onError("Error parsing response: " + e.getMessage());
                 }
             }
         });
+        return handle;
     }
 }
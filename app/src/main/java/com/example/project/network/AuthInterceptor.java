@@ -0,0 +1,82 @@
+package com.example.project.network;
+
+import android.util.Log;
+
+import com.example.project.utils.AppLog;
+
+import java.io.IOException;
+
+import okhttp3.Authenticator;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.Route;
+
+/**
+ * Keeps bearer tokens on authenticated requests valid
+ * As an interceptor it refreshes a token that is about to expire before the request is sent;
+ * as an authenticator it refreshes once on a 401 and replays the request with the new token.
+ * Only requests that already carry a bearer Authorization header are touched.
+ */
+public class AuthInterceptor implements Interceptor, Authenticator {
+    private static final String TAG = "AuthInterceptor";
+    private static final String HEADER = "Authorization";
+    private static final String BEARER = "Bearer ";
+
+    private final TokenManager tokenManager;
+
+    public AuthInterceptor(TokenManager tokenManager) {
+        this.tokenManager = tokenManager;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String token = bearerToken(request);
+        if (token == null) {
+            return chain.proceed(request);
+        }
+
+        String current = tokenManager.isExpiringSoon()
+                ? tokenManager.refreshBlocking(token)
+                : tokenManager.getAccessToken();
+
+        // Fall back to the original token if refreshing failed; the server decides
+        if (current != null && !current.equals(token)) {
+            request = request.newBuilder().header(HEADER, BEARER + current).build();
+        }
+        return chain.proceed(request);
+    }
+
+    @Override
+    public Request authenticate(Route route, Response response) {
+        String token = bearerToken(response.request());
+        if (token == null) {
+            return null;
+        }
+
+        // Only retry once; a second 401 means the new token was rejected too
+        if (response.priorResponse() != null) {
+            Log.w(TAG, "Request still unauthorized after token refresh");
+            return null;
+        }
+
+        String newToken = tokenManager.refreshBlocking(token);
+        if (newToken == null || newToken.equals(token)) {
+            return null;
+        }
+
+        AppLog.d(TAG, "Replaying {} after token refresh", response.request().url().encodedPath());
+        return response.request().newBuilder()
+                .header(HEADER, BEARER + newToken)
+                .build();
+    }
+
+    private static String bearerToken(Request request) {
+        String header = request.header(HEADER);
+        if (header == null || !header.startsWith(BEARER)) {
+            return null;
+        }
+        return header.substring(BEARER.length());
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.project.network;
+
+import com.example.project.models.Restaurant;
+import com.example.project.models.SearchResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.MediaType;
+
+/**
+ * Compact CBOR encoding of restaurant payloads (application/cbor)
+ * Maps the same models as ModelTypeAdapters, but keys fields by small integers instead of
+ * their JSON names and keys opening hours by day index (0 = monday ... 6 = sunday).
+ * Strings that repeat across a page (cuisine types, common opening hours) may be sent once in
+ * a string table and referenced by index; the table must come before the restaurants.
+ * Text keys with the JSON field names are accepted as well, and unknown keys are skipped.
+ * The app only decodes this format; the encoder lives with the tests' stand-in server.
+ */
+public final class CborModelCodec {
+
+    public static final String MEDIA_TYPE = "application/cbor";
+
+    // SearchResponse keys
+    static final int SEARCH_SUCCESS = 0;
+    static final int SEARCH_RESTAURANTS = 1;
+    static final int SEARCH_COUNT = 2;
+    static final int SEARCH_ERROR = 3;
+    static final int SEARCH_MESSAGE = 4;
+    static final int SEARCH_NEXT_CURSOR = 5;
+    static final int SEARCH_STRINGS = 6;
+    static final String[] SEARCH_FIELDS = {
+            "success", "restaurants", "count", "error", "message", "next_cursor", "strings"};
+
+    // Restaurant keys
+    static final int RESTAURANT_NAME = 0;
+    static final int RESTAURANT_CUISINE_TYPE = 1;
+    static final int RESTAURANT_RATING = 2;
+    static final int RESTAURANT_ADDRESS = 3;
+    static final int RESTAURANT_PHONE = 4;
+    static final int RESTAURANT_DESCRIPTION = 5;
+    static final int RESTAURANT_HOURS = 6;
+    static final int RESTAURANT_LATITUDE = 7;
+    static final int RESTAURANT_LONGITUDE = 8;
+    static final int RESTAURANT_ID = 9;
+    static final String[] RESTAURANT_FIELDS = {
+            "name", "cuisine_type", "rating", "address", "phone", "description", "hours", "latitude", "longitude", "id"};
+
+    static final String[] DAYS = {
+            "monday", "tuesday", "wednesday", "thursday", "friday", "saturday", "sunday"};
+
+    private CborModelCodec() {}
+
+    /**
+     * True if a response Content-Type is this codec's format
+     */
+    public static boolean isCbor(MediaType contentType) {
+        return contentType != null && "application".equals(contentType.type())
+                && ("cbor".equals(contentType.subtype()) || contentType.subtype().endsWith("+cbor"));
+    }
+
+    public static SearchResponse readSearchResponse(InputStream in) throws IOException {
+        CborReader reader = new CborReader(in);
+        if (reader.skipNull()) {
+            return null;
+        }
+
+        SearchResponse response = new SearchResponse();
+        List<String> strings = Collections.emptyList();
+        long size = reader.readMapHeader();
+        for (long i = 0; size < 0 ? !reader.isBreak() : i < size; i++) {
+            int key = readKey(reader, SEARCH_FIELDS);
+            if (reader.skipNull()) {
+                continue;
+            }
+            switch (key) {
+                case SEARCH_SUCCESS: response.setSuccess(reader.readBoolean()); break;
+                case SEARCH_RESTAURANTS: response.setRestaurants(readRestaurants(reader, strings)); break;
+                case SEARCH_COUNT: response.setCount(reader.readInt()); break;
+                case SEARCH_ERROR: response.setError(reader.readString()); break;
+                case SEARCH_MESSAGE: response.setMessage(reader.readString()); break;
+                case SEARCH_NEXT_CURSOR: response.setNextCursor(reader.readString()); break;
+                case SEARCH_STRINGS: strings = readStringTable(reader); break;
+                default: reader.skipValue();
+            }
+        }
+        if (size < 0) {
+            reader.readBreak();
+        }
+        return response;
+    }
+
+    private static List<Restaurant> readRestaurants(CborReader reader, List<String> strings) throws IOException {
+        long size = reader.readArrayHeader();
+        List<Restaurant> restaurants = new ArrayList<>(size > 0 ? (int) Math.min(size, 1024) : 10);
+        for (long i = 0; size < 0 ? !reader.isBreak() : i < size; i++) {
+            restaurants.add(reader.skipNull() ? null : readRestaurant(reader, strings));
+        }
+        if (size < 0) {
+            reader.readBreak();
+        }
+        return restaurants;
+    }
+
+    private static Restaurant readRestaurant(CborReader reader, List<String> strings) throws IOException {
+        Restaurant restaurant = new Restaurant();
+        long size = reader.readMapHeader();
+        for (long i = 0; size < 0 ? !reader.isBreak() : i < size; i++) {
+            int key = readKey(reader, RESTAURANT_FIELDS);
+            if (reader.skipNull()) {
+                continue;
+            }
+            switch (key) {
+                case RESTAURANT_NAME: restaurant.setName(reader.readString()); break;
+                case RESTAURANT_CUISINE_TYPE: restaurant.setCuisineType(readSharedString(reader, strings)); break;
+                case RESTAURANT_RATING: restaurant.setRating(reader.readDouble()); break;
+                case RESTAURANT_ADDRESS: restaurant.setAddress(reader.readString()); break;
+                case RESTAURANT_PHONE: restaurant.setPhone(reader.readString()); break;
+                case RESTAURANT_DESCRIPTION: restaurant.setDescription(reader.readString()); break;
+                case RESTAURANT_HOURS: restaurant.setHours(readHours(reader, strings)); break;
+                case RESTAURANT_LATITUDE: restaurant.setLatitude(reader.readDouble()); break;
+                case RESTAURANT_LONGITUDE: restaurant.setLongitude(reader.readDouble()); break;
+                case RESTAURANT_ID: restaurant.setId(reader.readString()); break;
+                default: reader.skipValue();
+            }
+        }
+        if (size < 0) {
+            reader.readBreak();
+        }
+        return restaurant;
+    }
+
+    private static Map<String, String> readHours(CborReader reader, List<String> strings) throws IOException {
+        Map<String, String> hours = new LinkedHashMap<>();
+        long size = reader.readMapHeader();
+        for (long i = 0; size < 0 ? !reader.isBreak() : i < size; i++) {
+            String day;
+            if (reader.peekType() == CborReader.TYPE_TEXT) {
+                day = reader.readString();
+            } else {
+                int index = reader.readInt();
+                if (index < 0 || index >= DAYS.length) {
+                    throw new IOException("Invalid day index " + index);
+                }
+                day = DAYS[index];
+            }
+            hours.put(day, reader.skipNull() ? null : readSharedString(reader, strings));
+        }
+        if (size < 0) {
+            reader.readBreak();
+        }
+        return hours;
+    }
+
+    private static List<String> readStringTable(CborReader reader) throws IOException {
+        long size = reader.readArrayHeader();
+        List<String> strings = new ArrayList<>(size > 0 ? (int) Math.min(size, 1024) : 10);
+        for (long i = 0; size < 0 ? !reader.isBreak() : i < size; i++) {
+            strings.add(reader.readString());
+        }
+        if (size < 0) {
+            reader.readBreak();
+        }
+        return strings;
+    }
+
+    /**
+     * A string value, or an integer reference into the string table
+     */
+    private static String readSharedString(CborReader reader, List<String> strings) throws IOException {
+        if (reader.peekType() == CborReader.TYPE_TEXT) {
+            return reader.readString();
+        }
+        long index = reader.readLong();
+        if (index < 0 || index >= strings.size()) {
+            throw new IOException("String reference " + index + " outside table of " + strings.size());
+        }
+        return strings.get((int) index);
+    }
+
+    /**
+     * Integer key as is, or a text key mapped through the JSON field names; -1 if unknown
+     */
+    private static int readKey(CborReader reader, String[] names) throws IOException {
+        int type = reader.peekType();
+        if (type == CborReader.TYPE_UNSIGNED) {
+            return reader.readInt();
+        } else if (type == CborReader.TYPE_TEXT) {
+            String name = reader.readString();
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) return i;
+            }
+            return -1;
+        }
+        reader.skipValue();
+        return -1;
+    }
+}
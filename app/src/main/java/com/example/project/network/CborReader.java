@@ -0,0 +1,273 @@
+package com.example.project.network;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal streaming CBOR (RFC 8949) decoder for the API's binary payloads
+ * Supports the data model the models need: integers, text strings, floats of every width,
+ * booleans, null, arrays and maps (definite or indefinite length). Tags are skipped.
+ */
+public class CborReader {
+
+    public static final int TYPE_UNSIGNED = 0;
+    public static final int TYPE_NEGATIVE = 1;
+    public static final int TYPE_BYTES = 2;
+    public static final int TYPE_TEXT = 3;
+    public static final int TYPE_ARRAY = 4;
+    public static final int TYPE_MAP = 5;
+    public static final int TYPE_TAG = 6;
+    public static final int TYPE_SIMPLE = 7;
+
+    private static final int BREAK = 0xff;
+    private static final int FALSE = 0xf4;
+    private static final int TRUE = 0xf5;
+    private static final int NULL = 0xf6;
+    private static final int UNDEFINED = 0xf7;
+
+    private final InputStream in;
+    private int peeked = -1;
+
+    public CborReader(InputStream in) {
+        this.in = in instanceof BufferedInputStream ? in : new BufferedInputStream(in);
+    }
+
+    /**
+     * Major type of the next item, after skipping any tags
+     */
+    public int peekType() throws IOException {
+        int initial = peekByte();
+        while (initial >>> 5 == TYPE_TAG) {
+            peeked = -1;
+            readArgument(initial);
+            initial = peekByte();
+        }
+        return initial >>> 5;
+    }
+
+    public boolean isNull() throws IOException {
+        peekType();
+        int initial = peekByte();
+        return initial == NULL || initial == UNDEFINED;
+    }
+
+    /**
+     * True if the next item ends an indefinite-length array or map
+     */
+    public boolean isBreak() throws IOException {
+        return peekByte() == BREAK;
+    }
+
+    /**
+     * Consume a null if one is next
+     * @return true if a null was consumed
+     */
+    public boolean skipNull() throws IOException {
+        if (isNull()) {
+            peeked = -1;
+            return true;
+        }
+        return false;
+    }
+
+    public void readBreak() throws IOException {
+        if (nextByte() != BREAK) {
+            throw new IOException("Expected CBOR break");
+        }
+    }
+
+    /**
+     * @return the number of entries, or -1 for an indefinite-length map ended by a break
+     */
+    public long readMapHeader() throws IOException {
+        return readContainerHeader(TYPE_MAP);
+    }
+
+    /**
+     * @return the number of elements, or -1 for an indefinite-length array ended by a break
+     */
+    public long readArrayHeader() throws IOException {
+        return readContainerHeader(TYPE_ARRAY);
+    }
+
+    public String readString() throws IOException {
+        expect(TYPE_TEXT);
+        int initial = nextByte();
+        if ((initial & 0x1f) == 31) {
+            // Indefinite length: concatenated definite chunks
+            StringBuilder builder = new StringBuilder();
+            while (!isBreak()) {
+                builder.append(readString());
+            }
+            readBreak();
+            return builder.toString();
+        }
+        long length = readArgument(initial);
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("CBOR string too long");
+        }
+        return new String(readFully((int) length), StandardCharsets.UTF_8);
+    }
+
+    public long readLong() throws IOException {
+        int type = peekType();
+        if (type != TYPE_UNSIGNED && type != TYPE_NEGATIVE) {
+            throw new IOException("Expected CBOR integer but was major type " + type);
+        }
+        long value = readArgument(nextByte());
+        return type == TYPE_NEGATIVE ? -1 - value : value;
+    }
+
+    public int readInt() throws IOException {
+        return (int) readLong();
+    }
+
+    /**
+     * Read a float of any width, or an integer as a double
+     */
+    public double readDouble() throws IOException {
+        int type = peekType();
+        if (type == TYPE_UNSIGNED || type == TYPE_NEGATIVE) {
+            return readLong();
+        }
+        int initial = nextByte();
+        switch (initial) {
+            case 0xf9: return halfToDouble((int) readBigEndian(2));
+            case 0xfa: return Float.intBitsToFloat((int) readBigEndian(4));
+            case 0xfb: return Double.longBitsToDouble(readBigEndian(8));
+            default: throw new IOException("Expected CBOR float but was 0x" + Integer.toHexString(initial));
+        }
+    }
+
+    public boolean readBoolean() throws IOException {
+        peekType();
+        int initial = nextByte();
+        if (initial == TRUE) return true;
+        if (initial == FALSE) return false;
+        throw new IOException("Expected CBOR boolean but was 0x" + Integer.toHexString(initial));
+    }
+
+    /**
+     * Skip the next item, including everything nested in it
+     */
+    public void skipValue() throws IOException {
+        int type = peekType();
+        int initial = nextByte();
+        boolean indefinite = (initial & 0x1f) == 31;
+        switch (type) {
+            case TYPE_UNSIGNED:
+            case TYPE_NEGATIVE:
+                readArgument(initial);
+                break;
+            case TYPE_BYTES:
+            case TYPE_TEXT:
+                if (indefinite) {
+                    while (!isBreak()) skipValue();
+                    readBreak();
+                } else {
+                    skip(readArgument(initial));
+                }
+                break;
+            case TYPE_ARRAY:
+            case TYPE_MAP:
+                long items = indefinite ? -1 : readArgument(initial) * (type == TYPE_MAP ? 2 : 1);
+                if (items < 0) {
+                    while (!isBreak()) skipValue();
+                    readBreak();
+                } else {
+                    for (long i = 0; i < items; i++) skipValue();
+                }
+                break;
+            default:
+                int info = initial & 0x1f;
+                if (info == 24) skip(1);
+                else if (info == 25) skip(2);
+                else if (info == 26) skip(4);
+                else if (info == 27) skip(8);
+        }
+    }
+
+    private long readContainerHeader(int type) throws IOException {
+        expect(type);
+        int initial = nextByte();
+        if ((initial & 0x1f) == 31) {
+            return -1;
+        }
+        return readArgument(initial);
+    }
+
+    private void expect(int type) throws IOException {
+        int actual = peekType();
+        if (actual != type) {
+            throw new IOException("Expected CBOR major type " + type + " but was " + actual);
+        }
+    }
+
+    private long readArgument(int initial) throws IOException {
+        int info = initial & 0x1f;
+        if (info < 24) return info;
+        switch (info) {
+            case 24: return readBigEndian(1);
+            case 25: return readBigEndian(2);
+            case 26: return readBigEndian(4);
+            case 27: return readBigEndian(8);
+            default: throw new IOException("Unsupported CBOR additional info " + info);
+        }
+    }
+
+    private long readBigEndian(int bytes) throws IOException {
+        long value = 0;
+        for (int i = 0; i < bytes; i++) {
+            value = (value << 8) | nextByte();
+        }
+        return value;
+    }
+
+    private byte[] readFully(int length) throws IOException {
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        if (peeked >= 0 && length > 0) {
+            bytes[offset++] = (byte) peeked;
+            peeked = -1;
+        }
+        while (offset < length) {
+            int read = in.read(bytes, offset, length - offset);
+            if (read < 0) throw new EOFException("Truncated CBOR input");
+            offset += read;
+        }
+        return bytes;
+    }
+
+    private void skip(long length) throws IOException {
+        for (long i = 0; i < length; i++) {
+            nextByte();
+        }
+    }
+
+    private int peekByte() throws IOException {
+        if (peeked < 0) {
+            peeked = in.read();
+            if (peeked < 0) throw new EOFException("Truncated CBOR input");
+        }
+        return peeked;
+    }
+
+    private int nextByte() throws IOException {
+        int value = peekByte();
+        peeked = -1;
+        return value;
+    }
+
+    private static double halfToDouble(int half) {
+        int exponent = (half >> 10) & 0x1f;
+        int mantissa = half & 0x3ff;
+        double value;
+        if (exponent == 0) value = mantissa * Math.pow(2, -24);
+        else if (exponent != 31) value = (mantissa + 1024) * Math.pow(2, exponent - 25);
+        else value = mantissa == 0 ? Double.POSITIVE_INFINITY : Double.NaN;
+        return (half & 0x8000) != 0 ? -value : value;
+    }
+}
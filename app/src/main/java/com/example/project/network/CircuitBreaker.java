@@ -0,0 +1,133 @@
+package com.example.project.network;
+
+/**
+ * Classic three-state circuit breaker for one endpoint
+ * After failureThreshold consecutive failures the circuit opens and requests fail fast for
+ * openDurationMs. Then a single probe request is let through (half-open): success closes the
+ * circuit, failure opens it again.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /**
+     * Notified, on the thread that caused it, whenever a circuit changes state
+     */
+    public interface Listener {
+        void onStateChanged(String name, State from, State to);
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final Listener listener;
+
+    // Guarded by this
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openedAt = 0;
+    private boolean probeInFlight = false;
+    private long rejectedCount = 0;
+    private long openCount = 0;
+
+    public CircuitBreaker(String name, int failureThreshold, long openDurationMs, Listener listener) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationMs = openDurationMs;
+        this.listener = listener;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Whether a request may be sent now; every allowed request must be followed by
+     * recordSuccess, recordFailure or recordIgnored
+     */
+    public boolean allowRequest() {
+        State from;
+        synchronized (this) {
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.OPEN && System.currentTimeMillis() - openedAt < openDurationMs) {
+                rejectedCount++;
+                return false;
+            }
+            if (state == State.HALF_OPEN && probeInFlight) {
+                rejectedCount++;
+                return false;
+            }
+            from = state;
+            state = State.HALF_OPEN;
+            probeInFlight = true;
+        }
+        notifyChanged(from, State.HALF_OPEN);
+        return true;
+    }
+
+    public void recordSuccess() {
+        State from;
+        synchronized (this) {
+            consecutiveFailures = 0;
+            probeInFlight = false;
+            if (state == State.CLOSED) {
+                return;
+            }
+            from = state;
+            state = State.CLOSED;
+        }
+        notifyChanged(from, State.CLOSED);
+    }
+
+    public void recordFailure() {
+        State from;
+        synchronized (this) {
+            consecutiveFailures++;
+            probeInFlight = false;
+            if (state == State.OPEN
+                    || (state == State.CLOSED && consecutiveFailures < failureThreshold)) {
+                return;
+            }
+            from = state;
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            openCount++;
+        }
+        notifyChanged(from, State.OPEN);
+    }
+
+    /**
+     * The allowed request ended without telling anything about the backend, e.g. it was cancelled
+     */
+    public synchronized void recordIgnored() {
+        probeInFlight = false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Milliseconds until an open circuit lets a probe through, 0 if it is not open
+     */
+    public synchronized long getRemainingOpenMs() {
+        if (state != State.OPEN) return 0;
+        return Math.max(0, openDurationMs - (System.currentTimeMillis() - openedAt));
+    }
+
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public synchronized long getOpenCount() {
+        return openCount;
+    }
+
+    private void notifyChanged(State from, State to) {
+        if (listener != null) {
+            listener.onStateChanged(name, from, to);
+        }
+    }
+}
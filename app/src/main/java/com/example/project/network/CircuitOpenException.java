@@ -0,0 +1,19 @@
+package com.example.project.network;
+
+import java.io.IOException;
+
+/**
+ * Thrown instead of sending a request while the endpoint's circuit breaker is open
+ */
+public class CircuitOpenException extends IOException {
+    private final long retryAfterMs;
+
+    public CircuitOpenException(String endpoint, long retryAfterMs) {
+        super("Service temporarily unavailable (" + endpoint + "), retry in " + (retryAfterMs + 999) / 1000 + "s");
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    public long getRetryAfterMs() {
+        return retryAfterMs;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.project.network;
+
+/**
+ * Snapshot of the shared connection pool and dispatcher
+ */
+public class ConnectionPoolStats {
+    private final int connectionCount;
+    private final int idleConnectionCount;
+    private final long connectionsAcquired;
+    private final long connectionsOpened;
+    private final int runningCalls;
+    private final int queuedCalls;
+
+    public ConnectionPoolStats(int connectionCount, int idleConnectionCount,
+                               long connectionsAcquired, long connectionsOpened,
+                               int runningCalls, int queuedCalls) {
+        this.connectionCount = connectionCount;
+        this.idleConnectionCount = idleConnectionCount;
+        this.connectionsAcquired = connectionsAcquired;
+        this.connectionsOpened = connectionsOpened;
+        this.runningCalls = runningCalls;
+        this.queuedCalls = queuedCalls;
+    }
+
+    public int getConnectionCount() { return connectionCount; }
+    public int getIdleConnectionCount() { return idleConnectionCount; }
+    public long getConnectionsAcquired() { return connectionsAcquired; }
+    public long getConnectionsOpened() { return connectionsOpened; }
+    public int getRunningCalls() { return runningCalls; }
+    public int getQueuedCalls() { return queuedCalls; }
+
+    /**
+     * Number of requests that ran on an already open connection
+     */
+    public long getConnectionsReused() {
+        return Math.max(0, connectionsAcquired - connectionsOpened);
+    }
+
+    /**
+     * Fraction of requests that did not pay for a new TCP/TLS handshake
+     */
+    public double getReuseRatio() {
+        if (connectionsAcquired == 0) return 0.0;
+        return (double) getConnectionsReused() / connectionsAcquired;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolStats{" +
+                "connections=" + connectionCount +
+                ", idle=" + idleConnectionCount +
+                ", acquired=" + connectionsAcquired +
+                ", opened=" + connectionsOpened +
+                ", reuse=" + String.format("%.0f%%", getReuseRatio() * 100) +
+                ", running=" + runningCalls +
+                ", queued=" + queuedCalls +
+                '}';
+    }
+}
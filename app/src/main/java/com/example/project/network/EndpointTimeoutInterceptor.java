@@ -0,0 +1,35 @@
+package com.example.project.network;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * Application interceptor that overrides the client's timeouts for specific endpoint paths
+ */
+public class EndpointTimeoutInterceptor implements Interceptor {
+
+    private final Map<String, Integer> timeoutByPath = new HashMap<>();
+
+    public EndpointTimeoutInterceptor setTimeout(String path, int timeoutSeconds) {
+        timeoutByPath.put(path, timeoutSeconds);
+        return this;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Integer timeout = timeoutByPath.get(chain.request().url().encodedPath());
+        if (timeout == null) {
+            return chain.proceed(chain.request());
+        }
+
+        return chain.withConnectTimeout(timeout, TimeUnit.SECONDS)
+                .withReadTimeout(timeout, TimeUnit.SECONDS)
+                .withWriteTimeout(timeout, TimeUnit.SECONDS)
+                .proceed(chain.request());
+    }
+}
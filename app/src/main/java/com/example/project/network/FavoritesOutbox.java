@@ -0,0 +1,436 @@
+package com.example.project.network;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.AtomicFile;
+import android.util.Log;
+
+import com.example.project.models.PendingFavorite;
+import com.example.project.models.Restaurant;
+import com.example.project.utils.AppLog;
+import com.example.project.utils.ConfigManager;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durable queue of favorites the user added but the backend has not confirmed yet
+ * Additions are journaled to disk (atomically replaced, so a crash never leaves a torn file)
+ * and show up in the UI as soon as they are written. All disk IO runs on the outbox's own
+ * thread, never the caller's. The queue is flushed in batches when the app has a
+ * network and a logged-in user, with exponential backoff between failed attempts. Each entry
+ * carries an idempotency key so a retried upload never creates a duplicate favorite.
+ */
+public class FavoritesOutbox {
+    private static final String TAG = "FavoritesOutbox";
+    private static final String JOURNAL_FILE = "favorites_outbox.json";
+
+    /**
+     * Result of add(); called on the outbox's background thread
+     */
+    public interface AddCallback {
+        /**
+         * @param queued false if the restaurant was already waiting to be synced
+         */
+        void onSuccess(boolean queued);
+        void onError(String error);
+    }
+
+    /**
+     * Notified on the main thread when the queue changes
+     */
+    public interface Listener {
+        void onPendingFavoritesChanged(List<PendingFavorite> pending);
+        void onFavoriteRejected(Restaurant restaurant, String error);
+    }
+
+    private static FavoritesOutbox instance;
+
+    private final ApiClient apiClient;
+    private final AtomicFile journal;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Random jitter = new Random();
+
+    private final int batchSize;
+    private final long flushDelayMs;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+
+    // Guarded by this; empty until the journal has been read on the executor
+    private final List<PendingFavorite> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private int consecutiveFailures = 0;
+
+    // Only touched on the executor thread
+    private boolean batchEndpointSupported = true;
+
+    private FavoritesOutbox(Context context) {
+        ConfigManager configManager = ConfigManager.getInstance(context);
+        this.apiClient = ApiClient.getInstance(context);
+        this.journal = new AtomicFile(new File(context.getFilesDir(), JOURNAL_FILE));
+        this.batchSize = configManager.getFavoritesOutboxBatchSize();
+        this.flushDelayMs = configManager.getFavoritesOutboxFlushDelayMs();
+        this.backoffBaseMs = TimeUnit.SECONDS.toMillis(configManager.getFavoritesOutboxBackoffBaseSeconds());
+        this.backoffMaxMs = TimeUnit.SECONDS.toMillis(configManager.getFavoritesOutboxBackoffMaxSeconds());
+
+        // Runs before any add() or clear(), which are queued on the same single thread
+        executor.execute(this::restoreJournal);
+
+        // Retry as soon as a network or a login becomes available
+        ConnectivityManager connectivityManager =
+                (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (connectivityManager != null) {
+            connectivityManager.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+                @Override
+                public void onAvailable(Network network) {
+                    AppLog.d(TAG, "Network available, flushing pending favorites");
+                    flushNow();
+                }
+            });
+        }
+        apiClient.addOnAuthenticatedListener(this::flushNow);
+        // Queued favorites belong to the account that added them
+        apiClient.addOnSignedOutListener(this::clear);
+    }
+
+    public static synchronized FavoritesOutbox getInstance(Context context) {
+        if (instance == null) {
+            instance = new FavoritesOutbox(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Queue a restaurant to be favorited
+     * The callback succeeds only once the entry is in the journal on disk, so a favorite the UI
+     * confirms survives a crash; if the journal cannot be written the entry is dropped again.
+     */
+    public void add(Restaurant restaurant, AddCallback callback) {
+        executor.execute(() -> {
+            PendingFavorite entry;
+            boolean backingOff;
+            synchronized (this) {
+                for (PendingFavorite existing : pending) {
+                    if (isSameRestaurant(existing.getRestaurant(), restaurant)) {
+                        callback.onSuccess(false);
+                        return;
+                    }
+                }
+                entry = new PendingFavorite(UUID.randomUUID().toString(), restaurant, System.currentTimeMillis());
+                pending.add(entry);
+                backingOff = consecutiveFailures > 0;
+            }
+
+            // Journal first, then flush after a short delay so rapid taps share one batch
+            if (!writeJournal()) {
+                synchronized (this) {
+                    pending.remove(entry);
+                }
+                callback.onError("Could not save the favorite on this device");
+                return;
+            }
+            AppLog.d(TAG, "Queued favorite: {}", restaurant.getName());
+            notifyChanged();
+            if (!backingOff) {
+                scheduleFlush(flushDelayMs);
+            }
+            callback.onSuccess(true);
+        });
+    }
+
+    public synchronized List<PendingFavorite> getPending() {
+        return new ArrayList<>(pending);
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Drop every queued favorite, e.g. when the user logs out
+     * Runs on the executor, after the journal has been restored and any add() queued before it.
+     */
+    public void clear() {
+        executor.execute(() -> {
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                pending.clear();
+                consecutiveFailures = 0;
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                    scheduledFlush = null;
+                }
+            }
+            writeJournal();
+            notifyChanged();
+            AppLog.d(TAG, "Favorites outbox cleared");
+        });
+    }
+
+    /**
+     * Flush immediately and reset the backoff, e.g. when connectivity returns
+     */
+    public void flushNow() {
+        synchronized (this) {
+            consecutiveFailures = 0;
+        }
+        scheduleFlush(0);
+    }
+
+    private synchronized void scheduleFlush(long delayMs) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        if (scheduledFlush != null && !scheduledFlush.isDone()) {
+            if (scheduledFlush.getDelay(TimeUnit.MILLISECONDS) <= delayMs) {
+                return;
+            }
+            scheduledFlush.cancel(false);
+        }
+        scheduledFlush = executor.schedule(this::flush, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs on the executor thread
+     */
+    private void flush() {
+        synchronized (this) {
+            scheduledFlush = null;
+        }
+        if (!apiClient.isAuthenticated()) {
+            // Nothing to do until the user logs in; addOnAuthenticatedListener triggers the next flush
+            AppLog.d(TAG, "Not authenticated, keeping {} favorites queued", getPending().size());
+            return;
+        }
+
+        List<PendingFavorite> batch;
+        synchronized (this) {
+            batch = new ArrayList<>(pending.subList(0, Math.min(batchSize, pending.size())));
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // Entries the server answered for (accepted or permanently rejected) leave the queue
+        List<PendingFavorite> sent = new ArrayList<>();
+        List<PendingFavorite> rejected = new ArrayList<>();
+        boolean retry;
+        String failure = "server unavailable";
+        try {
+            retry = batchEndpointSupported
+                    ? sendBatch(batch, sent, rejected)
+                    : sendIndividually(batch, sent, rejected);
+        } catch (IOException e) {
+            retry = true;
+            failure = e.getMessage();
+        }
+
+        complete(sent, rejected);
+        if (retry) {
+            batch.removeAll(sent);
+            onFlushFailed(batch, failure);
+        } else {
+            scheduleFlush(0);
+        }
+    }
+
+    /**
+     * Send the whole batch in one request
+     * @return true if the batch should be retried later
+     */
+    private boolean sendBatch(List<PendingFavorite> batch, List<PendingFavorite> sent,
+                              List<PendingFavorite> rejected) throws IOException {
+        int code = apiClient.postFavoritesBatch(batch);
+        if (code == 404 || code == 405) {
+            // Backend without a batch endpoint: remember that and fall back to one request per item
+            Log.w(TAG, "Batch endpoint not available (HTTP " + code + "), sending favorites one by one");
+            batchEndpointSupported = false;
+            return sendIndividually(batch, sent, rejected);
+        }
+        if (isRetryable(code)) {
+            return true;
+        }
+        sent.addAll(batch);
+        if (!isSuccessful(code)) {
+            rejected.addAll(batch);
+        }
+        return false;
+    }
+
+    /**
+     * Fallback for backends without the batch endpoint; stops at the first retryable failure
+     */
+    private boolean sendIndividually(List<PendingFavorite> batch, List<PendingFavorite> sent,
+                                     List<PendingFavorite> rejected) throws IOException {
+        for (PendingFavorite entry : batch) {
+            int code = apiClient.postFavorite(entry);
+            if (isRetryable(code)) {
+                return true;
+            }
+            sent.add(entry);
+            if (!isSuccessful(code)) {
+                rejected.add(entry);
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSuccessful(int code) {
+        // 409 means the favorite already exists, e.g. an earlier attempt did go through
+        return (code >= 200 && code < 300) || code == 409;
+    }
+
+    private static boolean isRetryable(int code) {
+        return code == 401 || code == 408 || code == 429 || code >= 500;
+    }
+
+    private void complete(List<PendingFavorite> sent, List<PendingFavorite> rejected) {
+        if (sent.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            pending.removeAll(sent);
+            consecutiveFailures = 0;
+        }
+        writeJournal();
+        AppLog.d(TAG, "Synced {} favorites ({} rejected)", sent.size() - rejected.size(), rejected.size());
+
+        for (PendingFavorite entry : rejected) {
+            Log.w(TAG, "Favorite rejected by server: " + entry);
+            mainHandler.post(() -> {
+                for (Listener listener : listeners) {
+                    listener.onFavoriteRejected(entry.getRestaurant(), "Rejected by server");
+                }
+            });
+        }
+        notifyChanged();
+    }
+
+    private void onFlushFailed(List<PendingFavorite> batch, String reason) {
+        long delay;
+        synchronized (this) {
+            for (PendingFavorite entry : batch) {
+                entry.setAttempts(entry.getAttempts() + 1);
+            }
+            consecutiveFailures++;
+            delay = backoffDelayMs(consecutiveFailures);
+        }
+        writeJournal();
+        Log.w(TAG, "Favorites flush failed (" + reason + "), retrying in " + delay + "ms");
+        scheduleFlush(delay);
+    }
+
+    /**
+     * Exponential backoff with jitter, capped at the configured maximum
+     */
+    private long backoffDelayMs(int failures) {
+        long delay = backoffBaseMs << Math.min(failures - 1, 16);
+        delay = Math.min(delay, backoffMaxMs);
+        return delay / 2 + (long) (jitter.nextDouble() * delay / 2);
+    }
+
+    private void notifyChanged() {
+        List<PendingFavorite> snapshot = getPending();
+        mainHandler.post(() -> {
+            for (Listener listener : listeners) {
+                listener.onPendingFavoritesChanged(snapshot);
+            }
+        });
+    }
+
+    private static boolean isSameRestaurant(Restaurant a, Restaurant b) {
+        if (a == null || b == null) {
+            return false;
+        }
+        if (a.getId() != null && b.getId() != null) {
+            return a.getId().equals(b.getId());
+        }
+        // Restaurants built locally may have no id yet
+        return Objects.equals(a.getName(), b.getName())
+                && Objects.equals(a.getAddress(), b.getAddress());
+    }
+
+    /**
+     * Runs on the executor thread
+     */
+    private void restoreJournal() {
+        List<PendingFavorite> restored = readJournal();
+        if (restored.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            pending.addAll(0, restored);
+        }
+        Log.d(TAG, "Restored " + restored.size() + " pending favorites from journal");
+        notifyChanged();
+        scheduleFlush(flushDelayMs);
+    }
+
+    private List<PendingFavorite> readJournal() {
+        try (JsonReader reader = new JsonReader(
+                new InputStreamReader(journal.openRead(), StandardCharsets.UTF_8))) {
+            List<PendingFavorite> entries = ModelTypeAdapters.readList(reader, ModelTypeAdapters.PENDING_FAVORITE);
+            return entries != null ? entries : new ArrayList<>();
+        } catch (FileNotFoundException e) {
+            return new ArrayList<>();
+        } catch (IOException | RuntimeException e) {
+            Log.e(TAG, "Discarding unreadable favorites journal", e);
+            journal.delete();
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Runs on the executor thread
+     * @return false if the journal could not be written
+     */
+    private boolean writeJournal() {
+        synchronized (journal) {
+            // Snapshot under the file lock so the last write to finish always has the latest queue
+            List<PendingFavorite> snapshot = getPending();
+            FileOutputStream out = null;
+            try {
+                out = journal.startWrite();
+                JsonWriter writer = new JsonWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                ModelTypeAdapters.writeList(writer, snapshot, ModelTypeAdapters.PENDING_FAVORITE);
+                writer.flush();
+                journal.finishWrite(out);
+                return true;
+            } catch (IOException e) {
+                Log.e(TAG, "Failed to write favorites journal", e);
+                if (out != null) {
+                    journal.failWrite(out);
+                }
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.example.project.network;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.example.project.models.FavoriteItem;
+import com.example.project.models.FavoritesDeltaResponse;
+import com.example.project.network.RequestScheduler.Priority;
+import com.example.project.utils.AppLog;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Local copy of the user's favorites, kept up to date with delta syncs
+ * The list and the server version it corresponds to are persisted in the RestaurantStore, so the
+ * favorites screen can render immediately and then only download what changed since that version.
+ * Concurrent sync requests share one round of network calls. The store is wiped when the user logs out.
+ */
+public class FavoritesStore {
+    private static final String TAG = "FavoritesStore";
+
+    /**
+     * Receives the synced favorites on the main thread
+     */
+    public interface SyncCallback {
+        void onSuccess(List<FavoriteItem> favorites);
+        void onError(String error);
+    }
+
+    private static FavoritesStore instance;
+
+    private final ApiClient apiClient;
+    private final RestaurantStore restaurantStore;
+    private final RestaurantIdentityMap identityMap;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Guarded by this
+    private final Map<String, FavoriteItem> favorites = new LinkedHashMap<>();
+    private final List<SyncCallback> waiting = new ArrayList<>();
+    private String version;
+    private int generation = 0;
+    private boolean deltaSyncSupported = true;
+
+    private FavoritesStore(Context context) {
+        this.apiClient = ApiClient.getInstance(context);
+        this.restaurantStore = RestaurantStore.getInstance(context);
+        this.identityMap = RestaurantIdentityMap.getInstance(context);
+        // Opening the database is disk IO; everything else on the executor runs after it
+        executor.execute(this::readSnapshot);
+        apiClient.addOnSignedOutListener(this::clear);
+    }
+
+    public static synchronized FavoritesStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new FavoritesStore(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * False once the backend answered that it has no sync endpoint; callers should then
+     * fall back to downloading the list
+     */
+    public synchronized boolean isDeltaSyncSupported() {
+        return deltaSyncSupported;
+    }
+
+    /**
+     * Deliver the favorites stored by an earlier sync, once they are read from disk
+     * The callback is not called if nothing has been stored yet, e.g. on first launch.
+     * @return handle that stops the callback from being called
+     */
+    public RequestHandle loadSnapshot(SyncCallback callback) {
+        GuardedCallback guarded = new GuardedCallback(callback);
+        executor.execute(() -> {
+            List<FavoriteItem> snapshot;
+            synchronized (this) {
+                if (version == null) return;
+                snapshot = new ArrayList<>(favorites.values());
+            }
+            mainHandler.post(() -> guarded.onSuccess(snapshot));
+        });
+        return guarded;
+    }
+
+    /**
+     * Bring the store up to date with the server; joins a sync that is already running
+     * @return handle that stops the callback from being called; the sync itself still finishes
+     */
+    public RequestHandle sync(SyncCallback callback) {
+        GuardedCallback guarded = new GuardedCallback(callback) {
+            @Override
+            public void cancel() {
+                super.cancel();
+                synchronized (FavoritesStore.this) {
+                    waiting.remove(this);
+                }
+            }
+        };
+
+        synchronized (this) {
+            waiting.add(guarded);
+            if (waiting.size() > 1) {
+                AppLog.d(TAG, "Joined in-flight favorites sync");
+                return guarded;
+            }
+        }
+        executor.execute(this::runSync);
+        return guarded;
+    }
+
+    /**
+     * Drop all local favorites, e.g. when the user logs out
+     */
+    public void clear() {
+        synchronized (this) {
+            favorites.clear();
+            version = null;
+            generation++;
+        }
+        executor.execute(restaurantStore::clearFavorites);
+        AppLog.d(TAG, "Favorites store cleared");
+    }
+
+    /**
+     * Runs on the executor thread
+     */
+    private void runSync() {
+        String error = null;
+        try {
+            if (!pullChanges()) {
+                error = "Favorites sync is not supported by the server";
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Favorites sync failed: " + e.getMessage());
+            error = "Network error: " + e.getMessage();
+        }
+
+        List<SyncCallback> callbacks;
+        List<FavoriteItem> snapshot;
+        synchronized (this) {
+            callbacks = new ArrayList<>(waiting);
+            waiting.clear();
+            snapshot = new ArrayList<>(favorites.values());
+        }
+
+        String failure = error;
+        mainHandler.post(() -> {
+            for (SyncCallback callback : callbacks) {
+                if (failure == null) {
+                    callback.onSuccess(snapshot);
+                } else {
+                    callback.onError(failure);
+                }
+            }
+        });
+    }
+
+    /**
+     * Download every page of changes since the stored version and apply them
+     * @return false if the backend does not support delta sync
+     */
+    private boolean pullChanges() throws IOException {
+        String since;
+        int syncGeneration;
+        synchronized (this) {
+            since = version;
+            syncGeneration = generation;
+        }
+
+        // Collect all pages first so a failure halfway never leaves a partly applied diff
+        List<FavoritesDeltaResponse> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            // Syncs are started by the favorites screen, which shows nothing new until all pages arrive
+            FavoritesDeltaResponse page = apiClient.fetchFavoritesDelta(since, cursor, Priority.SCREEN_LOAD);
+            if (page == null) {
+                Log.w(TAG, "Backend has no favorites sync endpoint, falling back to full downloads");
+                synchronized (this) {
+                    deltaSyncSupported = false;
+                }
+                return false;
+            }
+            pages.add(page);
+            cursor = page.hasMorePages() ? page.getNextCursor() : null;
+        } while (cursor != null);
+
+        synchronized (this) {
+            if (syncGeneration != generation) {
+                // Logged out while syncing; these changes belong to the previous user
+                return true;
+            }
+            applyPages(pages);
+        }
+        writeSnapshot();
+        return true;
+    }
+
+    private void applyPages(List<FavoritesDeltaResponse> pages) {
+        boolean reset = pages.get(0).isReset() || version == null;
+        int added = 0;
+        int removed = 0;
+
+        Map<String, FavoriteItem> merged = new LinkedHashMap<>();
+        for (FavoritesDeltaResponse page : pages) {
+            if (page.getRemoved() != null) {
+                for (String id : page.getRemoved()) {
+                    if (favorites.remove(id) != null) removed++;
+                    merged.remove(id);
+                }
+            }
+            if (page.getAdded() != null) {
+                identityMap.internFavorites(page.getAdded());
+                for (FavoriteItem item : page.getAdded()) {
+                    if (item != null && item.getId() != null) {
+                        merged.put(item.getId(), item);
+                        added++;
+                    }
+                }
+            }
+        }
+
+        // Newly added favorites go on top, like the server's newest-first list
+        if (!reset) {
+            for (Map.Entry<String, FavoriteItem> entry : favorites.entrySet()) {
+                merged.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+        favorites.clear();
+        favorites.putAll(merged);
+        version = pages.get(pages.size() - 1).getVersion();
+
+        AppLog.d(TAG, "Applied favorites {}: +{} -{}", reset ? "snapshot" : "delta", added, removed);
+    }
+
+    /**
+     * Runs on the executor thread
+     */
+    private void readSnapshot() {
+        RestaurantStore.FavoritesSnapshot snapshot = restaurantStore.readFavorites();
+        if (snapshot.getVersion() == null) {
+            // First launch or logged out
+            return;
+        }
+        identityMap.internFavorites(snapshot.getFavorites());
+        synchronized (this) {
+            if (generation > 0) {
+                // Cleared before the read finished
+                return;
+            }
+            for (FavoriteItem item : snapshot.getFavorites()) {
+                favorites.put(item.getId(), item);
+            }
+            version = snapshot.getVersion();
+        }
+        AppLog.d(TAG, "Restored {} favorites at version {}", snapshot.getFavorites().size(), snapshot.getVersion());
+    }
+
+    /**
+     * Runs on the executor thread
+     */
+    private void writeSnapshot() {
+        String snapshotVersion;
+        List<FavoriteItem> snapshot;
+        synchronized (this) {
+            snapshotVersion = version;
+            snapshot = new ArrayList<>(favorites.values());
+        }
+        if (snapshotVersion == null) {
+            // Cleared in the meantime
+            restaurantStore.clearFavorites();
+            return;
+        }
+        restaurantStore.writeFavorites(snapshotVersion, snapshot);
+    }
+
+    /**
+     * Forwards to the caller's callback until cancelled
+     */
+    private static class GuardedCallback implements SyncCallback, RequestHandle {
+        private final SyncCallback callback;
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+
+        GuardedCallback(SyncCallback callback) {
+            this.callback = callback;
+        }
+
+        @Override
+        public void onSuccess(List<FavoriteItem> favorites) {
+            if (!cancelled.get()) callback.onSuccess(favorites);
+        }
+
+        @Override
+        public void onError(String error) {
+            if (!cancelled.get()) callback.onError(error);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled.set(true);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled.get();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.project.network;
+
+/**
+ * Snapshot of hedged request activity
+ */
+public class HedgeStats {
+    private final long requestCount;
+    private final long hedgeCount;
+    private final long hedgeWinCount;
+    private final long hedgeDelayMs;
+
+    public HedgeStats(long requestCount, long hedgeCount, long hedgeWinCount, long hedgeDelayMs) {
+        this.requestCount = requestCount;
+        this.hedgeCount = hedgeCount;
+        this.hedgeWinCount = hedgeWinCount;
+        this.hedgeDelayMs = hedgeDelayMs;
+    }
+
+    public long getRequestCount() { return requestCount; }
+    public long getHedgeCount() { return hedgeCount; }
+    public long getHedgeWinCount() { return hedgeWinCount; }
+    public long getHedgeDelayMs() { return hedgeDelayMs; }
+
+    /**
+     * Extra load caused by hedging, as a fraction of requests
+     */
+    public double getHedgeRatio() {
+        if (requestCount == 0) return 0.0;
+        return (double) hedgeCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return "HedgeStats{" +
+                "requests=" + requestCount +
+                ", hedges=" + hedgeCount +
+                ", wins=" + hedgeWinCount +
+                ", ratio=" + String.format("%.1f%%", getHedgeRatio() * 100) +
+                ", delay=" + hedgeDelayMs + "ms" +
+                '}';
+    }
+}
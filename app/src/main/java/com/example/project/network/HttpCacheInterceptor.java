@@ -0,0 +1,69 @@
+package com.example.project.network;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Network interceptor that applies per-endpoint freshness policies to GET responses
+ * and counts conditional revalidations (If-None-Match / If-Modified-Since -> 304)
+ */
+public class HttpCacheInterceptor implements Interceptor {
+
+    private final Map<String, Integer> maxAgeByPath = new HashMap<>();
+    private final AtomicLong revalidationCount = new AtomicLong();
+    private final AtomicLong notModifiedCount = new AtomicLong();
+
+    /**
+     * Cache GET responses for the given endpoint path for maxAgeSeconds,
+     * unless the server sends its own caching headers
+     */
+    public HttpCacheInterceptor addPolicy(String path, int maxAgeSeconds) {
+        maxAgeByPath.put(path, maxAgeSeconds);
+        return this;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+
+        // OkHttp adds these headers itself when a stale cached entry has an ETag or Last-Modified
+        boolean conditional = request.header("If-None-Match") != null
+                || request.header("If-Modified-Since") != null;
+        if (conditional) {
+            revalidationCount.incrementAndGet();
+        }
+
+        Response response = chain.proceed(request);
+
+        if (conditional && response.code() == 304) {
+            notModifiedCount.incrementAndGet();
+        }
+
+        Integer maxAge = maxAgeByPath.get(request.url().encodedPath());
+        if (maxAge == null || !"GET".equals(request.method())) {
+            return response;
+        }
+        if (!response.isSuccessful() && response.code() != 304) {
+            return response;
+        }
+
+        // Respect explicit caching directives from the server
+        if (response.header("Cache-Control") != null || response.header("Expires") != null) {
+            return response;
+        }
+
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .header("Cache-Control", "public, max-age=" + maxAge)
+                .build();
+    }
+
+    public long getRevalidationCount() { return revalidationCount.get(); }
+    public long getNotModifiedCount() { return notModifiedCount.get(); }
+}
@@ -0,0 +1,50 @@
+package com.example.project.network;
+
+/**
+ * Snapshot of HTTP disk cache effectiveness
+ * hits are served from disk without touching the network, revalidations
+ * cost a round trip but no body (304), misses download the full payload
+ */
+public class HttpCacheStats {
+    private final long requestCount;
+    private final long hitCount;
+    private final long revalidatedCount;
+    private final long missCount;
+    private final long conditionalRequestCount;
+
+    public HttpCacheStats(int cacheRequestCount, int cacheHitCount, int cacheNetworkCount,
+                          long conditionalRequestCount, long notModifiedCount) {
+        // OkHttp counts a 304 both as a hit and as a network request
+        this.requestCount = cacheRequestCount;
+        this.hitCount = Math.max(0, cacheHitCount - notModifiedCount);
+        this.revalidatedCount = notModifiedCount;
+        this.missCount = Math.max(0, cacheNetworkCount - notModifiedCount);
+        this.conditionalRequestCount = conditionalRequestCount;
+    }
+
+    public long getRequestCount() { return requestCount; }
+    public long getHitCount() { return hitCount; }
+    public long getRevalidatedCount() { return revalidatedCount; }
+    public long getMissCount() { return missCount; }
+    public long getConditionalRequestCount() { return conditionalRequestCount; }
+
+    /**
+     * Fraction of requests answered without downloading a response body
+     */
+    public double getSavedRatio() {
+        if (requestCount == 0) return 0.0;
+        return (double) (hitCount + revalidatedCount) / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return "HttpCacheStats{" +
+                "requests=" + requestCount +
+                ", hits=" + hitCount +
+                ", revalidated=" + revalidatedCount +
+                ", misses=" + missCount +
+                ", conditional=" + conditionalRequestCount +
+                ", saved=" + String.format("%.0f%%", getSavedRatio() * 100) +
+                '}';
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.project.network;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.project.utils.AppLog;
+import com.example.project.utils.ConfigManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Cache;
+import okhttp3.CacheControl;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.EventListener;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * App-scoped HTTP stack shared by ApiClient and DirectionsService
+ * All clients derived from it share one connection pool, dispatcher and disk cache,
+ * so connections opened by one screen are reused by the next
+ */
+public class HttpClientProvider {
+    private static final String TAG = "HttpClientProvider";
+    private static final String HTTP_CACHE_DIR = "http_cache";
+    private static final int MAX_REQUESTS = 64;
+    private static final int PREWARM_TIMEOUT_SECONDS = 5;
+
+    private static HttpClientProvider instance;
+
+    private final OkHttpClient baseClient;
+    private final ConnectionPool connectionPool;
+    private final Dispatcher dispatcher;
+    private final Cache httpCache;
+    private final ConfigManager configManager;
+    private final NetworkQualityMonitor networkQualityMonitor;
+    private final Set<String> warmedOrigins = new HashSet<>();
+    private OkHttpClient prewarmClient;
+
+    // Connection reuse metrics
+    private final AtomicLong connectionsAcquired = new AtomicLong();
+    private final AtomicLong connectionsOpened = new AtomicLong();
+
+    private HttpClientProvider(Context context) {
+        this.configManager = ConfigManager.getInstance(context);
+        this.networkQualityMonitor = new NetworkQualityMonitor(context);
+
+        this.connectionPool = new ConnectionPool(configManager.getHttpMaxIdleConnections(),
+                configManager.getHttpKeepAliveSeconds(), TimeUnit.SECONDS);
+
+        this.dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(configManager.getHttpMaxRequestsPerHost());
+
+        // Bounded disk cache; stale entries are revalidated with If-None-Match / If-Modified-Since
+        this.httpCache = new Cache(new File(context.getCacheDir(), HTTP_CACHE_DIR),
+                configManager.getHttpCacheSizeMb() * 1024L * 1024L);
+
+        this.baseClient = new OkHttpClient.Builder()
+                .connectionPool(connectionPool)
+                .dispatcher(dispatcher)
+                .cache(httpCache)
+                .eventListenerFactory(call -> new ConnectionMetricsListener())
+                .build();
+
+        Log.d(TAG, "Shared HTTP stack ready: maxIdle=" + configManager.getHttpMaxIdleConnections()
+                + ", maxPerHost=" + configManager.getHttpMaxRequestsPerHost());
+    }
+
+    public static synchronized HttpClientProvider getInstance(Context context) {
+        if (instance == null) {
+            instance = new HttpClientProvider(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Builder for a client that shares the pool, dispatcher and cache,
+     * preconfigured with the given timeout
+     */
+    public OkHttpClient.Builder newClientBuilder(int timeoutSeconds) {
+        return baseClient.newBuilder()
+                .connectTimeout(timeoutSeconds, TimeUnit.SECONDS)
+                .readTimeout(timeoutSeconds, TimeUnit.SECONDS)
+                .writeTimeout(timeoutSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Open a connection to the given URL's host in the background so the first real request
+     * skips DNS, TCP and TLS setup. Each origin is only warmed once per process.
+     */
+    public void prewarm(String url) {
+        if (!configManager.isConnectionPrewarmEnabled()) {
+            return;
+        }
+
+        HttpUrl httpUrl = HttpUrl.parse(url);
+        if (httpUrl == null) {
+            Log.w(TAG, "Cannot pre-warm invalid URL: " + url);
+            return;
+        }
+
+        String origin = httpUrl.scheme() + "://" + httpUrl.host() + ":" + httpUrl.port();
+        synchronized (this) {
+            if (!warmedOrigins.add(origin)) {
+                return;
+            }
+            if (prewarmClient == null) {
+                // Short timeout and no redirects: we only care about the connection, not the answer
+                prewarmClient = newClientBuilder(PREWARM_TIMEOUT_SECONDS)
+                        .followRedirects(false)
+                        .build();
+            }
+        }
+
+        Request request = new Request.Builder()
+                .url(httpUrl)
+                .head()
+                .cacheControl(CacheControl.FORCE_NETWORK)
+                .build();
+
+        long startedAt = System.currentTimeMillis();
+        prewarmClient.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                Log.w(TAG, "Pre-warm failed for " + origin + ": " + e.getMessage());
+                synchronized (HttpClientProvider.this) {
+                    warmedOrigins.remove(origin);
+                }
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                // Any status code means the connection is open and back in the pool
+                response.close();
+                AppLog.d(TAG, "🔥 Pre-warmed {} in {}ms", origin, System.currentTimeMillis() - startedAt);
+            }
+        });
+    }
+
+    /**
+     * Quality estimate of the current link, fed by every call made through this stack
+     */
+    public NetworkQualityMonitor getNetworkQualityMonitor() {
+        return networkQualityMonitor;
+    }
+
+    public Cache getCache() {
+        return httpCache;
+    }
+
+    /**
+     * Snapshot of connection pool usage and reuse
+     */
+    public ConnectionPoolStats getConnectionPoolStats() {
+        return new ConnectionPoolStats(connectionPool.connectionCount(), connectionPool.idleConnectionCount(),
+                connectionsAcquired.get(), connectionsOpened.get(),
+                dispatcher.runningCallsCount(), dispatcher.queuedCallsCount());
+    }
+
+    /**
+     * Counts new connections versus connections taken from the pool, and times each
+     * network exchange for the link quality estimate; one instance per call
+     */
+    private class ConnectionMetricsListener extends EventListener {
+        private long requestHeadersAt;
+        private long responseBodyAt;
+
+        @Override
+        public void requestHeadersStart(Call call) {
+            requestHeadersAt = System.nanoTime();
+        }
+
+        @Override
+        public void responseHeadersStart(Call call) {
+            if (requestHeadersAt != 0) {
+                networkQualityMonitor.recordRoundTrip(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - requestHeadersAt));
+            }
+        }
+
+        @Override
+        public void responseBodyStart(Call call) {
+            responseBodyAt = System.nanoTime();
+        }
+
+        @Override
+        public void responseBodyEnd(Call call, long byteCount) {
+            if (responseBodyAt != 0) {
+                networkQualityMonitor.recordTransfer(byteCount, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - responseBodyAt));
+            }
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            connectionsOpened.incrementAndGet();
+        }
+
+        @Override
+        public void connectionAcquired(Call call, Connection connection) {
+            connectionsAcquired.incrementAndGet();
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            if (AppLog.isDebugEnabled()) {
+                AppLog.d(TAG, "Call failed, pool: {}", getConnectionPoolStats());
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.project.network;
+
+import java.util.Arrays;
+
+/**
+ * Sliding window of recent request latencies for percentile estimates
+ */
+public class LatencyTracker {
+    private final long[] samples;
+    private int next = 0;
+    private int count = 0;
+
+    public LatencyTracker(int windowSize) {
+        this.samples = new long[Math.max(1, windowSize)];
+    }
+
+    public synchronized void record(long latencyMs) {
+        samples[next] = latencyMs;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    public synchronized int getSampleCount() {
+        return count;
+    }
+
+    /**
+     * Latency below which the given fraction of recent samples fall, or -1 without samples
+     * @param percentile e.g. 0.95 for p95
+     */
+    public synchronized long getPercentile(double percentile) {
+        if (count == 0) return -1;
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))];
+    }
+}
@@ -0,0 +1,786 @@
+package com.example.project.network;
+
+import com.example.project.models.AuthRequest;
+import com.example.project.models.AuthResponse;
+import com.example.project.models.FavoriteItem;
+import com.example.project.models.FavoriteRequest;
+import com.example.project.models.FavoriteResponse;
+import com.example.project.models.FavoritesDeltaResponse;
+import com.example.project.models.FavoritesListResponse;
+import com.example.project.models.PendingFavorite;
+import com.example.project.models.Restaurant;
+import com.example.project.models.RestaurantDetailResponse;
+import com.example.project.models.SearchResponse;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hand-written streaming Gson adapters for every API model
+ * They read and write fields by their JSON names through the models' setters and getters,
+ * so parsing needs no reflection and keeps working when R8 renames or strips fields.
+ * Unknown fields are skipped; JSON nulls leave primitive fields at their defaults, as Gson does.
+ */
+public final class ModelTypeAdapters {
+
+    private ModelTypeAdapters() {}
+
+    public static final TypeAdapter<Restaurant> RESTAURANT = new RestaurantAdapter();
+    public static final TypeAdapter<SearchResponse> SEARCH_RESPONSE = new SearchResponseAdapter();
+    public static final TypeAdapter<RestaurantDetailResponse> RESTAURANT_DETAIL_RESPONSE = new RestaurantDetailResponseAdapter();
+    public static final TypeAdapter<FavoriteItem> FAVORITE_ITEM = new FavoriteItemAdapter();
+    public static final TypeAdapter<FavoritesListResponse> FAVORITES_LIST_RESPONSE = new FavoritesListResponseAdapter();
+    public static final TypeAdapter<FavoritesDeltaResponse> FAVORITES_DELTA_RESPONSE = new FavoritesDeltaResponseAdapter();
+    public static final TypeAdapter<FavoriteResponse> FAVORITE_RESPONSE = new FavoriteResponseAdapter();
+    public static final TypeAdapter<FavoriteRequest> FAVORITE_REQUEST = new FavoriteRequestAdapter();
+    public static final TypeAdapter<PendingFavorite> PENDING_FAVORITE = new PendingFavoriteAdapter();
+    public static final TypeAdapter<AuthResponse> AUTH_RESPONSE = new AuthResponseAdapter();
+    public static final TypeAdapter<AuthResponse.User> AUTH_USER = new AuthUserAdapter();
+    public static final TypeAdapter<AuthResponse.Session> AUTH_SESSION = new AuthSessionAdapter();
+    public static final TypeAdapter<AuthResponse.UserMetadata> AUTH_USER_METADATA = new UserMetadataAdapter();
+    public static final TypeAdapter<AuthResponse.AppMetadata> AUTH_APP_METADATA = new AppMetadataAdapter();
+    public static final TypeAdapter<AuthRequest.GoogleAuthRequest> GOOGLE_AUTH_REQUEST = new GoogleAuthRequestAdapter();
+    public static final TypeAdapter<AuthRequest.GuestAuthRequest> GUEST_AUTH_REQUEST = new GuestAuthRequestAdapter();
+    public static final TypeAdapter<AuthRequest.RefreshTokenRequest> REFRESH_TOKEN_REQUEST = new RefreshTokenRequestAdapter();
+
+    /**
+     * Gson instance with every model adapter registered
+     */
+    public static Gson createGson() {
+        return register(new GsonBuilder()).create();
+    }
+
+    public static GsonBuilder register(GsonBuilder builder) {
+        return builder
+                .registerTypeAdapter(Restaurant.class, RESTAURANT)
+                .registerTypeAdapter(SearchResponse.class, SEARCH_RESPONSE)
+                .registerTypeAdapter(RestaurantDetailResponse.class, RESTAURANT_DETAIL_RESPONSE)
+                .registerTypeAdapter(FavoriteItem.class, FAVORITE_ITEM)
+                .registerTypeAdapter(FavoritesListResponse.class, FAVORITES_LIST_RESPONSE)
+                .registerTypeAdapter(FavoritesDeltaResponse.class, FAVORITES_DELTA_RESPONSE)
+                .registerTypeAdapter(FavoriteResponse.class, FAVORITE_RESPONSE)
+                .registerTypeAdapter(FavoriteRequest.class, FAVORITE_REQUEST)
+                .registerTypeAdapter(PendingFavorite.class, PENDING_FAVORITE)
+                .registerTypeAdapter(AuthResponse.class, AUTH_RESPONSE)
+                .registerTypeAdapter(AuthResponse.User.class, AUTH_USER)
+                .registerTypeAdapter(AuthResponse.Session.class, AUTH_SESSION)
+                .registerTypeAdapter(AuthResponse.UserMetadata.class, AUTH_USER_METADATA)
+                .registerTypeAdapter(AuthResponse.AppMetadata.class, AUTH_APP_METADATA)
+                .registerTypeAdapter(AuthRequest.GoogleAuthRequest.class, GOOGLE_AUTH_REQUEST)
+                .registerTypeAdapter(AuthRequest.GuestAuthRequest.class, GUEST_AUTH_REQUEST)
+                .registerTypeAdapter(AuthRequest.RefreshTokenRequest.class, REFRESH_TOKEN_REQUEST);
+    }
+
+    // ---- Responses ----
+
+    static final class RestaurantAdapter extends TypeAdapter<Restaurant> {
+        @Override
+        public void write(JsonWriter out, Restaurant value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("id").value(value.getId());
+            out.name("name").value(value.getName());
+            out.name("cuisine_type").value(value.getCuisineType());
+            out.name("rating").value(value.getRating());
+            out.name("address").value(value.getAddress());
+            out.name("phone").value(value.getPhone());
+            out.name("description").value(value.getDescription());
+            out.name("hours");
+            writeStringMap(out, value.getHours());
+            out.name("latitude").value(value.getLatitude());
+            out.name("longitude").value(value.getLongitude());
+            out.endObject();
+        }
+
+        @Override
+        public Restaurant read(JsonReader in) throws IOException {
+            if (skipNull(in)) return null;
+            Restaurant restaurant = new Restaurant();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id": restaurant.setId(readString(in)); break;
+                    case "name": restaurant.setName(readString(in)); break;
+                    case "cuisine_type": restaurant.setCuisineType(readString(in)); break;
+                    case "rating": if (!skipNull(in)) restaurant.setRating(in.nextDouble()); break;
+                    case "address": restaurant.setAddress(readString(in)); break;
+                    case "phone": restaurant.setPhone(readString(in)); break;
+                    case "description": restaurant.setDescription(readString(in)); break;
+                    case "hours": restaurant.setHours(readStringMap(in)); break;
+                    case "latitude": restaurant.setLatitude(readDouble(in)); break;
+                    case "longitude": restaurant.setLongitude(readDouble(in)); break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return restaurant;
+        }
+    }
+
+    static final class SearchResponseAdapter extends TypeAdapter<SearchResponse> {
+        @Override
+        public void write(JsonWriter out, SearchResponse value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("success").value(value.isSuccess());
+            out.name("restaurants");
+            writeList(out, value.getRestaurants(), RESTAURANT);
+            out.name("count").value(value.getCount());
+            out.name("error").value(value.getError());
+            out.name("message").value(value.getMessage());
+            out.name("next_cursor").value(value.getNextCursor());
+            out.endObject();
+        }
+
+        @Override
+        public SearchResponse read(JsonReader in) throws IOException {
+            if (skipNull(in)) return null;
+            SearchResponse response = new SearchResponse();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "success": if (!skipNull(in)) response.setSuccess(readBoolean(in)); break;
+                    case "restaurants": response.setRestaurants(readList(in, RESTAURANT)); break;
+                    case "count": if (!skipNull(in)) response.setCount(in.nextInt()); break;
+                    case "error": response.setError(readString(in)); break;
+                    case "message": response.setMessage(readString(in)); break;
+                    case "next_cursor": response.setNextCursor(readString(in)); break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return response;
+        }
+    }
+
+    static final class RestaurantDetailResponseAdapter extends TypeAdapter<RestaurantDetailResponse> {
+        @Override
+        public void write(JsonWriter out, RestaurantDetailResponse value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("success").value(value.isSuccess());
+            out.name("restaurant");
+            RESTAURANT.write(out, value.getRestaurant());
+            out.name("error").value(value.getError());
+            out.name("message").value(value.getMessage());
+            out.endObject();
+        }
+
+        @Override
+        public RestaurantDetailResponse read(JsonReader in) throws IOException {
+            if (skipNull(in)) return null;
+            RestaurantDetailResponse response = new RestaurantDetailResponse();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "success": if (!skipNull(in)) response.setSuccess(readBoolean(in)); break;
+                    case "restaurant": response.setRestaurant(RESTAURANT.read(in)); break;
+                    case "error": response.setError(readString(in)); break;
+                    case "message": response.setMessage(readString(in)); break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return response;
+        }
+    }
+
+    static final class FavoriteItemAdapter extends TypeAdapter<FavoriteItem> {
+        @Override
+        public void write(JsonWriter out, FavoriteItem value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("id").value(value.getId());
+            out.name("restaurant");
+            RESTAURANT.write(out, value.getRestaurantData());
+            out.name("created_at").value(value.getCreatedAt());
+            out.endObject();
+        }
+
+        @Override
+        public FavoriteItem read(JsonReader in) throws IOException {
+            if (skipNull(in)) return null;
+            FavoriteItem item = new FavoriteItem();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id": item.setId(readString(in)); break;
+                    case "restaurant": item.setRestaurantData(RESTAURANT.read(in)); break;
+                    case "created_at": item.setCreatedAt(readString(in)); break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return item;
+        }
+    }
+
+    static final class FavoritesListResponseAdapter extends TypeAdapter<FavoritesListResponse> {
+        @Override
+        public void write(JsonWriter out, FavoritesListResponse value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("success").value(value.isSuccess());
+            out.name("favorites");
+            writeList(out, value.getFavorites(), FAVORITE_ITEM);
+            out.name("count").value(value.getCount());
+            out.name("error").value(value.getError());
+            out.name("message").value(value.getMessage());
+            out.name("next_cursor").value(value.getNextCursor());
+            out.endObject();
+        }
+
+        @Override
+        public FavoritesListResponse read(JsonReader in) throws IOException {
+            if (skipNull(in)) return null;
+            FavoritesListResponse response = new FavoritesListResponse();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "success": if (!skipNull(in)) response.setSuccess(readBoolean(in)); break;
+                    case "favorites": response.setFavorites(readList(in, FAVORITE_ITEM)); break;
+                    case "count": if (!skipNull(in)) response.setCount(in.nextInt()); break;
+                    case "error": response.setError(readString(in)); break;
+                    case "message": response.setMessage(readString(in)); break;
+                    case "next_cursor": response.setNextCursor(readString(in)); break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return response;
+        }
+    }
+
+    static final class FavoritesDeltaResponseAdapter extends TypeAdapter<FavoritesDeltaResponse> {
+        @Override
+        public void write(JsonWriter out, FavoritesDeltaResponse value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("success").value(value.isSuccess());
+            out.name("added");
+            writeList(out, value.getAdded(), FAVORITE_ITEM);
+            out.name("removed");
+            writeList(out, value.getRemoved(), STRING);
+            out.name("reset").value(value.isReset());
+            out.name("version").value(value.getVersion());
+            out.name("next_cursor").value(value.getNextCursor());
+            out.name("error").value(value.getError());
+            out.name("message").value(value.getMessage());
+            out.endObject();
+        }
+
+        @Override
+        public FavoritesDeltaResponse read(JsonReader in) throws IOException {
+            if (skipNull(in)) return null;
+            FavoritesDeltaResponse response = new FavoritesDeltaResponse();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "success": if (!skipNull(in)) response.setSuccess(readBoolean(in)); break;
+                    case "added": response.setAdded(readList(in, FAVORITE_ITEM)); break;
+                    case "removed": response.setRemoved(readList(in, STRING)); break;
+                    case "reset": if (!skipNull(in)) response.setReset(readBoolean(in)); break;
+                    case "version": response.setVersion(readString(in)); break;
+                    case "next_cursor": response.setNextCursor(readString(in)); break;
+                    case "error": response.setError(readString(in)); break;
+                    case "message": response.setMessage(readString(in)); break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return response;
+        }
+    }
+
+    static final class FavoriteResponseAdapter extends TypeAdapter<FavoriteResponse> {
+        @Override
+        public void write(JsonWriter out, FavoriteResponse value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("success").value(value.isSuccess());
+            out.name("message").value(value.getMessage());
+            out.name("favorite_id").value(value.getFavoriteId());
+            out.name("restaurant_id").value(value.getRestaurantId());
+            out.name("error").value(value.getError());
+            out.endObject();
+        }
+
+        @Override
+        public FavoriteResponse read(JsonReader in) throws IOException {
+            if (skipNull(in)) return null;
+            FavoriteResponse response = new FavoriteResponse();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "success": if (!skipNull(in)) response.setSuccess(readBoolean(in)); break;
+                    case "message": response.setMessage(readString(in)); break;
+                    case "favorite_id": response.setFavoriteId(readString(in)); break;
+                    case "restaurant_id": response.setRestaurantId(readString(in)); break;
+                    case "error": response.setError(readString(in)); break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return response;
+        }
+    }
+
+    static final class AuthResponseAdapter extends TypeAdapter<AuthResponse> {
+        @Override
+        public void write(JsonWriter out, AuthResponse value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("success").value(value.isSuccess());
+            out.name("message").value(value.getMessage());
+            out.name("user");
+            AUTH_USER.write(out, value.getUser());
+            out.name("accessToken").value(value.getAccessToken());
+            out.name("refreshToken").value(value.getRefreshToken());
+            out.name("error").value(value.getError());
+            out.name("session");
+            AUTH_SESSION.write(out, value.getSession());
+            out.endObject();
+        }
+
+        @Override
+        public AuthResponse read(JsonReader in) throws IOException {
+            if (skipNull(in)) return null;
+            AuthResponse response = new AuthResponse();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "success": if (!skipNull(in)) response.setSuccess(readBoolean(in)); break;
+                    case "message": response.setMessage(readString(in)); break;
+                    case "user": response.setUser(AUTH_USER.read(in)); break;
+                    case "accessToken": response.setAccessToken(readString(in)); break;
+                    case "refreshToken": response.setRefreshToken(readString(in)); break;
+                    case "error": response.setError(readString(in)); break;
+                    case "session": response.setSession(AUTH_SESSION.read(in)); break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return response;
+        }
+    }
+
+    /**
+     * Writes the resolved name/picture/type, so metadata-only users round-trip to the same values
+     */
+    static final class AuthUserAdapter extends TypeAdapter<AuthResponse.User> {
+        @Override
+        public void write(JsonWriter out, AuthResponse.User value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("id").value(value.getId());
+            out.name("email").value(value.getEmail());
+            out.name("name").value(value.getName());
+            out.name("picture").value(value.getPicture());
+            out.name("type").value(value.getType());
+            out.endObject();
+        }
+
+        @Override
+        public AuthResponse.User read(JsonReader in) throws IOException {
+            if (skipNull(in)) return null;
+            AuthResponse.User user = new AuthResponse.User();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id": user.setId(readString(in)); break;
+                    case "email": user.setEmail(readString(in)); break;
+                    case "name": user.setName(readString(in)); break;
+                    case "picture": user.setPicture(readString(in)); break;
+                    case "type": user.setType(readString(in)); break;
+                    case "user_metadata": user.setUserMetadata(AUTH_USER_METADATA.read(in)); break;
+                    case "app_metadata": user.setAppMetadata(AUTH_APP_METADATA.read(in)); break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return user;
+        }
+    }
+
+    static final class AuthSessionAdapter extends TypeAdapter<AuthResponse.Session> {
+        @Override
+        public void write(JsonWriter out, AuthResponse.Session value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("access_token").value(value.getAccessToken());
+            out.name("refresh_token").value(value.getRefreshToken());
+            out.name("token_type").value(value.getTokenType());
+            out.name("expires_in").value(value.getExpiresIn());
+            out.name("expires_at").value(value.getExpiresAt());
+            out.endObject();
+        }
+
+        @Override
+        public AuthResponse.Session read(JsonReader in) throws IOException {
+            if (skipNull(in)) return null;
+            AuthResponse.Session session = new AuthResponse.Session();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "access_token": session.setAccessToken(readString(in)); break;
+                    case "refresh_token": session.setRefreshToken(readString(in)); break;
+                    case "token_type": session.setTokenType(readString(in)); break;
+                    case "expires_in": if (!skipNull(in)) session.setExpiresIn(in.nextInt()); break;
+                    case "expires_at": if (!skipNull(in)) session.setExpiresAt(in.nextLong()); break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return session;
+        }
+    }
+
+    static final class UserMetadataAdapter extends TypeAdapter<AuthResponse.UserMetadata> {
+        @Override
+        public void write(JsonWriter out, AuthResponse.UserMetadata value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("full_name").value(value.getFull_name());
+            out.name("picture").value(value.getPicture());
+            out.name("avatar_url").value(value.getAvatar_url());
+            out.endObject();
+        }
+
+        @Override
+        public AuthResponse.UserMetadata read(JsonReader in) throws IOException {
+            if (skipNull(in)) return null;
+            AuthResponse.UserMetadata metadata = new AuthResponse.UserMetadata();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "full_name": metadata.setFull_name(readString(in)); break;
+                    case "picture": metadata.setPicture(readString(in)); break;
+                    case "avatar_url": metadata.setAvatar_url(readString(in)); break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return metadata;
+        }
+    }
+
+    static final class AppMetadataAdapter extends TypeAdapter<AuthResponse.AppMetadata> {
+        @Override
+        public void write(JsonWriter out, AuthResponse.AppMetadata value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("provider").value(value.getProvider());
+            out.endObject();
+        }
+
+        @Override
+        public AuthResponse.AppMetadata read(JsonReader in) throws IOException {
+            if (skipNull(in)) return null;
+            AuthResponse.AppMetadata metadata = new AuthResponse.AppMetadata();
+            in.beginObject();
+            while (in.hasNext()) {
+                if ("provider".equals(in.nextName())) {
+                    metadata.setProvider(readString(in));
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return metadata;
+        }
+    }
+
+    // ---- Requests ----
+
+    static final class FavoriteRequestAdapter extends TypeAdapter<FavoriteRequest> {
+        @Override
+        public void write(JsonWriter out, FavoriteRequest value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("restaurant_data");
+            RESTAURANT.write(out, value.getRestaurantData());
+            out.endObject();
+        }
+
+        @Override
+        public FavoriteRequest read(JsonReader in) throws IOException {
+            if (skipNull(in)) return null;
+            FavoriteRequest request = new FavoriteRequest();
+            in.beginObject();
+            while (in.hasNext()) {
+                if ("restaurant_data".equals(in.nextName())) {
+                    request.setRestaurantData(RESTAURANT.read(in));
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return request;
+        }
+    }
+
+    /**
+     * Used both for the on-device favorites journal and for batch uploads
+     */
+    static final class PendingFavoriteAdapter extends TypeAdapter<PendingFavorite> {
+        @Override
+        public void write(JsonWriter out, PendingFavorite value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("idempotency_key").value(value.getIdempotencyKey());
+            out.name("restaurant_data");
+            RESTAURANT.write(out, value.getRestaurant());
+            out.name("created_at").value(value.getCreatedAt());
+            out.name("attempts").value(value.getAttempts());
+            out.endObject();
+        }
+
+        @Override
+        public PendingFavorite read(JsonReader in) throws IOException {
+            if (skipNull(in)) return null;
+            PendingFavorite pending = new PendingFavorite();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "idempotency_key": pending.setIdempotencyKey(readString(in)); break;
+                    case "restaurant_data": pending.setRestaurant(RESTAURANT.read(in)); break;
+                    case "created_at": if (!skipNull(in)) pending.setCreatedAt(in.nextLong()); break;
+                    case "attempts": if (!skipNull(in)) pending.setAttempts(in.nextInt()); break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return pending;
+        }
+    }
+
+    static final class GoogleAuthRequestAdapter extends TypeAdapter<AuthRequest.GoogleAuthRequest> {
+        @Override
+        public void write(JsonWriter out, AuthRequest.GoogleAuthRequest value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("idToken").value(value.getIdToken());
+            out.endObject();
+        }
+
+        @Override
+        public AuthRequest.GoogleAuthRequest read(JsonReader in) throws IOException {
+            if (skipNull(in)) return null;
+            return new AuthRequest.GoogleAuthRequest(readSingleString(in, "idToken"));
+        }
+    }
+
+    static final class GuestAuthRequestAdapter extends TypeAdapter<AuthRequest.GuestAuthRequest> {
+        @Override
+        public void write(JsonWriter out, AuthRequest.GuestAuthRequest value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("deviceId").value(value.getDeviceId());
+            out.endObject();
+        }
+
+        @Override
+        public AuthRequest.GuestAuthRequest read(JsonReader in) throws IOException {
+            if (skipNull(in)) return null;
+            return new AuthRequest.GuestAuthRequest(readSingleString(in, "deviceId"));
+        }
+    }
+
+    static final class RefreshTokenRequestAdapter extends TypeAdapter<AuthRequest.RefreshTokenRequest> {
+        @Override
+        public void write(JsonWriter out, AuthRequest.RefreshTokenRequest value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("refreshToken").value(value.getRefreshToken());
+            out.endObject();
+        }
+
+        @Override
+        public AuthRequest.RefreshTokenRequest read(JsonReader in) throws IOException {
+            if (skipNull(in)) return null;
+            return new AuthRequest.RefreshTokenRequest(readSingleString(in, "refreshToken"));
+        }
+    }
+
+    // ---- Helpers ----
+
+    /**
+     * Consume a JSON null if one is next
+     * @return true if a null was consumed
+     */
+    private static boolean skipNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return true;
+        }
+        return false;
+    }
+
+    private static String readString(JsonReader in) throws IOException {
+        if (skipNull(in)) return null;
+        // Like Gson's String adapter, accept numbers and booleans as text
+        if (in.peek() == JsonToken.BOOLEAN) return Boolean.toString(in.nextBoolean());
+        return in.nextString();
+    }
+
+    /**
+     * Element adapter for lists of strings, e.g. removed ids
+     */
+    private static final TypeAdapter<String> STRING = new TypeAdapter<String>() {
+        @Override
+        public void write(JsonWriter out, String value) throws IOException {
+            out.value(value);
+        }
+
+        @Override
+        public String read(JsonReader in) throws IOException {
+            return readString(in);
+        }
+    };
+
+    private static Double readDouble(JsonReader in) throws IOException {
+        if (skipNull(in)) return null;
+        return in.nextDouble();
+    }
+
+    private static boolean readBoolean(JsonReader in) throws IOException {
+        // Lenient like Gson: "true"/"false" strings are accepted too
+        if (in.peek() == JsonToken.STRING) return Boolean.parseBoolean(in.nextString());
+        return in.nextBoolean();
+    }
+
+    private static String readSingleString(JsonReader in, String field) throws IOException {
+        String value = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            if (field.equals(in.nextName())) {
+                value = readString(in);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+    /**
+     * String-to-string objects such as opening hours, e.g. for storing them as a single column
+     */
+    public static final TypeAdapter<Map<String, String>> STRING_MAP = new TypeAdapter<Map<String, String>>() {
+        @Override
+        public void write(JsonWriter out, Map<String, String> value) throws IOException {
+            writeStringMap(out, value);
+        }
+
+        @Override
+        public Map<String, String> read(JsonReader in) throws IOException {
+            return readStringMap(in);
+        }
+    };
+
+    private static Map<String, String> readStringMap(JsonReader in) throws IOException {
+        if (skipNull(in)) return null;
+        Map<String, String> map = new LinkedHashMap<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            map.put(in.nextName(), readString(in));
+        }
+        in.endObject();
+        return map;
+    }
+
+    private static void writeStringMap(JsonWriter out, Map<String, String> map) throws IOException {
+        if (map == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            out.name(entry.getKey()).value(entry.getValue());
+        }
+        out.endObject();
+    }
+
+    public static <T> List<T> readList(JsonReader in, TypeAdapter<T> elementAdapter) throws IOException {
+        if (skipNull(in)) return null;
+        List<T> list = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            list.add(elementAdapter.read(in));
+        }
+        in.endArray();
+        return list;
+    }
+
+    public static <T> void writeList(JsonWriter out, List<T> list, TypeAdapter<T> elementAdapter) throws IOException {
+        if (list == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (T element : list) {
+            elementAdapter.write(out, element);
+        }
+        out.endArray();
+    }
+}
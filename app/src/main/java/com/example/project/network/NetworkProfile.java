@@ -0,0 +1,70 @@
+package com.example.project.network;
+
+/**
+ * Request settings tuned to the quality of the current network link
+ * Slow links get longer timeouts, smaller pages, less speculative prefetching and ask the
+ * server for lighter payloads (Save-Data); fast links prefetch further ahead.
+ */
+public final class NetworkProfile {
+
+    public enum Quality { POOR, MODERATE, GOOD }
+
+    public static final NetworkProfile POOR = new NetworkProfile(Quality.POOR, 2.0, 0.5, 0.5, true);
+    /** Also used while profiles are off or nothing has been measured, so it keeps configured timeouts */
+    public static final NetworkProfile MODERATE = new NetworkProfile(Quality.MODERATE, 1.0, 1.0, 1.0, false);
+    public static final NetworkProfile GOOD = new NetworkProfile(Quality.GOOD, 1.0, 1.0, 2.0, false);
+
+    private static final int MIN_PAGE_SIZE = 5;
+
+    private final Quality quality;
+    private final double timeoutMultiplier;
+    private final double pageSizeFactor;
+    private final double prefetchFactor;
+    private final boolean lightPayloads;
+
+    private NetworkProfile(Quality quality, double timeoutMultiplier, double pageSizeFactor,
+                           double prefetchFactor, boolean lightPayloads) {
+        this.quality = quality;
+        this.timeoutMultiplier = timeoutMultiplier;
+        this.pageSizeFactor = pageSizeFactor;
+        this.prefetchFactor = prefetchFactor;
+        this.lightPayloads = lightPayloads;
+    }
+
+    public static NetworkProfile forQuality(Quality quality) {
+        switch (quality) {
+            case POOR: return POOR;
+            case GOOD: return GOOD;
+            default: return MODERATE;
+        }
+    }
+
+    public Quality getQuality() { return quality; }
+    public boolean isLightPayloads() { return lightPayloads; }
+
+    public boolean scalesTimeouts() {
+        return timeoutMultiplier != 1.0;
+    }
+
+    public int scaleTimeoutMillis(int timeoutMillis) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.round(timeoutMillis * timeoutMultiplier));
+    }
+
+    public int scalePageSize(int pageSize) {
+        return Math.max(Math.min(MIN_PAGE_SIZE, pageSize), (int) Math.round(pageSize * pageSizeFactor));
+    }
+
+    public int scalePrefetchDistance(int prefetchDistance) {
+        return Math.max(1, (int) Math.round(prefetchDistance * prefetchFactor));
+    }
+
+    @Override
+    public String toString() {
+        return "NetworkProfile{" + quality +
+                ", timeout x" + timeoutMultiplier +
+                ", pages x" + pageSizeFactor +
+                ", prefetch x" + prefetchFactor +
+                (lightPayloads ? ", light" : "") +
+                '}';
+    }
+}
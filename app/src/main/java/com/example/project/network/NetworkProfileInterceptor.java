@@ -0,0 +1,41 @@
+package com.example.project.network;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Application interceptor that adapts each request to the current network profile
+ * Scales the timeouts already chosen for the request (including per-endpoint overrides, so it
+ * must run after EndpointTimeoutInterceptor) and sends Save-Data: on over poor links so the
+ * server can answer with a lighter payload.
+ */
+public class NetworkProfileInterceptor implements Interceptor {
+
+    private final Supplier<NetworkProfile> profileSupplier;
+
+    public NetworkProfileInterceptor(Supplier<NetworkProfile> profileSupplier) {
+        this.profileSupplier = profileSupplier;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        NetworkProfile profile = profileSupplier.get();
+        Request request = chain.request();
+        if (profile.isLightPayloads() && request.header("Save-Data") == null) {
+            request = request.newBuilder().header("Save-Data", "on").build();
+        }
+        if (!profile.scalesTimeouts()) {
+            return chain.proceed(request);
+        }
+
+        return chain.withConnectTimeout(profile.scaleTimeoutMillis(chain.connectTimeoutMillis()), TimeUnit.MILLISECONDS)
+                .withReadTimeout(profile.scaleTimeoutMillis(chain.readTimeoutMillis()), TimeUnit.MILLISECONDS)
+                .withWriteTimeout(profile.scaleTimeoutMillis(chain.writeTimeoutMillis()), TimeUnit.MILLISECONDS)
+                .proceed(request);
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.project.network;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+
+import com.example.project.utils.AppLog;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Classifies the current network link as poor, moderate or good
+ * Combines the transport and the bandwidth the platform reports for the default network with
+ * round-trip times and throughput measured on real responses (exponentially weighted, so
+ * the estimate follows a changing link). Measurements are reset when the default network
+ * changes, e.g. when moving from Wi-Fi to cellular.
+ */
+public class NetworkQualityMonitor {
+    private static final String TAG = "NetworkQuality";
+
+    // Weight of a new sample in the moving averages
+    private static final double EWMA_WEIGHT = 0.3;
+    private static final int MIN_RTT_SAMPLES = 3;
+    private static final int MIN_THROUGHPUT_SAMPLES = 2;
+
+    // Responses smaller than this say more about latency than about bandwidth
+    private static final long MIN_THROUGHPUT_BYTES = 8 * 1024;
+
+    private static final double POOR_RTT_MS = 1500;
+    private static final double GOOD_RTT_MS = 400;
+    private static final double POOR_KBPS = 250;
+    private static final double GOOD_KBPS = 2000;
+
+    /**
+     * Notified on an OkHttp or connectivity thread when the profile changes
+     */
+    public interface Listener {
+        void onProfileChanged(NetworkProfile profile);
+    }
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    // Guarded by this
+    private Network currentNetwork;
+    private boolean cellular = false;
+    private boolean wifi = false;
+    private int linkDownstreamKbps = 0;
+    private double rttMs = -1;
+    private int rttSamples = 0;
+    private double throughputKbps = -1;
+    private int throughputSamples = 0;
+    private NetworkProfile profile = NetworkProfile.MODERATE;
+
+    public NetworkQualityMonitor(Context context) {
+        ConnectivityManager connectivityManager =
+                (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (connectivityManager == null) {
+            return;
+        }
+
+        Network active = connectivityManager.getActiveNetwork();
+        if (active != null) {
+            onCapabilities(active, connectivityManager.getNetworkCapabilities(active));
+        }
+        connectivityManager.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+            @Override
+            public void onCapabilitiesChanged(Network network, NetworkCapabilities capabilities) {
+                onCapabilities(network, capabilities);
+            }
+        });
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public synchronized NetworkProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Time from sending request headers to the first response header byte
+     */
+    public void recordRoundTrip(long millis) {
+        synchronized (this) {
+            rttMs = rttSamples == 0 ? millis : EWMA_WEIGHT * millis + (1 - EWMA_WEIGHT) * rttMs;
+            rttSamples++;
+        }
+        reclassify();
+    }
+
+    /**
+     * A response body of the given size arrived in the given time
+     */
+    public void recordTransfer(long bytes, long millis) {
+        if (bytes < MIN_THROUGHPUT_BYTES || millis <= 0) {
+            return;
+        }
+        double kbps = bytes * 8.0 / millis;
+        synchronized (this) {
+            throughputKbps = throughputSamples == 0 ? kbps
+                    : EWMA_WEIGHT * kbps + (1 - EWMA_WEIGHT) * throughputKbps;
+            throughputSamples++;
+        }
+        reclassify();
+    }
+
+    private void onCapabilities(Network network, NetworkCapabilities capabilities) {
+        if (capabilities == null) {
+            return;
+        }
+        synchronized (this) {
+            if (!network.equals(currentNetwork)) {
+                // A different link: earlier measurements no longer apply
+                currentNetwork = network;
+                rttSamples = 0;
+                throughputSamples = 0;
+                rttMs = -1;
+                throughputKbps = -1;
+            }
+            cellular = capabilities.hasTransport(NetworkCapabilities.TRANSPORT_CELLULAR);
+            wifi = capabilities.hasTransport(NetworkCapabilities.TRANSPORT_WIFI)
+                    || capabilities.hasTransport(NetworkCapabilities.TRANSPORT_ETHERNET);
+            linkDownstreamKbps = capabilities.getLinkDownstreamBandwidthKbps();
+        }
+        reclassify();
+    }
+
+    private void reclassify() {
+        NetworkProfile updated;
+        long rtt;
+        long kbps;
+        synchronized (this) {
+            updated = NetworkProfile.forQuality(classify());
+            if (updated == profile) {
+                return;
+            }
+            profile = updated;
+            rtt = Math.round(rttMs);
+            kbps = Math.round(throughputKbps);
+        }
+        AppLog.d(TAG, "📶 Network profile now {} (rtt={}ms, throughput={}kbps)", updated, rtt, kbps);
+        for (Listener listener : listeners) {
+            listener.onProfileChanged(updated);
+        }
+    }
+
+    // Called with the lock held
+    private NetworkProfile.Quality classify() {
+        double rtt = rttSamples >= MIN_RTT_SAMPLES ? rttMs : -1;
+        double kbps = throughputSamples >= MIN_THROUGHPUT_SAMPLES ? throughputKbps
+                : (linkDownstreamKbps > 0 ? linkDownstreamKbps : -1);
+
+        if (rtt < 0 && kbps < 0) {
+            // Nothing measured yet: go by the kind of link
+            return wifi ? NetworkProfile.Quality.GOOD : NetworkProfile.Quality.MODERATE;
+        }
+        if (rtt >= POOR_RTT_MS || (kbps >= 0 && kbps < POOR_KBPS)) {
+            return NetworkProfile.Quality.POOR;
+        }
+        boolean fastRtt = rtt < 0 ? !cellular : rtt < GOOD_RTT_MS;
+        if (fastRtt && (kbps < 0 || kbps >= GOOD_KBPS)) {
+            return NetworkProfile.Quality.GOOD;
+        }
+        return NetworkProfile.Quality.MODERATE;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.project.network;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+
+/**
+ * Collapses identical in-flight requests into a single network call
+ * The first caller for a key becomes the leader and performs the request;
+ * later callers just wait for the leader's result
+ */
+public class RequestCoalescer<C> {
+
+    private final Map<String, Flight<C>> inFlight = new HashMap<>();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    /**
+     * Register a callback for the given request key
+     * If the returned flight's leader is this callback, the caller must perform the request
+     */
+    public synchronized Flight<C> join(String key, C callback) {
+        Flight<C> flight = inFlight.get(key);
+        if (flight != null) {
+            flight.callbacks.add(callback);
+            coalescedCount.incrementAndGet();
+            return flight;
+        }
+
+        flight = new Flight<>(key, callback);
+        inFlight.put(key, flight);
+        return flight;
+    }
+
+    /**
+     * Attach the network call performing the flight so it can be cancelled
+     * @return false if every caller already left, in which case the call should not be started
+     */
+    public synchronized boolean attachCall(Flight<C> flight, Call call) {
+        flight.call = call;
+        return !flight.callbacks.isEmpty();
+    }
+
+    /**
+     * Finish the flight and return every callback still waiting on it
+     */
+    public synchronized List<C> complete(Flight<C> flight) {
+        if (inFlight.get(flight.key) == flight) {
+            inFlight.remove(flight.key);
+        }
+        List<C> callbacks = new ArrayList<>(flight.callbacks);
+        flight.callbacks.clear();
+        return callbacks;
+    }
+
+    /**
+     * Stop waiting on a flight; once nobody is left waiting the network call is no longer needed
+     * @return the call to cancel, or null if other callers still need the result
+     */
+    public synchronized Call leave(Flight<C> flight, C callback) {
+        if (!flight.callbacks.remove(callback) || !flight.callbacks.isEmpty()) {
+            return null;
+        }
+        if (inFlight.get(flight.key) == flight) {
+            inFlight.remove(flight.key);
+        }
+        return flight.call;
+    }
+
+    public synchronized int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Number of requests that were served by another caller's network call
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * One network request and the callbacks waiting for its result
+     */
+    public static class Flight<C> {
+        private final String key;
+        private final C leader;
+        private final List<C> callbacks = new ArrayList<>();
+        private Call call;
+
+        Flight(String key, C leader) {
+            this.key = key;
+            this.leader = leader;
+            this.callbacks.add(leader);
+        }
+
+        public boolean isLeader(C callback) {
+            return leader == callback;
+        }
+    }
+}
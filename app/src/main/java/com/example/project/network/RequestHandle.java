@@ -0,0 +1,23 @@
+package com.example.project.network;
+
+/**
+ * Handle to an asynchronous API request that lets the caller stop it
+ * After cancel() the request's callback is never invoked
+ */
+public interface RequestHandle {
+
+    /**
+     * Handle for requests that already finished synchronously
+     */
+    RequestHandle COMPLETED = new RequestHandle() {
+        @Override
+        public void cancel() {}
+
+        @Override
+        public boolean isCancelled() { return false; }
+    };
+
+    void cancel();
+
+    boolean isCancelled();
+}
@@ -0,0 +1,226 @@
+package com.example.project.network;
+
+import com.example.project.utils.AppLog;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+
+/**
+ * Sends a backup copy of a slow request and keeps whichever answer arrives first
+ * The hedge goes out once the primary call has been running longer than the recent p95
+ * latency, on a client with its own connection pool so a stalled connection cannot hold both
+ * copies. The loser is cancelled. A token bucket limits hedges to a fixed share of requests,
+ * so a slow backend sees at most that much extra load.
+ * The hedge client shares the primary's dispatcher, so each hedge takes its own slot from the
+ * RequestScheduler; when none is free the hedge is skipped rather than letting OkHttp queue the
+ * next admitted call behind it.
+ */
+public class RequestHedger {
+    private static final String TAG = "RequestHedger";
+    private static final double HEDGE_PERCENTILE = 0.95;
+    private static final int MIN_SAMPLES = 20;
+    private static final double MAX_TOKENS = 5.0;
+
+    private final OkHttpClient hedgeClient;
+    private final RequestScheduler admission;
+    private final LatencyTracker latencies = new LatencyTracker(100);
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final long minDelayMs;
+    private final long defaultDelayMs;
+    private final double tokensPerRequest;
+
+    // Guarded by this
+    private double tokens = 1.0;
+    private long requestCount = 0;
+    private long hedgeCount = 0;
+    private long hedgeWinCount = 0;
+
+    /**
+     * @param hedgeClient client used for the backup copies; should not share the primary's connection pool
+     * @param admission scheduler the primaries go through; hedges are admitted as interactive calls
+     * @param minDelayMs never hedge earlier than this, however fast recent requests were
+     * @param defaultDelayMs hedge delay until enough latencies have been seen
+     * @param budgetPercent hedges allowed per 100 requests
+     */
+    public RequestHedger(OkHttpClient hedgeClient, RequestScheduler admission,
+                         long minDelayMs, long defaultDelayMs, int budgetPercent) {
+        this.hedgeClient = hedgeClient;
+        this.admission = admission;
+        this.minDelayMs = minDelayMs;
+        this.defaultDelayMs = defaultDelayMs;
+        this.tokensPerRequest = budgetPercent / 100.0;
+    }
+
+    /**
+     * Enqueue the call with hedging; cancelling it also cancels its hedge
+     */
+    public void enqueue(Call primary, Callback callback) {
+        synchronized (this) {
+            requestCount++;
+            tokens = Math.min(MAX_TOKENS, tokens + tokensPerRequest);
+        }
+        Exchange exchange = new Exchange(primary, callback);
+        synchronized (exchange) {
+            exchange.timer = scheduler.schedule(exchange::launchHedge, getHedgeDelayMs(), TimeUnit.MILLISECONDS);
+        }
+        primary.enqueue(exchange);
+    }
+
+    /**
+     * Current wait before a hedge is sent
+     */
+    public long getHedgeDelayMs() {
+        if (latencies.getSampleCount() < MIN_SAMPLES) {
+            return defaultDelayMs;
+        }
+        return Math.max(minDelayMs, latencies.getPercentile(HEDGE_PERCENTILE));
+    }
+
+    public HedgeStats getStats() {
+        synchronized (this) {
+            return new HedgeStats(requestCount, hedgeCount, hedgeWinCount, getHedgeDelayMs());
+        }
+    }
+
+    private synchronized boolean tryAcquireHedge() {
+        if (tokens < 1.0) {
+            return false;
+        }
+        tokens -= 1.0;
+        hedgeCount++;
+        return true;
+    }
+
+    private synchronized void recordHedgeWin() {
+        hedgeWinCount++;
+    }
+
+    /**
+     * One hedged request: the primary call plus at most one backup
+     */
+    private class Exchange implements Callback {
+        private final Call primary;
+        private final Callback callback;
+        private final long startedAt = System.currentTimeMillis();
+
+        // Guarded by this
+        private ScheduledFuture<?> timer;
+        private Call hedge;
+        private int outstanding = 1;
+        private boolean finished = false;
+
+        Exchange(Call primary, Callback callback) {
+            this.primary = primary;
+            this.callback = callback;
+        }
+
+        void launchHedge() {
+            Call backup;
+            Runnable slot;
+            synchronized (this) {
+                if (finished || primary.isCanceled()) {
+                    return;
+                }
+                backup = hedgeClient.newCall(primary.request());
+                slot = admission.tryAcquire(backup, RequestScheduler.Priority.INTERACTIVE);
+                if (slot == null) {
+                    AppLog.d(TAG, "No free slot to hedge {}", primary.request().url().encodedPath());
+                    return;
+                }
+                if (!tryAcquireHedge()) {
+                    slot.run();
+                    return;
+                }
+                hedge = backup;
+                outstanding++;
+            }
+            AppLog.d(TAG, "Hedging {} after {}ms", primary.request().url().encodedPath(),
+                    System.currentTimeMillis() - startedAt);
+            backup.enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    try {
+                        Exchange.this.onFailure(call, e);
+                    } finally {
+                        slot.run();
+                    }
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) throws IOException {
+                    try {
+                        Exchange.this.onResponse(call, response);
+                    } finally {
+                        slot.run();
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void onResponse(Call call, Response response) throws IOException {
+            Call loser;
+            synchronized (this) {
+                if (finished) {
+                    response.close();
+                    return;
+                }
+                finished = true;
+                loser = call == primary ? hedge : primary;
+            }
+            stopTimer();
+            if (loser != null) {
+                loser.cancel();
+            }
+            if (call != primary) {
+                recordHedgeWin();
+                AppLog.d(TAG, "Hedge won for {}", call.request().url().encodedPath());
+            }
+            latencies.record(System.currentTimeMillis() - startedAt);
+            callback.onResponse(call, response);
+        }
+
+        @Override
+        public void onFailure(Call call, IOException e) {
+            Call other = null;
+            synchronized (this) {
+                if (finished) {
+                    return;
+                }
+                outstanding--;
+                boolean cancelledByCaller = call == primary && call.isCanceled();
+                if (!cancelledByCaller && outstanding > 0) {
+                    // The other copy may still succeed
+                    return;
+                }
+                finished = true;
+                if (cancelledByCaller) {
+                    other = hedge;
+                }
+            }
+            stopTimer();
+            if (other != null) {
+                other.cancel();
+            }
+            callback.onFailure(call, e);
+        }
+
+        private void stopTimer() {
+            ScheduledFuture<?> pending;
+            synchronized (this) {
+                pending = timer;
+            }
+            if (pending != null) {
+                pending.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.project.network;
+
+import com.example.project.utils.AppLog;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Response;
+
+/**
+ * Admits API calls to the shared dispatcher by priority class
+ * Each class has its own concurrency cap and the total stays within the per-host limit, so
+ * OkHttp never queues a search behind a prefetch. One slot is kept free for interactive
+ * requests, and prefetch and background work is deferred while a search is waiting or running.
+ * Calls already running are never cancelled to make room; lower classes simply start later.
+ * Hedged copies of a search count against the same limit through tryAcquire().
+ */
+public class RequestScheduler {
+    private static final String TAG = "RequestScheduler";
+
+    /**
+     * Priority classes, most urgent first
+     */
+    public enum Priority {
+        /** The search the user is typing */
+        INTERACTIVE,
+        /** Content for the screen being opened */
+        SCREEN_LOAD,
+        /** Next pages and background refreshes the user may never look at */
+        PREFETCH,
+        /** Favorites sync and other work nobody is waiting on */
+        BACKGROUND
+    }
+
+    /**
+     * How an admitted call is started, e.g. through a RequestHedger instead of Call.enqueue
+     */
+    public interface Dispatch {
+        void enqueue(Call call, Callback callback);
+    }
+
+    private static final Dispatch DIRECT = Call::enqueue;
+    private static final int PRIORITY_COUNT = Priority.values().length;
+
+    private final int maxConcurrent;
+    private final int[] maxByPriority = new int[PRIORITY_COUNT];
+
+    // Guarded by this
+    private final List<ArrayDeque<Task>> queues = new ArrayList<>();
+    private final int[] running = new int[PRIORITY_COUNT];
+    private int runningTotal;
+    private final long[] startedCount = new long[PRIORITY_COUNT];
+    private final long[] waitedCount = new long[PRIORITY_COUNT];
+    private final long[] totalQueueMs = new long[PRIORITY_COUNT];
+    private final long[] maxQueueMs = new long[PRIORITY_COUNT];
+
+    /**
+     * @param maxConcurrent total calls in flight; should not exceed the dispatcher's per-host limit
+     */
+    public RequestScheduler(int maxConcurrent, int maxScreenLoad, int maxPrefetch, int maxBackground) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        maxByPriority[Priority.INTERACTIVE.ordinal()] = this.maxConcurrent;
+        maxByPriority[Priority.SCREEN_LOAD.ordinal()] = Math.max(1, maxScreenLoad);
+        maxByPriority[Priority.PREFETCH.ordinal()] = Math.max(1, maxPrefetch);
+        maxByPriority[Priority.BACKGROUND.ordinal()] = Math.max(1, maxBackground);
+        for (int i = 0; i < PRIORITY_COUNT; i++) {
+            queues.add(new ArrayDeque<>());
+        }
+    }
+
+    public void enqueue(Call call, Priority priority, Callback callback) {
+        enqueue(call, priority, callback, DIRECT);
+    }
+
+    /**
+     * Queue a call; it is started with the given dispatch once its class may run.
+     * Cancelling the call while it is queued fails it without it ever taking a slot.
+     */
+    public void enqueue(Call call, Priority priority, Callback callback, Dispatch dispatch) {
+        synchronized (this) {
+            queues.get(priority.ordinal()).addLast(new Task(call, priority, callback, dispatch));
+        }
+        drain();
+    }
+
+    /**
+     * Run a call on the current thread once its class may run, for blocking background work
+     * The slot is held until the response headers arrive.
+     */
+    public Response execute(Call call, Priority priority) throws IOException {
+        Task task = new Task(call, priority, null, null);
+        synchronized (this) {
+            queues.get(priority.ordinal()).addLast(task);
+        }
+        drain();
+
+        synchronized (this) {
+            try {
+                while (!task.admitted) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                if (!queues.get(priority.ordinal()).remove(task)) {
+                    release(task);
+                }
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a " + priority + " slot");
+            }
+        }
+
+        try {
+            return call.execute();
+        } finally {
+            release(task);
+        }
+    }
+
+    /**
+     * Take a slot right away for an extra copy of a call that is already running, e.g. a hedge
+     * Never queues: the copy only goes out if no call of this or a more urgent class is waiting
+     * and the slot kept free for searches stays free, so it never delays anything admitted later.
+     * @return runs once the copy has finished to free its slot, or null if none is free now
+     */
+    public Runnable tryAcquire(Call call, Priority priority) {
+        Task task = new Task(call, priority, null, null);
+        synchronized (this) {
+            int i = priority.ordinal();
+            if (runningTotal >= maxConcurrent - 1 || running[i] >= maxByPriority[i]) {
+                return null;
+            }
+            for (int p = 0; p <= i; p++) {
+                if (!queues.get(p).isEmpty()) {
+                    return null;
+                }
+            }
+            admit(task);
+        }
+        return () -> release(task);
+    }
+
+    /**
+     * Snapshot of queueing and concurrency per priority class
+     */
+    public synchronized SchedulerStats getStats() {
+        Map<Priority, SchedulerStats.ClassStats> classes = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values()) {
+            int i = priority.ordinal();
+            classes.put(priority, new SchedulerStats.ClassStats(queues.get(i).size(), running[i],
+                    startedCount[i], waitedCount[i],
+                    startedCount[i] > 0 ? totalQueueMs[i] / startedCount[i] : 0, maxQueueMs[i]));
+        }
+        return new SchedulerStats(maxConcurrent, runningTotal, classes);
+    }
+
+    /**
+     * Start every queued call that may run now, most urgent class first
+     */
+    private void drain() {
+        List<Task> admitted = new ArrayList<>();
+        List<Task> cancelled = new ArrayList<>();
+        synchronized (this) {
+            for (Priority priority : Priority.values()) {
+                ArrayDeque<Task> queue = queues.get(priority.ordinal());
+                while (!queue.isEmpty()) {
+                    Task task = queue.peekFirst();
+                    if (task.call.isCanceled() && task.callback != null) {
+                        queue.pollFirst();
+                        cancelled.add(task);
+                        continue;
+                    }
+                    if (!canStart(priority)) {
+                        break;
+                    }
+                    queue.pollFirst();
+                    admit(task);
+                    admitted.add(task);
+                }
+            }
+            notifyAll();
+        }
+
+        for (Task task : cancelled) {
+            task.callback.onFailure(task.call, new IOException("Canceled"));
+        }
+        for (Task task : admitted) {
+            if (task.callback != null) {
+                task.dispatch.enqueue(task.call, new ReleasingCallback(task));
+            }
+        }
+    }
+
+    // Guarded by this
+    private boolean canStart(Priority priority) {
+        int i = priority.ordinal();
+        if (runningTotal >= maxConcurrent || running[i] >= maxByPriority[i]) {
+            return false;
+        }
+        if (priority == Priority.INTERACTIVE) {
+            return true;
+        }
+        // Keep one slot free so a search never waits for a slow screen load or sync
+        if (maxConcurrent > 1 && runningTotal >= maxConcurrent - 1) {
+            return false;
+        }
+        if (priority == Priority.PREFETCH || priority == Priority.BACKGROUND) {
+            int interactive = Priority.INTERACTIVE.ordinal();
+            return running[interactive] == 0 && queues.get(interactive).isEmpty();
+        }
+        return true;
+    }
+
+    // Guarded by this
+    private void admit(Task task) {
+        int i = task.priority.ordinal();
+        long queuedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - task.enqueuedAt);
+        running[i]++;
+        runningTotal++;
+        startedCount[i]++;
+        totalQueueMs[i] += queuedMs;
+        maxQueueMs[i] = Math.max(maxQueueMs[i], queuedMs);
+        if (queuedMs > 0) {
+            waitedCount[i]++;
+        }
+        task.admitted = true;
+        if (queuedMs >= 100 && AppLog.isDebugEnabled()) {
+            AppLog.d(TAG, "⏳ {} {} waited {}ms for a slot", task.priority,
+                    task.call.request().url().encodedPath(), queuedMs);
+        }
+    }
+
+    private void release(Task task) {
+        synchronized (this) {
+            if (!task.admitted || task.released) {
+                return;
+            }
+            task.released = true;
+            running[task.priority.ordinal()]--;
+            runningTotal--;
+        }
+        drain();
+    }
+
+    private static final class Task {
+        final Call call;
+        final Priority priority;
+        final Callback callback;
+        final Dispatch dispatch;
+        final long enqueuedAt = System.nanoTime();
+
+        // Guarded by the scheduler
+        boolean admitted;
+        boolean released;
+
+        Task(Call call, Priority priority, Callback callback, Dispatch dispatch) {
+            this.call = call;
+            this.priority = priority;
+            this.callback = callback;
+            this.dispatch = dispatch;
+        }
+    }
+
+    /**
+     * Frees the call's slot once its callback has consumed the response
+     */
+    private final class ReleasingCallback implements Callback {
+        private final Task task;
+
+        ReleasingCallback(Task task) {
+            this.task = task;
+        }
+
+        @Override
+        public void onFailure(Call call, IOException e) {
+            try {
+                task.callback.onFailure(call, e);
+            } finally {
+                release(task);
+            }
+        }
+
+        @Override
+        public void onResponse(Call call, Response response) throws IOException {
+            try {
+                task.callback.onResponse(call, response);
+            } finally {
+                release(task);
+            }
+        }
+    }
+}
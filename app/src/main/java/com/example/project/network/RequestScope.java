@@ -0,0 +1,113 @@
+package com.example.project.network;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.example.project.utils.AppLog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ties API requests to the lifecycle of a screen
+ * Requests passed to track() are cancelled when the owner is destroyed, and results handed to
+ * post() are dropped from then on, so a finished Activity is not kept alive by its callbacks
+ * and responses nobody will see are not parsed.
+ */
+public class RequestScope implements DefaultLifecycleObserver {
+    private static final String TAG = "RequestScope";
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Guarded by this
+    private final List<RequestHandle> handles = new ArrayList<>();
+    private boolean closed;
+
+    /**
+     * Create a scope that closes when the owner is destroyed
+     */
+    public static RequestScope bind(LifecycleOwner owner) {
+        RequestScope scope = new RequestScope();
+        owner.getLifecycle().addObserver(scope);
+        return scope;
+    }
+
+    /**
+     * Cancel the request when the scope closes; if it already has, the request is cancelled now
+     * Finished requests stay tracked until the scope closes, which is harmless since cancelling
+     * them does nothing.
+     * @return the same handle, so the call can be wrapped inline
+     */
+    public <H extends RequestHandle> H track(H handle) {
+        synchronized (this) {
+            if (!closed) {
+                handles.removeIf(RequestHandle::isCancelled);
+                handles.add(handle);
+                return handle;
+            }
+        }
+        handle.cancel();
+        return handle;
+    }
+
+    /**
+     * Run a result on the main thread unless the scope has closed by then
+     * Runs right away when called on the main thread, e.g. for results served from a cache.
+     */
+    public void post(Runnable result) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            if (isActive()) {
+                result.run();
+            }
+            return;
+        }
+        if (isActive()) {
+            mainHandler.post(() -> {
+                if (isActive()) {
+                    result.run();
+                }
+            });
+        }
+    }
+
+    public synchronized boolean isActive() {
+        return !closed;
+    }
+
+    /**
+     * Cancel every tracked request and drop results still waiting for the main thread
+     */
+    public void close() {
+        List<RequestHandle> toCancel;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toCancel = new ArrayList<>(handles);
+            handles.clear();
+        }
+        mainHandler.removeCallbacksAndMessages(null);
+
+        int cancelled = 0;
+        for (RequestHandle handle : toCancel) {
+            if (!handle.isCancelled()) {
+                handle.cancel();
+                cancelled++;
+            }
+        }
+        if (cancelled > 0) {
+            AppLog.d(TAG, "🧹 Cancelled {} requests of a destroyed screen", cancelled);
+        }
+    }
+
+    @Override
+    public void onDestroy(@NonNull LifecycleOwner owner) {
+        owner.getLifecycle().removeObserver(this);
+        close();
+    }
+}
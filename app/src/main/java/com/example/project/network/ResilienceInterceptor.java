@@ -0,0 +1,231 @@
+package com.example.project.network;
+
+import android.util.Log;
+
+import com.example.project.utils.AppLog;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Application interceptor that retries failed requests and fails fast while an endpoint is down
+ * Retries only happen for endpoints with a retry policy and only for idempotent requests (GET,
+ * HEAD, or anything carrying an Idempotency-Key). 429 and 503 responses are retried after the
+ * server's Retry-After when it fits the policy. Every endpoint has its own circuit breaker;
+ * network errors and 5xx responses count as failures.
+ */
+public class ResilienceInterceptor implements Interceptor {
+    private static final String TAG = "ResilienceInterceptor";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final Map<String, RetryPolicy> retryPolicyByPath = new HashMap<>();
+    private final List<String[]> routeTemplates = new ArrayList<>();
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final int failureThreshold;
+    private final long openDurationMs;
+
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong retryAfterCount = new AtomicLong();
+
+    public ResilienceInterceptor(int failureThreshold, long openDurationMs) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+    }
+
+    public ResilienceInterceptor setRetryPolicy(String path, RetryPolicy policy) {
+        retryPolicyByPath.put(path, policy);
+        return this;
+    }
+
+    /**
+     * Treat every path matching a template such as "/api/restaurants/{id}" as one endpoint, so the
+     * paths share a circuit breaker and retry policy. Paths registered exactly take precedence.
+     */
+    public ResilienceInterceptor addRoute(String template) {
+        routeTemplates.add(template.split("/", -1));
+        return this;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String path = routeFor(request.url().encodedPath());
+        CircuitBreaker breaker = breakerFor(path);
+        RetryPolicy policy = isIdempotent(request)
+                ? retryPolicyByPath.getOrDefault(path, RetryPolicy.NONE)
+                : RetryPolicy.NONE;
+
+        for (int attempt = 1; ; attempt++) {
+            if (!breaker.allowRequest()) {
+                throw new CircuitOpenException(path, breaker.getRemainingOpenMs());
+            }
+
+            Response response;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                if (chain.call().isCanceled()) {
+                    breaker.recordIgnored();
+                    throw e;
+                }
+                breaker.recordFailure();
+                if (!policy.canRetry(attempt) || isOpen(breaker)) {
+                    throw e;
+                }
+                long delay = policy.backoffDelayMs(attempt);
+                AppLog.d(TAG, "Retrying {} after {}", path, e.getMessage());
+                waitBeforeRetry(chain, delay);
+                continue;
+            } catch (RuntimeException e) {
+                breaker.recordIgnored();
+                throw e;
+            }
+
+            int code = response.code();
+            if (code >= 500) {
+                breaker.recordFailure();
+            } else {
+                breaker.recordSuccess();
+            }
+            if (!isRetryableStatus(code) || !policy.canRetry(attempt) || isOpen(breaker)) {
+                return response;
+            }
+
+            long delay = policy.backoffDelayMs(attempt);
+            long retryAfter = (code == 429 || code == 503) ? parseRetryAfterMs(response.header("Retry-After")) : -1;
+            if (retryAfter >= 0) {
+                if (retryAfter > policy.getMaxDelayMs()) {
+                    // The server asked for a longer pause than this request is willing to wait
+                    return response;
+                }
+                delay = retryAfter;
+                retryAfterCount.incrementAndGet();
+            }
+
+            AppLog.d(TAG, "Retrying {} after HTTP {} in {}ms", path, code, delay);
+            response.close();
+            waitBeforeRetry(chain, delay);
+        }
+    }
+
+    public ResilienceStats getStats() {
+        long rejected = 0;
+        long opened = 0;
+        Map<String, CircuitBreaker.State> states = new TreeMap<>();
+        for (CircuitBreaker breaker : breakers.values()) {
+            rejected += breaker.getRejectedCount();
+            opened += breaker.getOpenCount();
+            states.put(breaker.getName(), breaker.getState());
+        }
+        return new ResilienceStats(retryCount.get(), retryAfterCount.get(), rejected, opened, states);
+    }
+
+    private String routeFor(String path) {
+        if (routeTemplates.isEmpty() || retryPolicyByPath.containsKey(path)) {
+            return path;
+        }
+        String[] segments = path.split("/", -1);
+        for (String[] template : routeTemplates) {
+            if (matches(template, segments)) {
+                return String.join("/", template);
+            }
+        }
+        return path;
+    }
+
+    private static boolean matches(String[] template, String[] segments) {
+        if (template.length != segments.length) {
+            return false;
+        }
+        for (int i = 0; i < template.length; i++) {
+            boolean parameter = template[i].startsWith("{") && template[i].endsWith("}");
+            if (parameter ? segments[i].isEmpty() : !template[i].equals(segments[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private CircuitBreaker breakerFor(String path) {
+        return breakers.computeIfAbsent(path, name ->
+                new CircuitBreaker(name, failureThreshold, openDurationMs, this::onStateChanged));
+    }
+
+    private void onStateChanged(String name, CircuitBreaker.State from, CircuitBreaker.State to) {
+        if (to == CircuitBreaker.State.OPEN) {
+            Log.w(TAG, "⚡ Circuit for " + name + " opened, failing fast for " + openDurationMs + "ms");
+        } else if (to == CircuitBreaker.State.CLOSED) {
+            Log.i(TAG, "Circuit for " + name + " closed, endpoint recovered");
+        } else {
+            AppLog.d(TAG, "Circuit for {}: {} -> {}", name, from, to);
+        }
+    }
+
+    private void waitBeforeRetry(Chain chain, long delayMs) throws IOException {
+        retryCount.incrementAndGet();
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry");
+        }
+        if (chain.call().isCanceled()) {
+            throw new IOException("Canceled");
+        }
+    }
+
+    /**
+     * Retrying into an open circuit would only trade the real error for a fail-fast one
+     */
+    private static boolean isOpen(CircuitBreaker breaker) {
+        return breaker.getState() == CircuitBreaker.State.OPEN;
+    }
+
+    private static boolean isIdempotent(Request request) {
+        String method = request.method();
+        return "GET".equals(method) || "HEAD".equals(method)
+                || request.header(IDEMPOTENCY_KEY_HEADER) != null;
+    }
+
+    private static boolean isRetryableStatus(int code) {
+        return code == 408 || code == 429 || code == 500 || code == 502 || code == 503 || code == 504;
+    }
+
+    /**
+     * Parse Retry-After as delta seconds or an HTTP date
+     * @return the delay in milliseconds, or -1 if the header is missing or unreadable
+     */
+    static long parseRetryAfterMs(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return -1;
+        }
+        String trimmed = value.trim();
+        try {
+            return Math.max(0, Long.parseLong(trimmed) * 1000L);
+        } catch (NumberFormatException ignored) {
+            // Not delta seconds; try the date form
+        }
+        try {
+            SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+            Date date = format.parse(trimmed);
+            return date != null ? Math.max(0, date.getTime() - System.currentTimeMillis()) : -1;
+        } catch (ParseException e) {
+            return -1;
+        }
+    }
+}
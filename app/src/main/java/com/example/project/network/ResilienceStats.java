@@ -0,0 +1,40 @@
+package com.example.project.network;
+
+import java.util.Map;
+
+/**
+ * Snapshot of retry and circuit breaker activity
+ */
+public class ResilienceStats {
+    private final long retryCount;
+    private final long retryAfterCount;
+    private final long rejectedCount;
+    private final long circuitOpenCount;
+    private final Map<String, CircuitBreaker.State> circuitStates;
+
+    public ResilienceStats(long retryCount, long retryAfterCount, long rejectedCount,
+                           long circuitOpenCount, Map<String, CircuitBreaker.State> circuitStates) {
+        this.retryCount = retryCount;
+        this.retryAfterCount = retryAfterCount;
+        this.rejectedCount = rejectedCount;
+        this.circuitOpenCount = circuitOpenCount;
+        this.circuitStates = circuitStates;
+    }
+
+    public long getRetryCount() { return retryCount; }
+    public long getRetryAfterCount() { return retryAfterCount; }
+    public long getRejectedCount() { return rejectedCount; }
+    public long getCircuitOpenCount() { return circuitOpenCount; }
+    public Map<String, CircuitBreaker.State> getCircuitStates() { return circuitStates; }
+
+    @Override
+    public String toString() {
+        return "ResilienceStats{" +
+                "retries=" + retryCount +
+                ", retryAfter=" + retryAfterCount +
+                ", rejected=" + rejectedCount +
+                ", opened=" + circuitOpenCount +
+                ", circuits=" + circuitStates +
+                '}';
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.project.network;
+
+import android.os.SystemClock;
+import android.util.LruCache;
+
+import com.example.project.models.Restaurant;
+
+/**
+ * Bounded in-memory LRU cache of full restaurant records keyed by restaurant id
+ * Entries older than the TTL are dropped and fetched again
+ */
+public class RestaurantDetailCache {
+
+    private final LruCache<String, Entry> entries;
+    private final long ttlMillis;
+
+    public RestaurantDetailCache(int maxEntries, long ttlMillis) {
+        this.entries = new LruCache<>(maxEntries);
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Get a cached record, or null if there is none or it has expired
+     */
+    public Restaurant get(String id) {
+        Entry entry = entries.get(id);
+        if (entry == null) return null;
+        if (SystemClock.elapsedRealtime() - entry.storedAt > ttlMillis) {
+            entries.remove(id);
+            return null;
+        }
+        return entry.restaurant;
+    }
+
+    public void put(String id, Restaurant restaurant) {
+        entries.put(id, new Entry(restaurant, SystemClock.elapsedRealtime()));
+    }
+
+    public void clear() {
+        entries.evictAll();
+    }
+
+    public int getHitCount() { return entries.hitCount(); }
+    public int getMissCount() { return entries.missCount(); }
+
+    private static class Entry {
+        final Restaurant restaurant;
+        final long storedAt;
+
+        Entry(Restaurant restaurant, long storedAt) {
+            this.restaurant = restaurant;
+            this.storedAt = storedAt;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.project.network;
+
+import android.content.Context;
+
+import com.example.project.models.FavoriteItem;
+import com.example.project.models.Restaurant;
+import com.example.project.utils.ConfigManager;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One shared Restaurant instance per restaurant id across search, trending, favorites and the detail screen
+ * Freshly parsed records are swapped for the instance already held when nothing changed, so the
+ * same restaurant is kept in memory once. A record with changes becomes the new shared instance
+ * instead of being copied into the old one, which screens may be reading on another thread; it
+ * inherits the description, phone, hours and location it lacks from the previous instance, so a
+ * compact list row does not lose details loaded earlier. Entries are weak and capped, so
+ * restaurants no screen holds any more are dropped.
+ */
+public class RestaurantIdentityMap {
+
+    private static RestaurantIdentityMap instance;
+
+    private final int maxEntries;
+    private final ReferenceQueue<Restaurant> cleared = new ReferenceQueue<>();
+
+    // Guarded by this; in access order, so the least recently used id is evicted first
+    private final Map<String, Entry> entries;
+    private long sharedCount;
+
+    RestaurantIdentityMap(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > RestaurantIdentityMap.this.maxEntries;
+            }
+        };
+    }
+
+    public static synchronized RestaurantIdentityMap getInstance(Context context) {
+        if (instance == null) {
+            instance = new RestaurantIdentityMap(
+                    ConfigManager.getInstance(context).getRestaurantIdentityMapEntries());
+        }
+        return instance;
+    }
+
+    /**
+     * The shared instance for a freshly parsed record; records without an id are returned as-is
+     * The record may be given missing detail fields and must not be used by anyone else yet.
+     */
+    public synchronized Restaurant intern(Restaurant restaurant) {
+        if (restaurant == null || restaurant.getId() == null) {
+            return restaurant;
+        }
+        expungeCleared();
+
+        String id = restaurant.getId();
+        Entry entry = entries.get(id);
+        Restaurant existing = entry != null ? entry.get() : null;
+        if (existing == restaurant) {
+            return existing;
+        }
+        if (existing != null) {
+            inheritDetails(restaurant, existing);
+            if (existing.equals(restaurant)) {
+                sharedCount++;
+                return existing;
+            }
+        }
+        entries.put(id, new Entry(id, restaurant, cleared));
+        return restaurant;
+    }
+
+    /**
+     * Intern every restaurant of a parsed list in place
+     * @return the same list
+     */
+    public List<Restaurant> internAll(List<Restaurant> restaurants) {
+        if (restaurants != null) {
+            for (int i = 0; i < restaurants.size(); i++) {
+                restaurants.set(i, intern(restaurants.get(i)));
+            }
+        }
+        return restaurants;
+    }
+
+    /**
+     * Intern the restaurant of every favorite in place
+     */
+    public void internFavorites(List<FavoriteItem> favorites) {
+        if (favorites == null) {
+            return;
+        }
+        for (FavoriteItem favorite : favorites) {
+            if (favorite != null && favorite.getRestaurantData() != null) {
+                favorite.setRestaurantData(intern(favorite.getRestaurantData()));
+            }
+        }
+    }
+
+    /**
+     * The instance screens currently share for an id, or null if none is held any more
+     */
+    public synchronized Restaurant get(String id) {
+        if (id == null) {
+            return null;
+        }
+        Entry entry = entries.get(id);
+        return entry != null ? entry.get() : null;
+    }
+
+    public synchronized int size() {
+        expungeCleared();
+        return entries.size();
+    }
+
+    /**
+     * Number of parsed records that were replaced by an instance already in memory
+     */
+    public synchronized long getSharedCount() {
+        return sharedCount;
+    }
+
+    private static void inheritDetails(Restaurant fresh, Restaurant previous) {
+        if (fresh.getDescription() == null) fresh.setDescription(previous.getDescription());
+        if (fresh.getPhone() == null) fresh.setPhone(previous.getPhone());
+        if (fresh.getOpeningHours() == null) fresh.setOpeningHours(previous.getOpeningHours());
+        if (!fresh.hasLocation() && previous.hasLocation()) {
+            fresh.setLatitude(previous.getLatitude());
+            fresh.setLongitude(previous.getLongitude());
+        }
+    }
+
+    // Guarded by this
+    private void expungeCleared() {
+        Entry entry;
+        while ((entry = (Entry) cleared.poll()) != null) {
+            if (entries.get(entry.id) == entry) {
+                entries.remove(entry.id);
+            }
+        }
+    }
+
+    private static final class Entry extends WeakReference<Restaurant> {
+        final String id;
+
+        Entry(String id, Restaurant restaurant, ReferenceQueue<Restaurant> queue) {
+            super(restaurant, queue);
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package com.example.project.network;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.util.Log;
+
+import com.example.project.models.FavoriteItem;
+import com.example.project.models.Restaurant;
+import com.example.project.utils.AppLog;
+import com.example.project.utils.ConfigManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * On-device copy of the restaurants the API returned, kept in SQLite (WAL mode)
+ * Search results are stored in order so a cold start can show the last results for a query while
+ * the network request runs, and the favorites list is persisted here between syncs. Restaurants
+ * are merged by id, so a compact list row never erases details stored for the same restaurant.
+ * List writes and loads run on the store's own thread; favorites reads and writes block the caller.
+ */
+public class RestaurantStore {
+    private static final String TAG = "RestaurantStore";
+    private static final String DATABASE_NAME = "restaurants.db";
+    private static final int DATABASE_VERSION = 1;
+
+    private static final String SEARCH_LIST_PREFIX = "search:";
+    private static final String FAVORITES_VERSION_KEY = "favorites.version";
+
+    private static final String RESTAURANT_COLUMNS = "r.id, r.name, r.cuisine_type, r.rating, r.address, "
+            + "r.phone, r.description, r.hours, r.latitude, r.longitude";
+
+    /**
+     * Receives a stored list on the store's thread; empty if nothing was stored under the key
+     */
+    public interface ListCallback {
+        void onLoaded(List<Restaurant> restaurants);
+    }
+
+    /**
+     * Favorites as of the last sync and the server version they correspond to
+     */
+    public static final class FavoritesSnapshot {
+        private final String version;
+        private final List<FavoriteItem> favorites;
+
+        FavoritesSnapshot(String version, List<FavoriteItem> favorites) {
+            this.version = version;
+            this.favorites = favorites;
+        }
+
+        /** Null if no sync has been stored */
+        public String getVersion() { return version; }
+        public List<FavoriteItem> getFavorites() { return favorites; }
+    }
+
+    private static RestaurantStore instance;
+
+    private final Helper helper;
+    private final int maxSearchLists;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private RestaurantStore(Context context) {
+        this.helper = new Helper(context);
+        this.maxSearchLists = Math.max(1, ConfigManager.getInstance(context).getRestaurantStoreMaxLists());
+    }
+
+    public static synchronized RestaurantStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new RestaurantStore(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * List key for the first page of a search
+     * @param cacheKey the search's SearchResultCache key
+     */
+    public static String searchListKey(String cacheKey) {
+        return SEARCH_LIST_PREFIX + cacheKey;
+    }
+
+    /**
+     * Replace the list stored under the key; only the least recently saved searches are evicted
+     */
+    public void saveList(String listKey, List<Restaurant> restaurants) {
+        List<Restaurant> snapshot = new ArrayList<>(restaurants);
+        write("list " + listKey, db -> {
+            long now = System.currentTimeMillis();
+            db.delete("list_entries", "list_key = ?", new String[]{listKey});
+            ContentValues entry = new ContentValues();
+            int position = 0;
+            for (Restaurant restaurant : snapshot) {
+                if (restaurant == null) continue;
+                entry.put("list_key", listKey);
+                entry.put("position", position++);
+                entry.put("restaurant_key", upsert(db, restaurant, now));
+                db.insert("list_entries", null, entry);
+            }
+
+            ContentValues list = new ContentValues();
+            list.put("list_key", listKey);
+            list.put("saved_at", now);
+            db.insertWithOnConflict("lists", null, list, SQLiteDatabase.CONFLICT_REPLACE);
+
+            if (listKey.startsWith(SEARCH_LIST_PREFIX)) {
+                evictSearchLists(db);
+            }
+            AppLog.d(TAG, "💾 Stored {} restaurants as {}", position, listKey);
+        });
+    }
+
+    /**
+     * Merge one restaurant into the store, e.g. the full record loaded by the detail screen
+     */
+    public void saveRestaurant(Restaurant restaurant) {
+        write("restaurant " + restaurant.getName(), db -> upsert(db, restaurant, System.currentTimeMillis()));
+    }
+
+    /**
+     * Read a stored list in its saved order
+     * @return handle that stops the callback from being called
+     */
+    public RequestHandle loadList(String listKey, ListCallback callback) {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        executor.execute(() -> {
+            if (cancelled.get()) return;
+            List<Restaurant> restaurants;
+            try {
+                restaurants = queryList(listKey);
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Failed to read stored list " + listKey, e);
+                restaurants = Collections.emptyList();
+            }
+            if (!cancelled.get()) {
+                callback.onLoaded(restaurants);
+            }
+        });
+        return new RequestHandle() {
+            @Override
+            public void cancel() {
+                cancelled.set(true);
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return cancelled.get();
+            }
+        };
+    }
+
+    /**
+     * Favorites stored by the last sync, read on the calling thread
+     */
+    public FavoritesSnapshot readFavorites() {
+        try {
+            SQLiteDatabase db = helper.getReadableDatabase();
+            String version = null;
+            try (Cursor cursor = db.rawQuery("SELECT value FROM store_meta WHERE key = ?",
+                    new String[]{FAVORITES_VERSION_KEY})) {
+                if (cursor.moveToFirst()) {
+                    version = cursor.getString(0);
+                }
+            }
+
+            List<FavoriteItem> favorites = new ArrayList<>();
+            try (Cursor cursor = db.rawQuery("SELECT f.id, f.created_at, f.restaurant_key, " + RESTAURANT_COLUMNS
+                    + " FROM favorites f LEFT JOIN restaurants r ON r.key = f.restaurant_key ORDER BY f.position",
+                    null)) {
+                while (cursor.moveToNext()) {
+                    Restaurant restaurant = cursor.isNull(2) ? null : readRestaurant(cursor, 3);
+                    favorites.add(new FavoriteItem(cursor.getString(0), restaurant, cursor.getString(1)));
+                }
+            }
+            return new FavoritesSnapshot(version, favorites);
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Failed to read stored favorites", e);
+            return new FavoritesSnapshot(null, new ArrayList<>());
+        }
+    }
+
+    /**
+     * Replace the stored favorites with the result of a sync, on the calling thread
+     */
+    public void writeFavorites(String version, List<FavoriteItem> favorites) {
+        transaction("favorites", db -> {
+            long now = System.currentTimeMillis();
+            db.delete("favorites", null, null);
+            ContentValues row = new ContentValues();
+            int position = 0;
+            for (FavoriteItem item : favorites) {
+                if (item == null || item.getId() == null) continue;
+                row.put("id", item.getId());
+                row.put("position", position++);
+                row.put("created_at", item.getCreatedAt());
+                if (item.getRestaurantData() != null) {
+                    row.put("restaurant_key", upsert(db, item.getRestaurantData(), now));
+                } else {
+                    row.putNull("restaurant_key");
+                }
+                db.insert("favorites", null, row);
+            }
+
+            ContentValues meta = new ContentValues();
+            meta.put("key", FAVORITES_VERSION_KEY);
+            meta.put("value", version);
+            db.insertWithOnConflict("store_meta", null, meta, SQLiteDatabase.CONFLICT_REPLACE);
+        });
+    }
+
+    /**
+     * Forget the stored favorites, e.g. when the user logs out; on the calling thread
+     */
+    public void clearFavorites() {
+        transaction("favorites", db -> {
+            db.delete("favorites", null, null);
+            db.delete("store_meta", "key = ?", new String[]{FAVORITES_VERSION_KEY});
+        });
+    }
+
+    private List<Restaurant> queryList(String listKey) {
+        List<Restaurant> restaurants = new ArrayList<>();
+        try (Cursor cursor = helper.getReadableDatabase().rawQuery("SELECT " + RESTAURANT_COLUMNS
+                + " FROM list_entries e JOIN restaurants r ON r.key = e.restaurant_key"
+                + " WHERE e.list_key = ? ORDER BY e.position", new String[]{listKey})) {
+            while (cursor.moveToNext()) {
+                restaurants.add(readRestaurant(cursor, 0));
+            }
+        }
+        return restaurants;
+    }
+
+    /**
+     * Keep the most recently saved searches and drop restaurants no longer in any list or favorite
+     */
+    private void evictSearchLists(SQLiteDatabase db) {
+        String prefix = SEARCH_LIST_PREFIX + "%";
+        int evicted = db.delete("lists", "list_key LIKE ? AND list_key NOT IN (SELECT list_key FROM lists"
+                + " WHERE list_key LIKE ? ORDER BY saved_at DESC LIMIT " + maxSearchLists + ")",
+                new String[]{prefix, prefix});
+        if (evicted == 0) {
+            return;
+        }
+        db.delete("list_entries", "list_key NOT IN (SELECT list_key FROM lists)", null);
+        int orphans = db.delete("restaurants", "key NOT IN (SELECT restaurant_key FROM list_entries)"
+                + " AND key NOT IN (SELECT restaurant_key FROM favorites WHERE restaurant_key IS NOT NULL)", null);
+        AppLog.d(TAG, "Evicted {} stored searches and {} restaurants", evicted, orphans);
+    }
+
+    /**
+     * Insert a restaurant or update the stored row; detail fields the record lacks are kept
+     * @return the row key
+     */
+    private static String upsert(SQLiteDatabase db, Restaurant restaurant, long now) {
+        String key = keyOf(restaurant);
+        ContentValues values = new ContentValues();
+        values.put("id", restaurant.getId());
+        values.put("name", restaurant.getName());
+        values.put("cuisine_type", restaurant.getCuisineType());
+        values.put("rating", restaurant.getRating());
+        values.put("address", restaurant.getAddress());
+        if (restaurant.getPhone() != null) values.put("phone", restaurant.getPhone());
+        if (restaurant.getDescription() != null) values.put("description", restaurant.getDescription());
+        if (restaurant.getHours() != null) values.put("hours", ModelTypeAdapters.STRING_MAP.toJson(restaurant.getHours()));
+        if (restaurant.getLatitude() != null) values.put("latitude", restaurant.getLatitude());
+        if (restaurant.getLongitude() != null) values.put("longitude", restaurant.getLongitude());
+        values.put("updated_at", now);
+
+        if (db.update("restaurants", values, "key = ?", new String[]{key}) == 0) {
+            values.put("key", key);
+            db.insert("restaurants", null, values);
+        }
+        return key;
+    }
+
+    /**
+     * Rows are keyed by id; records from servers that send no id fall back to name and address
+     */
+    private static String keyOf(Restaurant restaurant) {
+        if (restaurant.getId() != null) {
+            return restaurant.getId();
+        }
+        return "~" + restaurant.getName() + "|" + restaurant.getAddress();
+    }
+
+    /**
+     * Read the RESTAURANT_COLUMNS starting at the given column
+     */
+    private static Restaurant readRestaurant(Cursor cursor, int first) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(cursor.getString(first));
+        restaurant.setName(cursor.getString(first + 1));
+        restaurant.setCuisineType(cursor.getString(first + 2));
+        restaurant.setRating(cursor.getDouble(first + 3));
+        restaurant.setAddress(cursor.getString(first + 4));
+        restaurant.setPhone(cursor.getString(first + 5));
+        restaurant.setDescription(cursor.getString(first + 6));
+        if (!cursor.isNull(first + 7)) {
+            restaurant.setHours(readHours(cursor.getString(first + 7)));
+        }
+        if (!cursor.isNull(first + 8)) restaurant.setLatitude(cursor.getDouble(first + 8));
+        if (!cursor.isNull(first + 9)) restaurant.setLongitude(cursor.getDouble(first + 9));
+        return restaurant;
+    }
+
+    private static Map<String, String> readHours(String json) {
+        try {
+            return ModelTypeAdapters.STRING_MAP.fromJson(json);
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Ignoring unreadable stored hours: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Run a write on the store's thread
+     */
+    private void write(String what, Consumer<SQLiteDatabase> work) {
+        executor.execute(() -> transaction(what, work));
+    }
+
+    private void transaction(String what, Consumer<SQLiteDatabase> work) {
+        SQLiteDatabase db;
+        try {
+            db = helper.getWritableDatabase();
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Restaurant store unavailable, not storing " + what, e);
+            return;
+        }
+        db.beginTransactionNonExclusive();
+        try {
+            work.accept(db);
+            db.setTransactionSuccessful();
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Failed to store " + what, e);
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private static final class Helper extends SQLiteOpenHelper {
+
+        Helper(Context context) {
+            super(context, DATABASE_NAME, null, DATABASE_VERSION);
+            // Readers never wait for the store's writer
+            setWriteAheadLoggingEnabled(true);
+        }
+
+        @Override
+        public void onCreate(SQLiteDatabase db) {
+            db.execSQL("CREATE TABLE restaurants ("
+                    + "key TEXT PRIMARY KEY, id TEXT, name TEXT, cuisine_type TEXT, rating REAL, address TEXT, "
+                    + "phone TEXT, description TEXT, hours TEXT, latitude REAL, longitude REAL, "
+                    + "updated_at INTEGER NOT NULL)");
+            db.execSQL("CREATE INDEX restaurants_id ON restaurants (id)");
+            db.execSQL("CREATE INDEX restaurants_name ON restaurants (name COLLATE NOCASE)");
+            db.execSQL("CREATE INDEX restaurants_cuisine ON restaurants (cuisine_type COLLATE NOCASE)");
+
+            db.execSQL("CREATE TABLE lists (list_key TEXT PRIMARY KEY, saved_at INTEGER NOT NULL)");
+            db.execSQL("CREATE TABLE list_entries ("
+                    + "list_key TEXT NOT NULL, position INTEGER NOT NULL, restaurant_key TEXT NOT NULL, "
+                    + "PRIMARY KEY (list_key, position))");
+            db.execSQL("CREATE INDEX list_entries_restaurant ON list_entries (restaurant_key)");
+
+            db.execSQL("CREATE TABLE favorites ("
+                    + "id TEXT PRIMARY KEY, position INTEGER NOT NULL, restaurant_key TEXT, created_at TEXT)");
+            db.execSQL("CREATE TABLE store_meta (key TEXT PRIMARY KEY, value TEXT)");
+        }
+
+        @Override
+        public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+            // Everything here can be downloaded again
+            db.execSQL("DROP TABLE IF EXISTS restaurants");
+            db.execSQL("DROP TABLE IF EXISTS lists");
+            db.execSQL("DROP TABLE IF EXISTS list_entries");
+            db.execSQL("DROP TABLE IF EXISTS favorites");
+            db.execSQL("DROP TABLE IF EXISTS store_meta");
+            onCreate(db);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.project.network;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How often and how patiently a request to one endpoint is retried
+ * Delays grow exponentially from the base delay and are jittered so clients that failed
+ * together do not retry together. A Retry-After longer than the maximum delay is not waited for.
+ */
+public class RetryPolicy {
+
+    public static final RetryPolicy NONE = new RetryPolicy(1, 0, 0);
+
+    private final int maxAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+
+    /**
+     * @param maxAttempts total attempts including the first one
+     */
+    public RetryPolicy(int maxAttempts, long baseDelayMs, long maxDelayMs) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+    }
+
+    public int getMaxAttempts() { return maxAttempts; }
+    public long getBaseDelayMs() { return baseDelayMs; }
+    public long getMaxDelayMs() { return maxDelayMs; }
+
+    public boolean canRetry(int attempt) {
+        return attempt < maxAttempts;
+    }
+
+    /**
+     * "Full jitter" delay before the next attempt: random between 0 and the exponential cap
+     * @param attempt the attempt that just failed, starting at 1
+     */
+    public long backoffDelayMs(int attempt) {
+        long cap = Math.min(maxDelayMs, baseDelayMs << Math.min(attempt - 1, 16));
+        return cap > 0 ? ThreadLocalRandom.current().nextLong(cap + 1) : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy{" +
+                "maxAttempts=" + maxAttempts +
+                ", baseDelayMs=" + baseDelayMs +
+                ", maxDelayMs=" + maxDelayMs +
+                '}';
+    }
+}
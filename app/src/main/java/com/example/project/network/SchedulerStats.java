@@ -0,0 +1,71 @@
+package com.example.project.network;
+
+import java.util.Map;
+
+/**
+ * Snapshot of request scheduling per priority class
+ */
+public class SchedulerStats {
+    private final int maxConcurrent;
+    private final int running;
+    private final Map<RequestScheduler.Priority, ClassStats> classes;
+
+    public SchedulerStats(int maxConcurrent, int running, Map<RequestScheduler.Priority, ClassStats> classes) {
+        this.maxConcurrent = maxConcurrent;
+        this.running = running;
+        this.classes = classes;
+    }
+
+    public int getMaxConcurrent() { return maxConcurrent; }
+    public int getRunning() { return running; }
+    public ClassStats get(RequestScheduler.Priority priority) { return classes.get(priority); }
+
+    @Override
+    public String toString() {
+        return "SchedulerStats{" +
+                "running=" + running + "/" + maxConcurrent +
+                ", classes=" + classes +
+                '}';
+    }
+
+    /**
+     * Queue and concurrency counters for one priority class
+     */
+    public static class ClassStats {
+        private final int queued;
+        private final int running;
+        private final long startedCount;
+        private final long waitedCount;
+        private final long averageQueueMs;
+        private final long maxQueueMs;
+
+        public ClassStats(int queued, int running, long startedCount, long waitedCount,
+                          long averageQueueMs, long maxQueueMs) {
+            this.queued = queued;
+            this.running = running;
+            this.startedCount = startedCount;
+            this.waitedCount = waitedCount;
+            this.averageQueueMs = averageQueueMs;
+            this.maxQueueMs = maxQueueMs;
+        }
+
+        public int getQueued() { return queued; }
+        public int getRunning() { return running; }
+        public long getStartedCount() { return startedCount; }
+        /** Calls that could not start as soon as they were queued */
+        public long getWaitedCount() { return waitedCount; }
+        public long getAverageQueueMs() { return averageQueueMs; }
+        public long getMaxQueueMs() { return maxQueueMs; }
+
+        @Override
+        public String toString() {
+            return "{queued=" + queued +
+                    ", running=" + running +
+                    ", started=" + startedCount +
+                    ", waited=" + waitedCount +
+                    ", avgQueue=" + averageQueueMs + "ms" +
+                    ", maxQueue=" + maxQueueMs + "ms" +
+                    '}';
+        }
+    }
+}
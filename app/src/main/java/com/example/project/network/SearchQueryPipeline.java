@@ -0,0 +1,246 @@
+package com.example.project.network;
+
+import android.os.Handler;
+import android.os.SystemClock;
+
+import com.example.project.models.SearchResponse;
+import com.example.project.utils.AppLog;
+
+/**
+ * Search-as-you-type pipeline
+ * Debounces keystrokes with a delay adapted to the user's typing speed, skips queries shorter
+ * than the minimum length, cancels superseded requests and only delivers results that belong
+ * to the latest query generation. Further pages of the current query are loaded on demand
+ * with {@link #loadNextPage()}. Must be used from the main thread.
+ */
+public class SearchQueryPipeline {
+    private static final String TAG = "SearchQueryPipeline";
+
+    // Typing pauses longer than this are not counted towards the typing speed
+    private static final long MAX_KEYSTROKE_INTERVAL_MS = 2000;
+    private static final double DEBOUNCE_FACTOR = 1.5;
+
+    /**
+     * Receives search progress on the main thread
+     */
+    public interface Listener {
+        void onSearchStarted(String query);
+        void onSearchResults(String query, SearchResponse response);
+        void onMoreResults(String query, SearchResponse page);
+        void onSearchError(String query, String error);
+        void onQueryCleared();
+    }
+
+    private final ApiClient apiClient;
+    private final Handler mainHandler;
+    private final String location;
+    private final int minQueryLength;
+    private final long minDebounceMs;
+    private final long maxDebounceMs;
+    private final Listener listener;
+
+    private int generation = 0;
+    private RequestHandle inFlight;
+    private RequestHandle pageInFlight;
+    private String nextCursor;
+    private Runnable pendingSearch;
+    private String activeQuery;
+    private long lastKeystrokeAt = 0;
+    private double keystrokeIntervalMs;
+
+    public SearchQueryPipeline(ApiClient apiClient, Handler mainHandler, String location,
+                               int minQueryLength, long minDebounceMs, long maxDebounceMs,
+                               Listener listener) {
+        this.apiClient = apiClient;
+        this.mainHandler = mainHandler;
+        this.location = location;
+        this.minQueryLength = minQueryLength;
+        this.minDebounceMs = minDebounceMs;
+        this.maxDebounceMs = maxDebounceMs;
+        this.listener = listener;
+        this.keystrokeIntervalMs = minDebounceMs;
+    }
+
+    /**
+     * Feed the current search text; a search starts once the user pauses typing
+     */
+    public void onQueryChanged(String text) {
+        String query = text != null ? text.trim() : "";
+        trackTypingSpeed();
+        cancelPending();
+
+        if (query.length() < minQueryLength) {
+            cancelInFlight();
+            activeQuery = null;
+            generation++;
+            listener.onQueryCleared();
+            return;
+        }
+
+        // Already loading or showing this query
+        if (query.equals(activeQuery)) {
+            return;
+        }
+
+        long delay = getDebounceMs();
+        pendingSearch = () -> {
+            pendingSearch = null;
+            startSearch(query);
+        };
+        mainHandler.postDelayed(pendingSearch, delay);
+    }
+
+    /**
+     * Search immediately, e.g. when the user presses the search button
+     * @return false if the query is shorter than the minimum length
+     */
+    public boolean submit(String text) {
+        String query = text != null ? text.trim() : "";
+        if (query.length() < minQueryLength) {
+            return false;
+        }
+        cancelPending();
+        startSearch(query);
+        return true;
+    }
+
+    /**
+     * Drop any pending or in-flight search; late results are ignored
+     */
+    public void cancel() {
+        cancelPending();
+        cancelInFlight();
+        activeQuery = null;
+        generation++;
+    }
+
+    /**
+     * Load the page after the last one delivered, e.g. when the list is scrolled near its end
+     * @return false if there is no further page or one is already loading
+     */
+    public boolean loadNextPage() {
+        if (activeQuery == null || nextCursor == null || pageInFlight != null) {
+            return false;
+        }
+        String query = activeQuery;
+        String cursor = nextCursor;
+        int requestGeneration = generation;
+        AppLog.d(TAG, "Loading next page of search #{}", requestGeneration);
+
+        pageInFlight = apiClient.searchRestaurants(query, location, cursor, new ApiClient.SearchCallback() {
+            @Override
+            public void onSuccess(SearchResponse response) {
+                mainHandler.post(() -> {
+                    if (isCurrent(requestGeneration)) {
+                        pageInFlight = null;
+                        nextCursor = response.hasMorePages() ? response.getNextCursor() : null;
+                        listener.onMoreResults(query, response);
+                    }
+                });
+            }
+
+            @Override
+            public void onError(String error) {
+                mainHandler.post(() -> {
+                    if (isCurrent(requestGeneration)) {
+                        // Keep the cursor so the next scroll tries again
+                        pageInFlight = null;
+                        AppLog.w(TAG, "Loading next page failed: " + error);
+                    }
+                });
+            }
+        });
+        return true;
+    }
+
+    public boolean hasMorePages() {
+        return nextCursor != null;
+    }
+
+    public int getMinQueryLength() {
+        return minQueryLength;
+    }
+
+    /**
+     * Current debounce delay: a bit longer than the user's typical keystroke interval
+     */
+    public long getDebounceMs() {
+        long delay = Math.round(keystrokeIntervalMs * DEBOUNCE_FACTOR);
+        return Math.max(minDebounceMs, Math.min(maxDebounceMs, delay));
+    }
+
+    private void startSearch(String query) {
+        cancelInFlight();
+        int requestGeneration = ++generation;
+        activeQuery = query;
+        AppLog.d(TAG, "Starting search #{} for: {}", requestGeneration, query);
+        listener.onSearchStarted(query);
+
+        inFlight = apiClient.searchRestaurants(query, location, new ApiClient.SearchCallback() {
+            @Override
+            public void onSuccess(SearchResponse response) {
+                mainHandler.post(() -> {
+                    if (isCurrent(requestGeneration)) {
+                        // A stale-while-revalidate refresh replaces the first page, so restart paging too
+                        cancelPageInFlight();
+                        nextCursor = response.hasMorePages() ? response.getNextCursor() : null;
+                        listener.onSearchResults(query, response);
+                    }
+                });
+            }
+
+            @Override
+            public void onError(String error) {
+                mainHandler.post(() -> {
+                    if (isCurrent(requestGeneration)) {
+                        activeQuery = null;
+                        listener.onSearchError(query, error);
+                    }
+                });
+            }
+        });
+    }
+
+    private boolean isCurrent(int requestGeneration) {
+        if (requestGeneration != generation) {
+            AppLog.d(TAG, "Dropping results of superseded search #{}", requestGeneration);
+            return false;
+        }
+        return true;
+    }
+
+    private void trackTypingSpeed() {
+        long now = SystemClock.uptimeMillis();
+        if (lastKeystrokeAt != 0) {
+            long interval = now - lastKeystrokeAt;
+            if (interval < MAX_KEYSTROKE_INTERVAL_MS) {
+                // Exponential moving average of the time between keystrokes
+                keystrokeIntervalMs = 0.7 * keystrokeIntervalMs + 0.3 * interval;
+            }
+        }
+        lastKeystrokeAt = now;
+    }
+
+    private void cancelPending() {
+        if (pendingSearch != null) {
+            mainHandler.removeCallbacks(pendingSearch);
+            pendingSearch = null;
+        }
+    }
+
+    private void cancelInFlight() {
+        if (inFlight != null) {
+            inFlight.cancel();
+            inFlight = null;
+        }
+        cancelPageInFlight();
+        nextCursor = null;
+    }
+
+    private void cancelPageInFlight() {
+        if (pageInFlight != null) {
+            pageInFlight.cancel();
+            pageInFlight = null;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.project.network;
+
+import android.os.SystemClock;
+import android.util.LruCache;
+
+import com.example.project.models.SearchResponse;
+
+import java.util.Locale;
+
+/**
+ * Bounded in-memory LRU cache of search results keyed by the normalized (query, location) pair
+ * Entries younger than the TTL are served as-is; older entries are served stale while a
+ * background refresh runs, until they pass the max-stale limit
+ */
+public class SearchResultCache {
+
+    private final LruCache<String, Entry> entries;
+    private final long ttlMillis;
+    private final long maxStaleMillis;
+
+    public SearchResultCache(int maxEntries, long ttlMillis, long maxStaleMillis) {
+        this.entries = new LruCache<>(maxEntries);
+        this.ttlMillis = ttlMillis;
+        this.maxStaleMillis = maxStaleMillis;
+    }
+
+    /**
+     * Build a cache key so that "Pizza " and "pizza" share an entry
+     */
+    public static String key(String query, String location) {
+        return normalize(query) + "|" + normalize(location);
+    }
+
+    private static String normalize(String value) {
+        if (value == null) return "";
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Get a cached entry, or null if there is none or it is too old to show
+     */
+    public Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) return null;
+        if (entry.getAgeMillis() > maxStaleMillis) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    public void put(String key, SearchResponse response) {
+        entries.put(key, new Entry(response, SystemClock.elapsedRealtime(), ttlMillis));
+    }
+
+    public void clear() {
+        entries.evictAll();
+    }
+
+    public int getHitCount() { return entries.hitCount(); }
+    public int getMissCount() { return entries.missCount(); }
+
+    /**
+     * A cached search response with the time it was stored
+     */
+    public static class Entry {
+        private final SearchResponse response;
+        private final long storedAt;
+        private final long ttlMillis;
+
+        Entry(SearchResponse response, long storedAt, long ttlMillis) {
+            this.response = response;
+            this.storedAt = storedAt;
+            this.ttlMillis = ttlMillis;
+        }
+
+        public SearchResponse getResponse() { return response; }
+
+        public long getAgeMillis() {
+            return SystemClock.elapsedRealtime() - storedAt;
+        }
+
+        public boolean isFresh() {
+            return getAgeMillis() <= ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.project.network;
+
+import android.util.Base64;
+import android.util.Log;
+
+import com.example.project.models.AuthRequest;
+import com.example.project.models.AuthResponse;
+import com.example.project.utils.AppLog;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Holds the access/refresh token pair and refreshes it against the auth refresh endpoint
+ * Refreshes are single-flight: concurrent callers that need a new token wait for one
+ * refresh call instead of each starting their own. Blocking methods must not be called
+ * on the main thread; they are meant for OkHttp interceptor threads.
+ */
+public class TokenManager {
+    private static final String TAG = "TokenManager";
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    private final OkHttpClient refreshClient;
+    private final Gson gson;
+    private final String refreshUrl;
+    private final long refreshSkewMillis;
+
+    private String accessToken;
+    private String refreshToken;
+    private long expiresAtMillis;
+    private CompletableFuture<String> inFlightRefresh;
+    private int refreshCount = 0;
+    private volatile Runnable onSessionRevoked;
+
+    /**
+     * @param refreshClient client without the auth interceptor, so refreshing cannot recurse
+     * @param refreshSkewMillis refresh this long before the access token actually expires
+     */
+    public TokenManager(OkHttpClient refreshClient, Gson gson, String refreshUrl, long refreshSkewMillis) {
+        this.refreshClient = refreshClient;
+        this.gson = gson;
+        this.refreshUrl = refreshUrl;
+        this.refreshSkewMillis = refreshSkewMillis;
+    }
+
+    /**
+     * Store tokens from an auth response, taking the expiry from the session or the token itself
+     */
+    public void setTokens(AuthResponse response) {
+        setTokens(response.getAccessToken(), response.getRefreshToken(), resolveExpiry(response));
+    }
+
+    /**
+     * @param expiresAtMillis wall-clock expiry, or 0 if unknown (the token is then only refreshed on 401)
+     */
+    public synchronized void setTokens(String accessToken, String refreshToken, long expiresAtMillis) {
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+        this.expiresAtMillis = expiresAtMillis > 0 ? expiresAtMillis : readJwtExpiry(accessToken);
+    }
+
+    /**
+     * Run the listener when the server rejects the refresh token, after the tokens are cleared
+     */
+    public void setOnSessionRevokedListener(Runnable listener) {
+        this.onSessionRevoked = listener;
+    }
+
+    public synchronized void clear() {
+        accessToken = null;
+        refreshToken = null;
+        expiresAtMillis = 0;
+    }
+
+    public synchronized String getAccessToken() {
+        return accessToken;
+    }
+
+    /**
+     * The "sub" claim of the access token, identifying the user, or null if it is not a readable JWT
+     */
+    public synchronized String getSubject() {
+        return readJwtClaim(accessToken, "sub");
+    }
+
+    public synchronized boolean hasAccessToken() {
+        return accessToken != null && !accessToken.trim().isEmpty();
+    }
+
+    /**
+     * Whether the access token expires within the refresh skew and can be refreshed
+     */
+    public synchronized boolean isExpiringSoon() {
+        return expiresAtMillis > 0 && refreshToken != null
+                && System.currentTimeMillis() >= expiresAtMillis - refreshSkewMillis;
+    }
+
+    public synchronized int getRefreshCount() {
+        return refreshCount;
+    }
+
+    /**
+     * Get a fresh access token to replace the stale one, refreshing at most once for concurrent callers
+     * @param staleToken the token the caller used; if it was already replaced, the current token is returned
+     * @return the new access token, or null if the session could not be refreshed
+     */
+    public String refreshBlocking(String staleToken) {
+        CompletableFuture<String> refresh;
+        boolean leader = false;
+        String currentRefreshToken;
+
+        synchronized (this) {
+            if (accessToken != null && !accessToken.equals(staleToken) && !isExpiringSoon()) {
+                // Another caller already refreshed
+                return accessToken;
+            }
+            if (refreshToken == null) {
+                return null;
+            }
+            if (inFlightRefresh == null) {
+                inFlightRefresh = new CompletableFuture<>();
+                leader = true;
+            }
+            refresh = inFlightRefresh;
+            currentRefreshToken = refreshToken;
+        }
+
+        if (leader) {
+            String newToken = executeRefresh(currentRefreshToken);
+            synchronized (this) {
+                inFlightRefresh = null;
+            }
+            refresh.complete(newToken);
+            return newToken;
+        }
+
+        AppLog.d(TAG, "Waiting on in-flight token refresh");
+        try {
+            return refresh.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private String executeRefresh(String currentRefreshToken) {
+        AppLog.d(TAG, "🔄 Refreshing access token");
+        String jsonBody = gson.toJson(new AuthRequest.RefreshTokenRequest(currentRefreshToken));
+        Request request = new Request.Builder()
+                .url(refreshUrl)
+                .post(RequestBody.create(jsonBody, JSON))
+                .build();
+
+        try (Response response = refreshClient.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                Log.w(TAG, "Token refresh rejected: HTTP " + response.code());
+                if (response.code() == 400 || response.code() == 401 || response.code() == 403) {
+                    // The refresh token itself is no longer valid; the user has to log in again
+                    clear();
+                    Runnable listener = onSessionRevoked;
+                    if (listener != null) {
+                        listener.run();
+                    }
+                }
+                return null;
+            }
+
+            AuthResponse authResponse;
+            try (ResponseBody body = response.body()) {
+                authResponse = body != null ? gson.fromJson(body.charStream(), AuthResponse.class) : null;
+            }
+            String newAccessToken = authResponse != null ? authResponse.getAccessToken() : null;
+            if (newAccessToken == null || newAccessToken.trim().isEmpty()) {
+                Log.w(TAG, "Token refresh response did not contain an access token");
+                return null;
+            }
+
+            // Servers that don't rotate refresh tokens omit it from the response
+            String newRefreshToken = authResponse.getRefreshToken() != null
+                    ? authResponse.getRefreshToken() : currentRefreshToken;
+            synchronized (this) {
+                setTokens(newAccessToken, newRefreshToken, resolveExpiry(authResponse));
+                refreshCount++;
+            }
+            AppLog.d(TAG, "🔑 Access token refreshed");
+            return newAccessToken;
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Token refresh failed: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static long resolveExpiry(AuthResponse response) {
+        AuthResponse.Session session = response.getSession();
+        if (session != null) {
+            if (session.getExpiresAt() > 0) return session.getExpiresAt() * 1000L;
+            if (session.getExpiresIn() > 0) return System.currentTimeMillis() + session.getExpiresIn() * 1000L;
+        }
+        return 0;
+    }
+
+    /**
+     * Read the "exp" claim of a JWT access token, or 0 if the token is not a readable JWT
+     */
+    private static long readJwtExpiry(String token) {
+        String exp = readJwtClaim(token, "exp");
+        try {
+            return exp != null ? Long.parseLong(exp) * 1000L : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Read a top-level string or number claim of a JWT, or null if the token is not a readable JWT
+     */
+    private static String readJwtClaim(String token, String claim) {
+        if (token == null) return null;
+        String[] parts = token.split("\\.");
+        if (parts.length < 2) return null;
+
+        try {
+            byte[] payload = Base64.decode(parts[1], Base64.URL_SAFE | Base64.NO_WRAP | Base64.NO_PADDING);
+            try (JsonReader reader = new JsonReader(new StringReader(new String(payload, StandardCharsets.UTF_8)))) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if (claim.equals(reader.nextName())) {
+                        // nextString() also reads numbers
+                        return reader.nextString();
+                    }
+                    reader.skipValue();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            AppLog.d(TAG, "Access token is not a readable JWT: {}", e.getMessage());
+        }
+        return null;
+    }
+}
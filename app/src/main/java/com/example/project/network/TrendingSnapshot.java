@@ -0,0 +1,255 @@
+package com.example.project.network;
+
+import android.content.Context;
+import android.util.AtomicFile;
+import android.util.Log;
+
+import com.example.project.models.Restaurant;
+import com.example.project.utils.AppLog;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The last trending result as a compact binary file, so the home screen can show real cards in
+ * its first frame
+ * The file is memory-mapped and each restaurant is decoded only when its card asks for it.
+ * Layout (big-endian): magic, count, one absolute offset per record, then the records. A record
+ * holds id, name, cuisine type and address as length-prefixed UTF-8 (length -1 for null), the
+ * rating, and a location flag followed by latitude and longitude when set. Only list fields are
+ * kept; the detail screen loads the rest by id.
+ */
+public class TrendingSnapshot {
+    private static final String TAG = "TrendingSnapshot";
+    private static final String SNAPSHOT_FILE = "trending.snapshot";
+    private static final int MAGIC = 0x54524e31; // "TRN1"
+    private static final int HEADER_BYTES = 8;
+
+    /** Only the first cards are shown; there is no point keeping the rest */
+    static final int MAX_RESTAURANTS = 20;
+
+    private static TrendingSnapshot instance;
+
+    private final AtomicFile file;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private TrendingSnapshot(Context context) {
+        this.file = new AtomicFile(new File(context.getFilesDir(), SNAPSHOT_FILE));
+    }
+
+    public static synchronized TrendingSnapshot getInstance(Context context) {
+        if (instance == null) {
+            instance = new TrendingSnapshot(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Map the stored snapshot; cheap enough for the main thread since nothing is decoded yet
+     * @return restaurants decoded on first access, or an empty list if there is no usable snapshot
+     */
+    public List<Restaurant> load() {
+        try (FileInputStream in = file.openRead(); FileChannel channel = in.getChannel()) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            List<Restaurant> restaurants = wrap(buffer);
+            AppLog.d(TAG, "Mapped trending snapshot with {} restaurants", restaurants.size());
+            return restaurants;
+        } catch (FileNotFoundException e) {
+            // Trending has never loaded on this device
+            return Collections.emptyList();
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Ignoring unreadable trending snapshot: " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Delete a snapshot whose records turned out to be unreadable, so the next launch starts clean
+     */
+    public void discard() {
+        executor.execute(file::delete);
+    }
+
+    /**
+     * Replace the snapshot with a fresh trending result; encoded now, written in the background
+     */
+    public void save(List<Restaurant> restaurants) {
+        byte[] encoded;
+        try {
+            encoded = encode(restaurants);
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to encode trending snapshot", e);
+            return;
+        }
+        executor.execute(() -> {
+            FileOutputStream out = null;
+            try {
+                out = file.startWrite();
+                out.write(encoded);
+                file.finishWrite(out);
+            } catch (IOException e) {
+                Log.w(TAG, "Failed to write trending snapshot", e);
+                if (out != null) {
+                    file.failWrite(out);
+                }
+            }
+        });
+    }
+
+    static byte[] encode(List<Restaurant> restaurants) throws IOException {
+        List<byte[]> records = new ArrayList<>();
+        for (Restaurant restaurant : restaurants) {
+            if (restaurant == null) continue;
+            records.add(encodeRecord(restaurant));
+            if (records.size() == MAX_RESTAURANTS) break;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(records.size());
+        int offset = HEADER_BYTES + 4 * records.size();
+        for (byte[] record : records) {
+            out.writeInt(offset);
+            offset += record.length;
+        }
+        for (byte[] record : records) {
+            out.write(record);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeRecord(Restaurant restaurant) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeString(out, restaurant.getId());
+        writeString(out, restaurant.getName());
+        writeString(out, restaurant.getCuisineType());
+        writeString(out, restaurant.getAddress());
+        out.writeDouble(restaurant.getRating());
+        if (restaurant.hasLocation()) {
+            out.writeByte(1);
+            out.writeDouble(restaurant.getLatitude());
+            out.writeDouble(restaurant.getLongitude());
+        } else {
+            out.writeByte(0);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        // Longer text is not worth keeping for a card
+        int length = Math.min(utf8.length, Short.MAX_VALUE);
+        out.writeShort(length);
+        out.write(utf8, 0, length);
+    }
+
+    /**
+     * View an encoded snapshot as a list; the header and each record's extent are checked up front
+     * Records are only decoded on access, and a record whose content does not exactly fill its
+     * extent makes get() throw IllegalStateException.
+     */
+    static List<Restaurant> wrap(ByteBuffer buffer) throws IOException {
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a trending snapshot");
+        }
+        int count = buffer.getInt(4);
+        int recordsStart = HEADER_BYTES + 4 * count;
+        if (count < 0 || count > MAX_RESTAURANTS || recordsStart > buffer.limit()) {
+            throw new IOException("Corrupt trending snapshot header");
+        }
+        // Records follow each other in order, each one running up to the next
+        int previous = recordsStart - 1;
+        for (int i = 0; i < count; i++) {
+            int offset = buffer.getInt(HEADER_BYTES + 4 * i);
+            if (offset <= previous || offset >= buffer.limit()) {
+                throw new IOException("Corrupt trending snapshot offset");
+            }
+            previous = offset;
+        }
+        return new MappedRestaurants(buffer, count);
+    }
+
+    /**
+     * Decodes a record the first time it is read and keeps the result
+     */
+    private static final class MappedRestaurants extends AbstractList<Restaurant> {
+        private final ByteBuffer buffer;
+        private final Restaurant[] decoded;
+
+        MappedRestaurants(ByteBuffer buffer, int count) {
+            this.buffer = buffer;
+            this.decoded = new Restaurant[count];
+        }
+
+        @Override
+        public synchronized Restaurant get(int index) {
+            if (decoded[index] == null) {
+                decoded[index] = decode(index);
+            }
+            return decoded[index];
+        }
+
+        @Override
+        public int size() {
+            return decoded.length;
+        }
+
+        private Restaurant decode(int index) {
+            int end = index + 1 < decoded.length ? buffer.getInt(HEADER_BYTES + 4 * (index + 1)) : buffer.limit();
+            ByteBuffer record = buffer.duplicate();
+            record.position(buffer.getInt(HEADER_BYTES + 4 * index));
+            record.limit(end);
+            try {
+                Restaurant restaurant = new Restaurant();
+                restaurant.setId(readString(record));
+                restaurant.setName(readString(record));
+                restaurant.setCuisineType(readString(record));
+                restaurant.setAddress(readString(record));
+                restaurant.setRating(record.getDouble());
+                if (record.get() == 1) {
+                    restaurant.setLatitude(record.getDouble());
+                    restaurant.setLongitude(record.getDouble());
+                }
+                if (record.hasRemaining()) {
+                    throw new IllegalStateException("Garbled trending snapshot record " + index);
+                }
+                return restaurant;
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                throw new IllegalStateException("Truncated trending snapshot record " + index, e);
+            }
+        }
+
+        private static String readString(ByteBuffer record) {
+            int length = record.getShort();
+            if (length < 0) {
+                return null;
+            }
+            byte[] utf8 = new byte[length];
+            record.get(utf8);
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -3,13 +3,13 @@ package com.example.project.services;
 import android.content.Context;
 import android.util.Log;
 
+import com.example.project.network.HttpClientProvider;
 import com.example.project.utils.ConfigManager;
 import com.google.android.gms.maps.model.LatLng;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 import okhttp3.Call;
 import okhttp3.Callback;
@@ -25,20 +25,45 @@ public class DirectionsService {
     private static final String TAG = "DirectionsService";
     private static final String DIRECTIONS_API_BASE_URL = "https://maps.googleapis.com/maps/api/directions/json";
     
+    private static DirectionsService instance;
+    
     private final OkHttpClient client;
+    private final HttpClientProvider httpClientProvider;
     private final String apiKey;
     
-    public DirectionsService(Context context) {
-        this.client = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
+    private DirectionsService(Context context) {
+        ConfigManager configManager = ConfigManager.getInstance(context);
+        
+        // Reuse the app-wide connection pool so repeated map opens skip the TLS handshake
+        this.httpClientProvider = HttpClientProvider.getInstance(context);
+        this.client = httpClientProvider
+                .newClientBuilder(configManager.getDirectionsTimeoutSeconds())
                 .build();
         
         // Get API key from config
-        ConfigManager configManager = ConfigManager.getInstance(context);
         this.apiKey = configManager.getGoogleMapsApiKey();
     }
     
+    public static synchronized DirectionsService getInstance(Context context) {
+        if (instance == null) {
+            instance = new DirectionsService(context.getApplicationContext());
+        }
+        return instance;
+    }
+    
+    /**
+     * Open a connection to the Directions host in the background, if the API key is configured
+     */
+    public void prewarmConnection() {
+        if (isApiKeyConfigured()) {
+            httpClientProvider.prewarm(DIRECTIONS_API_BASE_URL);
+        }
+    }
+    
+    private boolean isApiKeyConfigured() {
+        return apiKey != null && !apiKey.isEmpty() && !apiKey.equals("YOUR_GOOGLE_MAPS_API_KEY_HERE");
+    }
+    
     /**
      * Interface for handling directions API responses
      */
@@ -73,7 +98,7 @@ public class DirectionsService {
      * Get directions between two points
      */
     public void getDirections(LatLng origin, LatLng destination, DirectionsCallback callback) {
-        if (apiKey == null || apiKey.isEmpty() || apiKey.equals("YOUR_GOOGLE_MAPS_API_KEY_HERE")) {
+        if (!isApiKeyConfigured()) {
             Log.w(TAG, "Google Maps API key not configured, using mock data");
             // Return mock data for testing
             callback.onSuccess(createMockDirectionsResult(origin, destination));
@@ -0,0 +1,100 @@
+package com.example.project.utils;
+
+import android.util.Log;
+
+import java.util.function.Supplier;
+
+/**
+ * Debug logging facade for hot paths
+ * The debug level is read once from ConfigManager (debug.logging, honored only in debuggable
+ * builds). When it is off, debug calls return before any message is built: use "{}" placeholders
+ * or a Supplier instead of string concatenation so disabled logs allocate nothing. Arguments are truncated so whole payloads
+ * never end up in logcat. Warnings and errors are always logged.
+ */
+public final class AppLog {
+
+    // Longest rendering of a single argument before it is truncated
+    static final int MAX_ARG_LENGTH = 512;
+
+    private static volatile boolean debugEnabled = false;
+
+    private AppLog() {}
+
+    /**
+     * Set once by ConfigManager after the configuration is loaded
+     */
+    static void setDebugEnabled(boolean enabled) {
+        debugEnabled = enabled;
+    }
+
+    public static boolean isDebugEnabled() {
+        return debugEnabled;
+    }
+
+    public static void d(String tag, String message) {
+        if (debugEnabled) {
+            Log.d(tag, message);
+        }
+    }
+
+    public static void d(String tag, String format, Object arg) {
+        if (debugEnabled) {
+            Log.d(tag, format(format, arg));
+        }
+    }
+
+    public static void d(String tag, String format, Object arg1, Object arg2) {
+        if (debugEnabled) {
+            Log.d(tag, format(format, arg1, arg2));
+        }
+    }
+
+    public static void d(String tag, String format, Object arg1, Object arg2, Object arg3) {
+        if (debugEnabled) {
+            Log.d(tag, format(format, arg1, arg2, arg3));
+        }
+    }
+
+    /**
+     * Lazily built message, for text that needs more than a few placeholders
+     */
+    public static void d(String tag, Supplier<String> message) {
+        if (debugEnabled) {
+            Log.d(tag, truncate(message.get(), MAX_ARG_LENGTH * 2));
+        }
+    }
+
+    public static void w(String tag, String message) {
+        Log.w(tag, message);
+    }
+
+    public static void e(String tag, String message) {
+        Log.e(tag, message);
+    }
+
+    public static void e(String tag, String message, Throwable throwable) {
+        Log.e(tag, message, throwable);
+    }
+
+    /**
+     * Replace each "{}" in the format with the next argument, truncated to MAX_ARG_LENGTH
+     */
+    static String format(String format, Object... args) {
+        StringBuilder sb = new StringBuilder(format.length() + 32 * args.length);
+        int start = 0;
+        for (Object arg : args) {
+            int placeholder = format.indexOf("{}", start);
+            if (placeholder < 0) break;
+            sb.append(format, start, placeholder).append(truncate(String.valueOf(arg), MAX_ARG_LENGTH));
+            start = placeholder + 2;
+        }
+        return sb.append(format, start, format.length()).toString();
+    }
+
+    static String truncate(String text, int maxLength) {
+        if (text == null || text.length() <= maxLength) {
+            return text;
+        }
+        return text.substring(0, maxLength) + "… (" + text.length() + " chars)";
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.project.utils;
 
 import android.content.Context;
+import android.content.pm.ApplicationInfo;
 import android.content.res.AssetManager;
 import android.util.Log;
 
@@ -19,12 +20,51 @@ public class ConfigManager {
     // Default values
     private static final String DEFAULT_BASE_URL = "http://10.0.2.2:3000";
     private static final int DEFAULT_TIMEOUT = 30;
+    private static final int DEFAULT_HTTP_CACHE_SIZE_MB = 10;
+    private static final int DEFAULT_SEARCH_CACHE_MAX_AGE = 60;
+    private static final int DEFAULT_TRENDING_CACHE_MAX_AGE = 300;
+    private static final int DEFAULT_SEARCH_RESULT_CACHE_ENTRIES = 50;
+    private static final int DEFAULT_SEARCH_RESULT_TTL = 30;
+    private static final int DEFAULT_SEARCH_RESULT_MAX_STALE = 600;
+    private static final int DEFAULT_RESTAURANT_DETAIL_CACHE_ENTRIES = 100;
+    private static final int DEFAULT_RESTAURANT_DETAIL_TTL = 600;
+    private static final int DEFAULT_RESTAURANT_STORE_MAX_LISTS = 50;
+    private static final int DEFAULT_RESTAURANT_IDENTITY_MAP_ENTRIES = 500;
+    private static final int DEFAULT_SEARCH_MIN_QUERY_LENGTH = 2;
+    private static final int DEFAULT_SEARCH_DEBOUNCE_MIN_MS = 150;
+    private static final int DEFAULT_SEARCH_DEBOUNCE_MAX_MS = 600;
+    private static final int DEFAULT_HTTP_MAX_IDLE_CONNECTIONS = 5;
+    private static final int DEFAULT_HTTP_KEEP_ALIVE = 300;
+    private static final int DEFAULT_HTTP_MAX_REQUESTS_PER_HOST = 5;
+    private static final int DEFAULT_SCHEDULER_MAX_SCREEN_LOAD = 3;
+    private static final int DEFAULT_SCHEDULER_MAX_PREFETCH = 2;
+    private static final int DEFAULT_SCHEDULER_MAX_BACKGROUND = 1;
+    private static final int DEFAULT_DIRECTIONS_TIMEOUT = 30;
+    private static final int DEFAULT_AUTH_REFRESH_SKEW = 60;
+    private static final int DEFAULT_OUTBOX_BATCH_SIZE = 20;
+    private static final int DEFAULT_OUTBOX_FLUSH_DELAY_MS = 500;
+    private static final int DEFAULT_OUTBOX_BACKOFF_BASE = 2;
+    private static final int DEFAULT_OUTBOX_BACKOFF_MAX = 300;
+    private static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    private static final int DEFAULT_FAVORITES_PAGE_SIZE = 20;
+    private static final int DEFAULT_PAGINATION_PREFETCH_DISTANCE = 5;
+    private static final int DEFAULT_HTTP_RETRY_MAX_ATTEMPTS = 3;
+    private static final int DEFAULT_HTTP_RETRY_BASE_DELAY_MS = 250;
+    private static final int DEFAULT_HTTP_RETRY_MAX_DELAY_MS = 4000;
+    private static final int DEFAULT_CIRCUIT_FAILURE_THRESHOLD = 5;
+    private static final int DEFAULT_CIRCUIT_OPEN_SECONDS = 30;
+    private static final int DEFAULT_SEARCH_HEDGE_MIN_DELAY_MS = 150;
+    private static final int DEFAULT_SEARCH_HEDGE_DEFAULT_DELAY_MS = 1000;
+    private static final int DEFAULT_SEARCH_HEDGE_BUDGET_PERCENT = 10;
     
     private static ConfigManager instance;
     private Properties properties;
     
     private ConfigManager(Context context) {
         loadConfiguration(context);
+        // Release builds never build hot-path debug logs, whatever the config says
+        boolean debuggable = (context.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+        AppLog.setDebugEnabled(debuggable && isDebugLoggingEnabled());
     }
     
     public static synchronized ConfigManager getInstance(Context context) {
@@ -61,12 +101,184 @@ public class ConfigManager {
     }
     
     public int getApiTimeoutSeconds() {
-        try {
-            return Integer.parseInt(properties.getProperty("api.timeout.seconds", String.valueOf(DEFAULT_TIMEOUT)));
-        } catch (NumberFormatException e) {
-            Log.w(TAG, "Invalid timeout value, using default: " + DEFAULT_TIMEOUT);
-            return DEFAULT_TIMEOUT;
-        }
+        return getIntProperty("api.timeout.seconds", DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Timeout for restaurant search requests, defaults to the general API timeout
+     */
+    public int getSearchTimeoutSeconds() {
+        return getIntProperty("api.timeout.search.seconds", getApiTimeoutSeconds());
+    }
+
+    /**
+     * Timeout for authentication requests, defaults to the general API timeout
+     */
+    public int getAuthTimeoutSeconds() {
+        return getIntProperty("api.timeout.auth.seconds", getApiTimeoutSeconds());
+    }
+
+    /**
+     * Refresh the access token this long before it expires
+     */
+    public int getAuthRefreshSkewSeconds() {
+        return getIntProperty("auth.refresh.skew.seconds", DEFAULT_AUTH_REFRESH_SKEW);
+    }
+
+    public int getDirectionsTimeoutSeconds() {
+        return getIntProperty("directions.timeout.seconds", DEFAULT_DIRECTIONS_TIMEOUT);
+    }
+
+    /**
+     * Offline favorites queue: batch size, delay that lets rapid taps share a batch, and retry backoff
+     */
+    public int getFavoritesOutboxBatchSize() {
+        return getIntProperty("favorites.outbox.batch.size", DEFAULT_OUTBOX_BATCH_SIZE);
+    }
+
+    public int getFavoritesOutboxFlushDelayMs() {
+        return getIntProperty("favorites.outbox.flush.delay.ms", DEFAULT_OUTBOX_FLUSH_DELAY_MS);
+    }
+
+    public int getFavoritesOutboxBackoffBaseSeconds() {
+        return getIntProperty("favorites.outbox.backoff.base.seconds", DEFAULT_OUTBOX_BACKOFF_BASE);
+    }
+
+    public int getFavoritesOutboxBackoffMaxSeconds() {
+        return getIntProperty("favorites.outbox.backoff.max.seconds", DEFAULT_OUTBOX_BACKOFF_MAX);
+    }
+
+    /**
+     * Page sizes for cursor-paginated lists, and how many rows before the end the next page is fetched
+     */
+    public int getSearchPageSize() {
+        return getIntProperty("search.page.size", DEFAULT_SEARCH_PAGE_SIZE);
+    }
+
+    public int getFavoritesPageSize() {
+        return getIntProperty("favorites.page.size", DEFAULT_FAVORITES_PAGE_SIZE);
+    }
+
+    public int getPaginationPrefetchDistance() {
+        return getIntProperty("pagination.prefetch.distance", DEFAULT_PAGINATION_PREFETCH_DISTANCE);
+    }
+
+    /**
+     * Retries for idempotent API calls: total attempts and the jittered backoff range
+     */
+    public int getHttpRetryMaxAttempts() {
+        return getIntProperty("http.retry.max.attempts", DEFAULT_HTTP_RETRY_MAX_ATTEMPTS);
+    }
+
+    public int getHttpRetryBaseDelayMs() {
+        return getIntProperty("http.retry.base.delay.ms", DEFAULT_HTTP_RETRY_BASE_DELAY_MS);
+    }
+
+    public int getHttpRetryMaxDelayMs() {
+        return getIntProperty("http.retry.max.delay.ms", DEFAULT_HTTP_RETRY_MAX_DELAY_MS);
+    }
+
+    /**
+     * Consecutive failures that open an endpoint's circuit, and how long it then fails fast
+     */
+    public int getCircuitFailureThreshold() {
+        return getIntProperty("circuit.failure.threshold", DEFAULT_CIRCUIT_FAILURE_THRESHOLD);
+    }
+
+    public int getCircuitOpenSeconds() {
+        return getIntProperty("circuit.open.seconds", DEFAULT_CIRCUIT_OPEN_SECONDS);
+    }
+
+    /**
+     * Hedged search: send a backup request when the first is slower than the recent p95.
+     * Off by default; the budget caps hedges per 100 searches.
+     */
+    public boolean isSearchHedgingEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("search.hedging.enabled", "false"));
+    }
+
+    public int getSearchHedgeMinDelayMs() {
+        return getIntProperty("search.hedge.min.delay.ms", DEFAULT_SEARCH_HEDGE_MIN_DELAY_MS);
+    }
+
+    public int getSearchHedgeDefaultDelayMs() {
+        return getIntProperty("search.hedge.default.delay.ms", DEFAULT_SEARCH_HEDGE_DEFAULT_DELAY_MS);
+    }
+
+    public int getSearchHedgeBudgetPercent() {
+        return getIntProperty("search.hedge.budget.percent", DEFAULT_SEARCH_HEDGE_BUDGET_PERCENT);
+    }
+
+    /**
+     * Adapt timeouts, page sizes and prefetching to the measured quality of the network link
+     */
+    public boolean isNetworkProfilesEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("network.profiles.enabled", "true"));
+    }
+
+    /**
+     * Ask for the compact CBOR encoding of restaurant lists; JSON stays the fallback
+     */
+    public boolean isBinaryFormatEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("api.binary.format.enabled", "true"));
+    }
+
+    /**
+     * Connection pool and dispatcher limits for the shared HTTP stack
+     */
+    public int getHttpMaxIdleConnections() {
+        return getIntProperty("http.pool.max.idle", DEFAULT_HTTP_MAX_IDLE_CONNECTIONS);
+    }
+
+    public int getHttpKeepAliveSeconds() {
+        return getIntProperty("http.pool.keep.alive.seconds", DEFAULT_HTTP_KEEP_ALIVE);
+    }
+
+    public int getHttpMaxRequestsPerHost() {
+        return getIntProperty("http.max.requests.per.host", DEFAULT_HTTP_MAX_REQUESTS_PER_HOST);
+    }
+
+    /**
+     * Concurrent API calls allowed per priority class; interactive search may use every slot
+     */
+    public int getSchedulerMaxScreenLoad() {
+        return getIntProperty("http.scheduler.screen.load.max", DEFAULT_SCHEDULER_MAX_SCREEN_LOAD);
+    }
+
+    public int getSchedulerMaxPrefetch() {
+        return getIntProperty("http.scheduler.prefetch.max", DEFAULT_SCHEDULER_MAX_PREFETCH);
+    }
+
+    public int getSchedulerMaxBackground() {
+        return getIntProperty("http.scheduler.background.max", DEFAULT_SCHEDULER_MAX_BACKGROUND);
+    }
+
+    /**
+     * Whether to open connections to the backend and Directions hosts at app start
+     */
+    public boolean isConnectionPrewarmEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("http.prewarm.enabled", "true"));
+    }
+
+    /**
+     * Maximum size of the on-disk HTTP response cache
+     */
+    public int getHttpCacheSizeMb() {
+        return getIntProperty("http.cache.size.mb", DEFAULT_HTTP_CACHE_SIZE_MB);
+    }
+
+    /**
+     * How long a cached search response is served without revalidation
+     */
+    public int getSearchCacheMaxAgeSeconds() {
+        return getIntProperty("http.cache.search.max.age.seconds", DEFAULT_SEARCH_CACHE_MAX_AGE);
+    }
+
+    /**
+     * How long a cached trending response is served without revalidation
+     */
+    public int getTrendingCacheMaxAgeSeconds() {
+        return getIntProperty("http.cache.trending.max.age.seconds", DEFAULT_TRENDING_CACHE_MAX_AGE);
     }
     
     public boolean isDevelopmentMode() {
@@ -81,10 +293,106 @@ public class ConfigManager {
         return properties.getProperty("google.maps.api.key", "");
     }
     
+    /**
+     * Number of distinct searches kept in the in-memory result cache
+     */
+    public int getSearchResultCacheEntries() {
+        return getIntProperty("search.cache.max.entries", DEFAULT_SEARCH_RESULT_CACHE_ENTRIES);
+    }
+
+    /**
+     * How long in-memory search results are shown without a background refresh
+     */
+    public int getSearchResultTtlSeconds() {
+        return getIntProperty("search.cache.ttl.seconds", DEFAULT_SEARCH_RESULT_TTL);
+    }
+
+    /**
+     * How long stale in-memory search results may still be shown while refreshing
+     */
+    public int getSearchResultMaxStaleSeconds() {
+        return getIntProperty("search.cache.max.stale.seconds", DEFAULT_SEARCH_RESULT_MAX_STALE);
+    }
+
+    /**
+     * Request only the fields list rows show from search and trending;
+     * the full record is loaded when a restaurant is opened
+     */
+    public boolean isListProjectionEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("api.list.projection.enabled", "true"));
+    }
+
+    /**
+     * Number of full restaurant records kept in memory for the detail screen
+     */
+    public int getRestaurantDetailCacheEntries() {
+        return getIntProperty("restaurant.detail.cache.max.entries", DEFAULT_RESTAURANT_DETAIL_CACHE_ENTRIES);
+    }
+
+    /**
+     * How long a loaded restaurant record is reused before it is fetched again
+     */
+    public int getRestaurantDetailTtlSeconds() {
+        return getIntProperty("restaurant.detail.cache.ttl.seconds", DEFAULT_RESTAURANT_DETAIL_TTL);
+    }
+
+    /**
+     * Number of restaurant ids whose shared instance is tracked across screens
+     */
+    public int getRestaurantIdentityMapEntries() {
+        return getIntProperty("restaurant.identity.max.entries", DEFAULT_RESTAURANT_IDENTITY_MAP_ENTRIES);
+    }
+
+    /**
+     * Keep search results and the trending snapshot on the device and show them while the network request runs
+     */
+    public boolean isRestaurantStoreEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("restaurant.store.enabled", "true"));
+    }
+
+    /**
+     * Number of searches whose first page is kept on the device; favorites are always kept
+     */
+    public int getRestaurantStoreMaxLists() {
+        return getIntProperty("restaurant.store.max.lists", DEFAULT_RESTAURANT_STORE_MAX_LISTS);
+    }
+
+    /**
+     * Shortest query that triggers a search while typing
+     */
+    public int getSearchMinQueryLength() {
+        return getIntProperty("search.min.query.length", DEFAULT_SEARCH_MIN_QUERY_LENGTH);
+    }
+
+    /**
+     * Bounds for the adaptive search-as-you-type debounce delay
+     */
+    public int getSearchDebounceMinMs() {
+        return getIntProperty("search.debounce.min.ms", DEFAULT_SEARCH_DEBOUNCE_MIN_MS);
+    }
+
+    public int getSearchDebounceMaxMs() {
+        return getIntProperty("search.debounce.max.ms", DEFAULT_SEARCH_DEBOUNCE_MAX_MS);
+    }
+
+    private int getIntProperty(String key, int defaultValue) {
+        try {
+            return Integer.parseInt(properties.getProperty(key, String.valueOf(defaultValue)).trim());
+        } catch (NumberFormatException e) {
+            Log.w(TAG, "Invalid value for " + key + ", using default: " + defaultValue);
+            return defaultValue;
+        }
+    }
+    
     public void logConfigurationStatus() {
         Log.d(TAG, "=== Configuration Status ===");
         Log.d(TAG, "API Base URL: " + getApiBaseUrl());
-        Log.d(TAG, "API Timeout: " + getApiTimeoutSeconds() + "s");
+        Log.d(TAG, "API Timeout: " + getApiTimeoutSeconds() + "s (search " + getSearchTimeoutSeconds()
+                + "s, auth " + getAuthTimeoutSeconds() + "s, directions " + getDirectionsTimeoutSeconds() + "s)");
+        Log.d(TAG, "HTTP Pool: maxIdle=" + getHttpMaxIdleConnections() + ", keepAlive=" + getHttpKeepAliveSeconds()
+                + "s, maxPerHost=" + getHttpMaxRequestsPerHost() + ", prewarm=" + isConnectionPrewarmEnabled());
+        Log.d(TAG, "HTTP Cache: " + getHttpCacheSizeMb() + "MB (search " + getSearchCacheMaxAgeSeconds()
+                + "s, trending " + getTrendingCacheMaxAgeSeconds() + "s)");
         Log.d(TAG, "Development Mode: " + isDevelopmentMode());
         Log.d(TAG, "Debug Logging: " + isDebugLoggingEnabled());
         Log.d(TAG, "Google Maps API Key: " + (getGoogleMapsApiKey().isEmpty() ? "Not configured" : "Configured"));
@@ -0,0 +1,142 @@
+package com.example.project.models;
+
+import com.example.project.network.StandInSearchServer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks "open at" and "next change" answers across day boundaries
+ */
+public class OpeningHoursTest {
+
+    @Test
+    public void sameDayHours_openAndCloseOnTheMinute() {
+        OpeningHours hours = OpeningHours.of(week("11:00 AM - 10:00 PM"));
+
+        assertFalse(hours.isOpenAt(at(0, 10, 59)));
+        assertTrue(hours.isOpenAt(at(0, 11, 0)));
+        assertTrue(hours.isOpenAt(at(0, 21, 59)));
+        assertFalse(hours.isOpenAt(at(0, 22, 0)));
+        assertEquals(60, hours.nextChange(at(0, 10, 0)));
+        assertEquals(10 * 60, hours.nextChange(at(0, 12, 0)));
+        assertEquals(13 * 60, hours.nextChange(at(0, 22, 0)));
+    }
+
+    @Test
+    public void overnightHours_runIntoTheNextDay() {
+        Map<String, String> map = week("11:00 AM - 10:00 PM");
+        map.put("friday", "6:00 PM - 2:00 AM");
+        map.put("sunday", "8 PM - 3 AM");
+        OpeningHours hours = OpeningHours.of(map);
+
+        assertTrue(hours.isOpenAt(at(5, 1, 30)));
+        assertFalse(hours.isOpenAt(at(5, 2, 0)));
+        assertEquals(3 * 60, hours.nextChange(at(4, 23, 0)));
+        // Sunday night carries over into Monday at the start of the week
+        assertTrue(hours.isOpenAt(at(0, 2, 59)));
+        assertFalse(hours.isOpenAt(at(0, 3, 0)));
+        assertTrue(hours.isOpenAt(at(6, 23, 59)));
+        assertEquals(7 * 60, hours.nextChange(at(6, 20, 0)));
+    }
+
+    @Test
+    public void closedDaysAndSplitHours_areRespected() {
+        Map<String, String> map = week("11:00 AM - 2:00 PM, 5:00 PM - 10:00 PM");
+        map.put("monday", "Closed");
+        map.put("tuesday", "9 AM - 5 PM, 4 PM - 11 PM");
+        OpeningHours hours = OpeningHours.of(map);
+
+        assertFalse(hours.isOpenAt(at(0, 12, 0)));
+        assertEquals(33 * 60, hours.nextChange(at(0, 0, 0)));
+        // Overlapping spans merge into one
+        assertEquals(13 * 60, hours.nextChange(at(1, 10, 0)));
+        assertTrue(hours.isOpenAt(at(2, 13, 0)));
+        assertFalse(hours.isOpenAt(at(2, 15, 0)));
+        assertEquals(2 * 60, hours.nextChange(at(2, 15, 0)));
+        assertTrue(hours.isClosedOn(0));
+    }
+
+    @Test
+    public void alwaysOpenAndUnknownHours_neverChange() {
+        OpeningHours always = OpeningHours.of(week("Open 24 hours"));
+        assertTrue(always.isOpenAt(at(3, 4, 0)));
+        assertTrue(always.isOpenAt(at(6, 23, 59)));
+        assertEquals(-1, always.nextChange(at(3, 4, 0)));
+
+        OpeningHours unknown = OpeningHours.of(week("Call for hours"));
+        assertFalse(unknown.isOpenAt(at(3, 12, 0)));
+        assertEquals(-1, unknown.nextChange(at(3, 12, 0)));
+
+        assertFalse(new Restaurant().isOpenAt(at(3, 12, 0)));
+    }
+
+    @Test
+    public void weekMinute_startsOnMondayInTheCalendarsZone() {
+        Calendar time = Calendar.getInstance();
+        time.set(2024, Calendar.JANUARY, 1, 0, 5); // a Monday
+        assertEquals(5, OpeningHours.weekMinute(time));
+        time.set(2024, Calendar.JANUARY, 7, 23, 59); // the Sunday after
+        assertEquals(at(6, 23, 59), OpeningHours.weekMinute(time));
+
+        OpeningHours hours = OpeningHours.of(week("11:00 AM - 10:00 PM"));
+        time.set(2024, Calendar.JANUARY, 3, 12, 0);
+        assertTrue(hours.isOpenAt(time));
+        assertEquals(10 * 60, hours.nextChange(time));
+    }
+
+    @Test
+    public void cachedHours_answerLikeFreshlyParsedHours() {
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Restaurant restaurant = StandInSearchServer.restaurant(i);
+            if (i % 3 == 0) {
+                Map<String, String> hours = new LinkedHashMap<>(restaurant.getHours());
+                hours.put("friday", "5:00 PM - 2:00 AM");
+                hours.put("saturday", "11:00 AM - 3:00 PM, 5:00 PM - 1:00 AM");
+                restaurant.setHours(hours);
+            }
+            restaurants.add(restaurant);
+        }
+
+        for (int minute : new int[] {at(0, 10, 0), at(4, 23, 0), at(5, 1, 30), at(5, 16, 0), at(6, 21, 30)}) {
+            assertEquals(countOpenReparsing(restaurants, minute), countOpen(restaurants, minute));
+        }
+        assertTrue(countOpen(restaurants, at(5, 1, 30)) > 0);
+    }
+
+    private static int countOpen(List<Restaurant> restaurants, int weekMinute) {
+        int open = 0;
+        for (Restaurant restaurant : restaurants) {
+            if (restaurant.isOpenAt(weekMinute)) open++;
+        }
+        return open;
+    }
+
+    private static int countOpenReparsing(List<Restaurant> restaurants, int weekMinute) {
+        int open = 0;
+        for (Restaurant restaurant : restaurants) {
+            if (OpeningHours.of(restaurant.getHours()).isOpenAt(weekMinute)) open++;
+        }
+        return open;
+    }
+
+    private static Map<String, String> week(String text) {
+        Map<String, String> hours = new LinkedHashMap<>();
+        for (String day : OpeningHours.DAYS) {
+            hours.put(day, text);
+        }
+        return hours;
+    }
+
+    private static int at(int day, int hour, int minute) {
+        return (day * 24 + hour) * 60 + minute;
+    }
+}
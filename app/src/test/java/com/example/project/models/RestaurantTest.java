@@ -0,0 +1,103 @@
+package com.example.project.models;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the compact hours layout and the derived values Restaurant computes once
+ */
+public class RestaurantTest {
+
+    @Test
+    public void hours_areParsedIntoDayIndexedMinutes() {
+        Map<String, String> hours = new LinkedHashMap<>();
+        hours.put("sunday", "Closed");
+        hours.put("monday", "11:00 AM - 10:00 PM");
+        hours.put("friday", "6 pm - 2 am");
+        hours.put("saturday", "12:00 PM - 12:00 AM");
+        hours.put("tuesday", "Open 24 hours");
+        hours.put("wednesday", "By appointment");
+
+        OpeningHours parsed = OpeningHours.of(hours);
+
+        assertEquals(11 * 60, parsed.getOpenMinute(0));
+        assertEquals(22 * 60, parsed.getCloseMinute(0));
+        assertEquals(0, parsed.getOpenMinute(1));
+        assertEquals(24 * 60, parsed.getCloseMinute(1));
+        assertEquals(OpeningHours.UNKNOWN, parsed.getOpenMinute(2));
+        assertEquals(OpeningHours.UNKNOWN, parsed.getOpenMinute(3));
+        assertEquals(18 * 60, parsed.getOpenMinute(4));
+        assertEquals(2 * 60, parsed.getCloseMinute(4));
+        assertEquals(12 * 60, parsed.getOpenMinute(5));
+        assertEquals(24 * 60, parsed.getCloseMinute(5));
+        assertEquals(OpeningHours.CLOSED, parsed.getOpenMinute(6));
+    }
+
+    @Test
+    public void hours_readBackAsTheSameMap() {
+        Map<String, String> hours = new LinkedHashMap<>();
+        hours.put("monday", "11:00 AM - 10:00 PM");
+        hours.put("sunday", "Closed");
+        Restaurant restaurant = new Restaurant("A", "Thai", 4.0, "1 Main St", "555", "Nice", hours);
+
+        assertEquals(hours, restaurant.getHours());
+        assertEquals(hours.hashCode(), restaurant.getHours().hashCode());
+        assertEquals("Closed", restaurant.getHours().get("sunday"));
+        assertNull(restaurant.getHours().get("tuesday"));
+        assertEquals(2, restaurant.getHours().size());
+        try {
+            restaurant.getHours().put("tuesday", "Closed");
+            fail("Expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+        }
+
+        // Keys that are not day names are kept as given
+        hours.put("holiday", "Closed");
+        hours.put("tuesday", null);
+        restaurant.setHours(hours);
+        assertEquals(hours, restaurant.getHours());
+    }
+
+    @Test
+    public void repeatedText_isShared() {
+        Restaurant first = new Restaurant();
+        Restaurant second = new Restaurant();
+        first.setCuisineType(new String("Italian"));
+        second.setCuisineType(new String("Italian"));
+        Map<String, String> hours = new LinkedHashMap<>();
+        hours.put("monday", new String("11:00 AM - 10:00 PM"));
+        first.setHours(hours);
+        hours.put("monday", new String("11:00 AM - 10:00 PM"));
+        second.setHours(hours);
+
+        assertSame(first.getCuisineType(), second.getCuisineType());
+        assertSame(first.getHours().get("monday"), second.getHours().get("monday"));
+        assertEquals(first.getOpeningHours(), second.getOpeningHours());
+    }
+
+    @Test
+    public void derivedValues_followSetters() {
+        Map<String, String> hours = new LinkedHashMap<>();
+        hours.put("tuesday", "10:00 AM - 9:00 PM");
+        hours.put("monday", "11:00 AM - 10:00 PM");
+        Restaurant restaurant = new Restaurant("A", "Thai", 4.25, "1 Main St", "(555) 010-1000",
+                "A neighborhood spot serving handmade pasta, wood-fired pizza and seasonal plates.", hours);
+
+        assertTrue(restaurant.isValid());
+        assertEquals(String.format("%.1f", 4.25), restaurant.getRatingText());
+        assertEquals("Open today: 11:00 AM - 10:00 PM", restaurant.getHoursText(0));
+        assertEquals("Open today: 10:00 AM - 9:00 PM", restaurant.getHoursText(1));
+        assertEquals("Hours not available", restaurant.getHoursText(2));
+
+        restaurant.setDescription("Too short");
+        restaurant.setRating(3.5);
+        restaurant.setHours(null);
+        assertFalse(restaurant.isValid());
+        assertEquals(String.format("%.1f", 3.5), restaurant.getRatingText());
+        assertEquals("Hours not available", restaurant.getHoursText(0));
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.project.network;
+
+import com.example.project.models.Restaurant;
+import com.example.project.models.RestaurantDetailResponse;
+import com.example.project.models.SearchResponse;
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the CBOR codec against the JSON adapters, and the formats and projections the
+ * stand-in server negotiates
+ */
+public class CborModelCodecTest {
+
+    private final Gson gson = ModelTypeAdapters.createGson();
+
+    @Test
+    public void searchResponse_roundTripsThroughCbor() throws IOException {
+        SearchResponse expected = StandInSearchServer.searchResponse(25);
+        expected.getRestaurants().get(3).setHours(null);
+        expected.getRestaurants().get(4).setCuisineType(null);
+
+        SearchResponse actual = decode(encode(expected));
+
+        assertTrue(actual.isSuccess());
+        assertEquals(25, actual.getCount());
+        assertEquals("cursor-25", actual.getNextCursor());
+        assertEquals(expected.getRestaurants(), actual.getRestaurants());
+        assertNull(actual.getRestaurants().get(1).getLatitude());
+    }
+
+    @Test
+    public void searchResponse_matchesJsonDecoding() throws IOException {
+        SearchResponse original = StandInSearchServer.searchResponse(40);
+        SearchResponse fromJson = gson.fromJson(gson.toJson(original), SearchResponse.class);
+
+        assertEquals(fromJson.getRestaurants(), decode(encode(original)).getRestaurants());
+    }
+
+    @Test
+    public void standInServer_servesProjectedRowsAndFullDetails() throws IOException {
+        StandInSearchServer server = new StandInSearchServer(0);
+        server.start();
+        try {
+            String url = server.getBaseUrl() + "/api/restaurants/search?q=pizza&limit=10"
+                    + "&fields=id,name,cuisine_type,rating,address,latitude,longitude";
+            SearchResponse summaries = decodeJson(fetch(url, "application/json"));
+            assertEquals(10, summaries.getRestaurants().size());
+            assertFalse(summaries.getRestaurants().get(0).hasDetails());
+            assertEquals("r0", summaries.getRestaurants().get(0).getId());
+
+            byte[] detail = fetch(server.getBaseUrl() + "/api/restaurants/r3", "application/json");
+            RestaurantDetailResponse response = gson.fromJson(new String(detail, StandardCharsets.UTF_8),
+                    RestaurantDetailResponse.class);
+            assertTrue(response.isValidResponse());
+            assertEquals(StandInSearchServer.restaurant(3), response.getRestaurant());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void searchResponse_acceptsTextKeysAndSkipsUnknownFields() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new CborWriter(out)
+                .beginMap(4)
+                .value("strings").beginArray(1).value("Thai")
+                .value("extra").beginMap(1).value(1).beginArray(2).value(1).value(-2)
+                .value("success").value(true)
+                .value("restaurants").beginArray(1)
+                .beginMap(4)
+                .value("name").value("A")
+                .value(1).value(0)
+                .value("rating").value(4)
+                .value(6).beginMap(2).value(0).value(0).value("holiday").nullValue();
+
+        SearchResponse response = decode(out.toByteArray());
+
+        Restaurant restaurant = response.getRestaurants().get(0);
+        assertTrue(response.isSuccess());
+        assertEquals("A", restaurant.getName());
+        assertEquals("Thai", restaurant.getCuisineType());
+        assertEquals(4.0, restaurant.getRating(), 0.0);
+        assertEquals("Thai", restaurant.getHours().get("monday"));
+        assertTrue(restaurant.getHours().containsKey("holiday"));
+    }
+
+    @Test
+    public void searchResponse_rejectsTruncatedInput() throws IOException {
+        byte[] bytes = encode(StandInSearchServer.searchResponse(3));
+        try {
+            decode(Arrays.copyOf(bytes, bytes.length / 2));
+            fail("Expected truncated payload to be rejected");
+        } catch (EOFException expected) {
+            // Truncation surfaces as an IOException, which callers report as a network error
+        }
+    }
+
+    @Test
+    public void standInServer_negotiatesCborWithSameContent() throws IOException {
+        StandInSearchServer server = new StandInSearchServer(0);
+        server.start();
+        try {
+            String url = server.getBaseUrl() + "/api/restaurants/search?q=pizza&limit=100";
+            SearchResponse fromJson = decodeJson(fetch(url, "application/json"));
+            SearchResponse fromCbor = decode(fetch(url, "application/cbor, application/json;q=0.9"));
+
+            assertEquals(100, fromCbor.getRestaurants().size());
+            assertEquals(fromJson.getRestaurants(), fromCbor.getRestaurants());
+        } finally {
+            server.stop();
+        }
+    }
+
+    private SearchResponse decodeJson(byte[] payload) {
+        return gson.fromJson(new InputStreamReader(new ByteArrayInputStream(payload), StandardCharsets.UTF_8),
+                SearchResponse.class);
+    }
+
+    private static SearchResponse decode(byte[] payload) throws IOException {
+        return CborModelCodec.readSearchResponse(new ByteArrayInputStream(payload));
+    }
+
+    private static byte[] encode(SearchResponse response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CborModelEncoder.writeSearchResponse(response, out);
+        return out.toByteArray();
+    }
+
+    static byte[] fetch(String url, String accept) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestProperty("Accept", accept);
+        try (InputStream in = connection.getInputStream()) {
+            assertEquals(accept.startsWith("application/cbor"),
+                    connection.getContentType().startsWith(CborModelCodec.MEDIA_TYPE));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.project.network;
+
+import com.example.project.models.Restaurant;
+import com.example.project.models.SearchResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.project.network.CborModelCodec.*;
+
+/**
+ * Encodes payloads in CborModelCodec's format, for the stand-in server and codec tests
+ * Repeated cuisine types and opening hours go into the string table.
+ */
+final class CborModelEncoder {
+
+    private CborModelEncoder() {}
+
+    static void writeSearchResponse(SearchResponse response, OutputStream out) throws IOException {
+        CborWriter writer = new CborWriter(out);
+        if (response == null) {
+            writer.nullValue();
+            return;
+        }
+
+        List<Restaurant> restaurants = response.getRestaurants();
+        List<String> strings = buildStringTable(restaurants);
+        Map<String, Integer> stringIndex = new HashMap<>();
+        for (int i = 0; i < strings.size(); i++) {
+            stringIndex.put(strings.get(i), i);
+        }
+
+        int entries = 2 + (strings.isEmpty() ? 0 : 1) + (restaurants != null ? 1 : 0)
+                + (response.getError() != null ? 1 : 0) + (response.getMessage() != null ? 1 : 0)
+                + (response.getNextCursor() != null ? 1 : 0);
+        writer.beginMap(entries);
+        writer.value(SEARCH_SUCCESS).value(response.isSuccess());
+        writer.value(SEARCH_COUNT).value(response.getCount());
+        if (!strings.isEmpty()) {
+            writer.value(SEARCH_STRINGS).beginArray(strings.size());
+            for (String string : strings) {
+                writer.value(string);
+            }
+        }
+        if (restaurants != null) {
+            writer.value(SEARCH_RESTAURANTS).beginArray(restaurants.size());
+            for (Restaurant restaurant : restaurants) {
+                writeRestaurant(writer, restaurant, stringIndex);
+            }
+        }
+        if (response.getError() != null) writer.value(SEARCH_ERROR).value(response.getError());
+        if (response.getMessage() != null) writer.value(SEARCH_MESSAGE).value(response.getMessage());
+        if (response.getNextCursor() != null) writer.value(SEARCH_NEXT_CURSOR).value(response.getNextCursor());
+    }
+
+    private static void writeRestaurant(CborWriter writer, Restaurant restaurant,
+                                        Map<String, Integer> stringIndex) throws IOException {
+        if (restaurant == null) {
+            writer.nullValue();
+            return;
+        }
+
+        int entries = 1 + (restaurant.getName() != null ? 1 : 0) + (restaurant.getCuisineType() != null ? 1 : 0)
+                + (restaurant.getAddress() != null ? 1 : 0) + (restaurant.getPhone() != null ? 1 : 0)
+                + (restaurant.getDescription() != null ? 1 : 0) + (restaurant.getHours() != null ? 1 : 0)
+                + (restaurant.getLatitude() != null ? 1 : 0) + (restaurant.getLongitude() != null ? 1 : 0)
+                + (restaurant.getId() != null ? 1 : 0);
+        writer.beginMap(entries);
+        if (restaurant.getName() != null) writer.value(RESTAURANT_NAME).value(restaurant.getName());
+        if (restaurant.getCuisineType() != null) {
+            writeSharedString(writer.value(RESTAURANT_CUISINE_TYPE), restaurant.getCuisineType(), stringIndex);
+        }
+        writer.value(RESTAURANT_RATING).value(restaurant.getRating());
+        if (restaurant.getAddress() != null) writer.value(RESTAURANT_ADDRESS).value(restaurant.getAddress());
+        if (restaurant.getPhone() != null) writer.value(RESTAURANT_PHONE).value(restaurant.getPhone());
+        if (restaurant.getDescription() != null) writer.value(RESTAURANT_DESCRIPTION).value(restaurant.getDescription());
+        if (restaurant.getHours() != null) {
+            writer.value(RESTAURANT_HOURS).beginMap(restaurant.getHours().size());
+            for (Map.Entry<String, String> entry : restaurant.getHours().entrySet()) {
+                int day = dayIndex(entry.getKey());
+                if (day >= 0) {
+                    writer.value(day);
+                } else {
+                    writer.value(entry.getKey());
+                }
+                writeSharedString(writer, entry.getValue(), stringIndex);
+            }
+        }
+        if (restaurant.getLatitude() != null) writer.value(RESTAURANT_LATITUDE).value(restaurant.getLatitude());
+        if (restaurant.getLongitude() != null) writer.value(RESTAURANT_LONGITUDE).value(restaurant.getLongitude());
+        if (restaurant.getId() != null) writer.value(RESTAURANT_ID).value(restaurant.getId());
+    }
+
+    private static void writeSharedString(CborWriter writer, String value, Map<String, Integer> stringIndex) throws IOException {
+        Integer index = value != null ? stringIndex.get(value) : null;
+        if (index != null) {
+            writer.value(index);
+        } else {
+            writer.value(value);
+        }
+    }
+
+    /**
+     * Cuisine types and opening hours that occur more than once in the page
+     */
+    private static List<String> buildStringTable(List<Restaurant> restaurants) {
+        if (restaurants == null) {
+            return Collections.emptyList();
+        }
+        Map<String, Integer> occurrences = new LinkedHashMap<>();
+        for (Restaurant restaurant : restaurants) {
+            if (restaurant == null) continue;
+            if (restaurant.getCuisineType() != null) {
+                occurrences.merge(restaurant.getCuisineType(), 1, Integer::sum);
+            }
+            if (restaurant.getHours() != null) {
+                for (String value : restaurant.getHours().values()) {
+                    if (value != null) occurrences.merge(value, 1, Integer::sum);
+                }
+            }
+        }
+        List<String> strings = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : occurrences.entrySet()) {
+            if (entry.getValue() > 1) {
+                strings.add(entry.getKey());
+            }
+        }
+        return strings;
+    }
+
+    private static int dayIndex(String day) {
+        for (int i = 0; i < DAYS.length; i++) {
+            if (DAYS[i].equals(day)) return i;
+        }
+        return -1;
+    }
+}
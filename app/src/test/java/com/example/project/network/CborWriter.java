@@ -0,0 +1,94 @@
+package com.example.project.network;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal CBOR (RFC 8949) encoder, the counterpart of {@link CborReader}
+ * Integers use the shortest encoding; doubles are written as 32-bit floats when that is lossless.
+ */
+public class CborWriter {
+
+    private final OutputStream out;
+
+    public CborWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    public CborWriter beginMap(int entries) throws IOException {
+        writeHead(CborReader.TYPE_MAP, entries);
+        return this;
+    }
+
+    public CborWriter beginArray(int elements) throws IOException {
+        writeHead(CborReader.TYPE_ARRAY, elements);
+        return this;
+    }
+
+    public CborWriter value(long value) throws IOException {
+        if (value >= 0) {
+            writeHead(CborReader.TYPE_UNSIGNED, value);
+        } else {
+            writeHead(CborReader.TYPE_NEGATIVE, -1 - value);
+        }
+        return this;
+    }
+
+    public CborWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeHead(CborReader.TYPE_TEXT, bytes.length);
+        out.write(bytes);
+        return this;
+    }
+
+    public CborWriter value(double value) throws IOException {
+        float narrowed = (float) value;
+        if (narrowed == value || Double.isNaN(value)) {
+            out.write(0xfa);
+            writeBigEndian(Float.floatToIntBits(narrowed), 4);
+        } else {
+            out.write(0xfb);
+            writeBigEndian(Double.doubleToLongBits(value), 8);
+        }
+        return this;
+    }
+
+    public CborWriter value(boolean value) throws IOException {
+        out.write(value ? 0xf5 : 0xf4);
+        return this;
+    }
+
+    public CborWriter nullValue() throws IOException {
+        out.write(0xf6);
+        return this;
+    }
+
+    private void writeHead(int type, long argument) throws IOException {
+        int major = type << 5;
+        if (argument < 24) {
+            out.write(major | (int) argument);
+        } else if (argument <= 0xff) {
+            out.write(major | 24);
+            writeBigEndian(argument, 1);
+        } else if (argument <= 0xffff) {
+            out.write(major | 25);
+            writeBigEndian(argument, 2);
+        } else if (argument <= 0xffffffffL) {
+            out.write(major | 26);
+            writeBigEndian(argument, 4);
+        } else {
+            out.write(major | 27);
+            writeBigEndian(argument, 8);
+        }
+    }
+
+    private void writeBigEndian(long value, int bytes) throws IOException {
+        for (int i = bytes - 1; i >= 0; i--) {
+            out.write((int) (value >>> (8 * i)) & 0xff);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.project.network;
+
+import com.example.project.models.AuthResponse;
+import com.example.project.models.FavoriteItem;
+import com.example.project.models.FavoriteRequest;
+import com.example.project.models.FavoritesDeltaResponse;
+import com.example.project.models.FavoritesListResponse;
+import com.example.project.models.Restaurant;
+import com.example.project.models.RestaurantDetailResponse;
+import com.example.project.models.SearchResponse;
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the hand-written adapters against Gson's reflective parsing
+ */
+public class ModelTypeAdaptersTest {
+
+    private final Gson reflectiveGson = new Gson();
+    private final Gson adapterGson = ModelTypeAdapters.createGson();
+
+    @Test
+    public void searchResponse_matchesReflectiveParsing() {
+        String json = searchPayload(25);
+
+        SearchResponse expected = reflectiveGson.fromJson(json, SearchResponse.class);
+        SearchResponse actual = adapterGson.fromJson(json, SearchResponse.class);
+
+        assertTrue(actual.isSuccess());
+        assertEquals(expected.getCount(), actual.getCount());
+        assertEquals(expected.getRestaurants(), actual.getRestaurants());
+        assertNull(actual.getRestaurants().get(1).getLatitude());
+    }
+
+    @Test
+    public void searchResponse_skipsUnknownFieldsAndNulls() {
+        String json = "{\"success\":true,\"count\":null,\"extra\":{\"nested\":[1,2]},\"restaurants\":["
+                + "{\"name\":\"A\",\"rating\":null,\"hours\":null,\"unknown\":\"x\"}]}";
+
+        SearchResponse response = adapterGson.fromJson(json, SearchResponse.class);
+
+        assertEquals(0, response.getCount());
+        assertEquals(1, response.getRestaurants().size());
+        assertEquals("A", response.getRestaurants().get(0).getName());
+        assertEquals(0.0, response.getRestaurants().get(0).getRating(), 0.0);
+        assertNull(response.getRestaurants().get(0).getHours());
+    }
+
+    @Test
+    public void favoritesList_matchesReflectiveParsing() {
+        String json = "{\"success\":true,\"count\":1,\"favorites\":[{\"id\":\"f1\",\"created_at\":\"2024-01-01\","
+                + "\"restaurant\":" + restaurantJson(3) + "}]}";
+
+        FavoritesListResponse expected = reflectiveGson.fromJson(json, FavoritesListResponse.class);
+        FavoritesListResponse actual = adapterGson.fromJson(json, FavoritesListResponse.class);
+
+        FavoriteItem expectedItem = expected.getFavorites().get(0);
+        FavoriteItem actualItem = actual.getFavorites().get(0);
+        assertEquals(expectedItem.getId(), actualItem.getId());
+        assertEquals(expectedItem.getCreatedAt(), actualItem.getCreatedAt());
+        assertEquals(expectedItem.getRestaurantData(), actualItem.getRestaurantData());
+    }
+
+    @Test
+    public void favoritesDelta_matchesReflectiveParsing() {
+        String json = "{\"success\":true,\"reset\":false,\"version\":\"v42\",\"removed\":[\"f2\",\"f3\"],"
+                + "\"added\":[{\"id\":\"f9\",\"created_at\":\"2024-02-01\",\"restaurant\":" + restaurantJson(4) + "}]}";
+
+        FavoritesDeltaResponse expected = reflectiveGson.fromJson(json, FavoritesDeltaResponse.class);
+        FavoritesDeltaResponse actual = adapterGson.fromJson(json, FavoritesDeltaResponse.class);
+
+        assertTrue(actual.isValidResponse());
+        assertEquals(expected.getVersion(), actual.getVersion());
+        assertEquals(expected.getRemoved(), actual.getRemoved());
+        assertEquals(expected.getAdded().get(0).getRestaurantData(), actual.getAdded().get(0).getRestaurantData());
+        assertFalse(actual.hasMorePages());
+    }
+
+    @Test
+    public void restaurantDetail_matchesReflectiveParsing() {
+        String json = "{\"success\":true,\"restaurant\":{\"id\":\"r5\"," + restaurantJson(5).substring(1) + "}";
+
+        RestaurantDetailResponse expected = reflectiveGson.fromJson(json, RestaurantDetailResponse.class);
+        RestaurantDetailResponse actual = adapterGson.fromJson(json, RestaurantDetailResponse.class);
+
+        assertTrue(actual.isValidResponse());
+        assertEquals("r5", actual.getRestaurant().getId());
+        assertTrue(actual.getRestaurant().hasDetails());
+        assertEquals(expected.getRestaurant(), actual.getRestaurant());
+    }
+
+    @Test
+    public void authResponse_readsSessionAndMetadata() {
+        String json = "{\"success\":true,\"user\":{\"id\":\"u1\",\"email\":\"a@b.c\","
+                + "\"user_metadata\":{\"full_name\":\"Ada\",\"avatar_url\":\"http://img\"},"
+                + "\"app_metadata\":{\"provider\":\"google\"}},"
+                + "\"session\":{\"access_token\":\"at\",\"refresh_token\":\"rt\",\"expires_in\":3600,\"expires_at\":1700000000}}";
+
+        AuthResponse response = adapterGson.fromJson(json, AuthResponse.class);
+
+        assertTrue(response.isValidResponse());
+        assertEquals("at", response.getAccessToken());
+        assertEquals("rt", response.getRefreshToken());
+        assertEquals(1700000000L, response.getSession().getExpiresAt());
+        assertEquals("Ada", response.getUser().getName());
+        assertEquals("http://img", response.getUser().getPicture());
+        assertEquals("google", response.getUser().getType());
+    }
+
+    @Test
+    public void favoriteRequest_writesSameJsonAsReflection() {
+        Restaurant restaurant = reflectiveGson.fromJson(restaurantJson(7), Restaurant.class);
+        FavoriteRequest request = new FavoriteRequest(restaurant);
+
+        assertEquals(reflectiveGson.toJsonTree(request), adapterGson.toJsonTree(request));
+    }
+
+    static String searchPayload(int size) {
+        StringBuilder json = new StringBuilder("{\"success\":true,\"count\":").append(size).append(",\"restaurants\":[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) json.append(',');
+            json.append(restaurantJson(i));
+        }
+        return json.append("]}").toString();
+    }
+
+    private static String restaurantJson(int i) {
+        String location = i % 2 == 1 ? "" : ",\"latitude\":" + (37.7 + i * 0.001) + ",\"longitude\":" + (-122.4 - i * 0.001);
+        return "{\"name\":\"Restaurant " + i + "\",\"cuisine_type\":\"Italian\",\"rating\":" + (3.0 + (i % 20) / 10.0)
+                + ",\"address\":\"" + i + " Main Street, San Francisco, CA\",\"phone\":\"(555) 010-" + (1000 + i % 9000) + "\""
+                + ",\"description\":\"A neighborhood spot serving handmade pasta, wood-fired pizza and seasonal plates.\""
+                + ",\"hours\":{\"monday\":\"11:00 AM - 10:00 PM\",\"tuesday\":\"11:00 AM - 10:00 PM\","
+                + "\"wednesday\":\"11:00 AM - 10:00 PM\",\"thursday\":\"11:00 AM - 10:00 PM\",\"friday\":\"11:00 AM - 11:00 PM\","
+                + "\"saturday\":\"10:00 AM - 11:00 PM\",\"sunday\":\"10:00 AM - 9:00 PM\"}"
+                + location + "}";
+    }
+}
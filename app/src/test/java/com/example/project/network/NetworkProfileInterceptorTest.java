@@ -0,0 +1,108 @@
+package com.example.project.network;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks which timeouts and headers reach the network for each link profile
+ */
+public class NetworkProfileInterceptorTest {
+
+    @Test
+    public void profilesOff_keepConfiguredTimeouts() throws IOException {
+        // ApiClient supplies MODERATE while profiles are off or nothing has been measured
+        RecordingChain chain = new RecordingChain(4000, 15000, 10000);
+
+        new NetworkProfileInterceptor(() -> NetworkProfile.MODERATE).intercept(chain);
+
+        assertEquals(4000, chain.proceededConnect);
+        assertEquals(15000, chain.proceededRead);
+        assertEquals(10000, chain.proceededWrite);
+        assertNull(chain.proceeded.header("Save-Data"));
+    }
+
+    @Test
+    public void poorLink_stretchesTimeoutsAndAsksForLightPayloads() throws IOException {
+        RecordingChain chain = new RecordingChain(4000, 15000, 10000);
+
+        new NetworkProfileInterceptor(() -> NetworkProfile.POOR).intercept(chain);
+
+        assertEquals(8000, chain.proceededConnect);
+        assertEquals(30000, chain.proceededRead);
+        assertEquals(20000, chain.proceededWrite);
+        assertEquals("on", chain.proceeded.header("Save-Data"));
+    }
+
+    /**
+     * Chain that records the request and timeouts it was finally proceeded with
+     */
+    private static final class RecordingChain implements Interceptor.Chain {
+        private final Request request = new Request.Builder().url("https://api.example.com/search").build();
+        private final int connect;
+        private final int read;
+        private final int write;
+        private final RecordingChain root;
+
+        Request proceeded;
+        int proceededConnect;
+        int proceededRead;
+        int proceededWrite;
+
+        RecordingChain(int connect, int read, int write) {
+            this(connect, read, write, null);
+        }
+
+        private RecordingChain(int connect, int read, int write, RecordingChain root) {
+            this.connect = connect;
+            this.read = read;
+            this.write = write;
+            this.root = root;
+        }
+
+        @Override public Request request() { return request; }
+        @Override public Connection connection() { return null; }
+        @Override public Call call() { return null; }
+        @Override public int connectTimeoutMillis() { return connect; }
+        @Override public int readTimeoutMillis() { return read; }
+        @Override public int writeTimeoutMillis() { return write; }
+
+        @Override
+        public Interceptor.Chain withConnectTimeout(int timeout, TimeUnit unit) {
+            return new RecordingChain((int) unit.toMillis(timeout), read, write, target());
+        }
+
+        @Override
+        public Interceptor.Chain withReadTimeout(int timeout, TimeUnit unit) {
+            return new RecordingChain(connect, (int) unit.toMillis(timeout), write, target());
+        }
+
+        @Override
+        public Interceptor.Chain withWriteTimeout(int timeout, TimeUnit unit) {
+            return new RecordingChain(connect, read, (int) unit.toMillis(timeout), target());
+        }
+
+        @Override
+        public Response proceed(Request request) {
+            RecordingChain target = target();
+            target.proceeded = request;
+            target.proceededConnect = connect;
+            target.proceededRead = read;
+            target.proceededWrite = write;
+            return null;
+        }
+
+        private RecordingChain target() {
+            return root != null ? root : this;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.project.network;
+
+import com.example.project.models.OpeningHours;
+import com.example.project.models.Restaurant;
+import com.example.project.models.SearchResponse;
+import com.google.gson.Gson;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Timing runs behind the payload and model optimizations; they only print numbers, so they are
+ * kept out of the unit suite. Remove @Ignore (or run a single method from the IDE) to measure.
+ */
+@Ignore("Benchmarks print timings and assert nothing new; run them by hand")
+public class PayloadBenchmarks {
+
+    private static final int[] PAYLOAD_SIZES = {10, 100, 1000};
+    private static final int[] RESTAURANT_COUNTS = {1000, 5000, 10000};
+
+    private final Gson reflectiveGson = new Gson();
+    private final Gson adapterGson = ModelTypeAdapters.createGson();
+
+    @Test
+    public void parseSearchPayloads() {
+        for (int size : PAYLOAD_SIZES) {
+            String json = ModelTypeAdaptersTest.searchPayload(size);
+            int iterations = Math.max(20, 20000 / size);
+
+            // First parse on a fresh Gson includes building the reflective adapters
+            long reflectiveCold = timeFirstParse(new Gson(), json);
+            long adapterCold = timeFirstParse(ModelTypeAdapters.createGson(), json);
+
+            double reflectiveWarm = timeParses(reflectiveGson, json, iterations);
+            double adapterWarm = timeParses(adapterGson, json, iterations);
+
+            System.out.println(String.format(
+                    "%5d restaurants: first parse %6.2fms -> %6.2fms, steady state %7.3fms -> %7.3fms",
+                    size, reflectiveCold / 1e6, adapterCold / 1e6, reflectiveWarm / 1e6, adapterWarm / 1e6));
+        }
+    }
+
+    @Test
+    public void fullVersusProjectedListPayloads() throws IOException {
+        StandInSearchServer server = new StandInSearchServer(0);
+        server.start();
+        try {
+            for (int size : PAYLOAD_SIZES) {
+                String url = server.getBaseUrl() + "/api/restaurants/search?q=pizza&limit=" + size;
+                byte[] full = CborModelCodecTest.fetch(url, "application/json");
+                byte[] projected = CborModelCodecTest.fetch(
+                        url + "&fields=id,name,cuisine_type,rating,address,latitude,longitude", "application/json");
+
+                int iterations = Math.max(20, 20000 / size);
+                System.out.println(String.format(
+                        "%5d restaurants: JSON %7d B -> %7d B projected, decode %7.3fms -> %7.3fms",
+                        size, full.length, projected.length,
+                        timeDecodes(full, iterations, false) / 1e6, timeDecodes(projected, iterations, false) / 1e6));
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void jsonVersusCborFromStandInServer() throws IOException {
+        StandInSearchServer server = new StandInSearchServer(0);
+        server.start();
+        try {
+            for (int size : PAYLOAD_SIZES) {
+                String url = server.getBaseUrl() + "/api/restaurants/search?q=pizza&limit=" + size;
+                byte[] json = CborModelCodecTest.fetch(url, "application/json");
+                byte[] cbor = CborModelCodecTest.fetch(url, "application/cbor, application/json;q=0.9");
+
+                int iterations = Math.max(20, 20000 / size);
+                double jsonDecode = timeDecodes(json, iterations, false);
+                double cborDecode = timeDecodes(cbor, iterations, true);
+
+                System.out.println(String.format(
+                        "%5d restaurants: size %7d B -> %7d B (gzip %6d B -> %6d B), decode %7.3fms -> %7.3fms",
+                        size, json.length, cbor.length, gzipSize(json), gzipSize(cbor),
+                        jsonDecode / 1e6, cborDecode / 1e6));
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void firstCardFromSnapshotVersusJson() throws IOException {
+        SearchResponse response = StandInSearchServer.searchResponse(20);
+        for (Restaurant restaurant : response.getRestaurants()) {
+            StandInSearchServer.toSummary(restaurant);
+        }
+        byte[] json = adapterGson.toJson(response).getBytes(StandardCharsets.UTF_8);
+        File file = File.createTempFile("trending", ".snapshot");
+        try {
+            Files.write(file.toPath(), TrendingSnapshot.encode(response.getRestaurants()));
+
+            int iterations = 2000;
+            long mapped = 0;
+            long parsed = 0;
+            for (int round = 0; round < 2; round++) {
+                // First round warms up the JIT
+                mapped = 0;
+                parsed = 0;
+                for (int i = 0; i < iterations; i++) {
+                    long start = System.nanoTime();
+                    List<Restaurant> cards = map(file);
+                    assertEquals("r0", cards.get(0).getId());
+                    mapped += System.nanoTime() - start;
+
+                    start = System.nanoTime();
+                    SearchResponse fromJson = adapterGson.fromJson(new String(json, StandardCharsets.UTF_8), SearchResponse.class);
+                    assertEquals("r0", fromJson.getRestaurants().get(0).getId());
+                    parsed += System.nanoTime() - start;
+                }
+            }
+            System.out.println(String.format(
+                    "Trending first card: snapshot %d B mapped %.1fus, JSON %d B parsed %.1fus",
+                    file.length(), mapped / 1e3 / iterations, json.length, parsed / 1e3 / iterations));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void filterCachedRestaurantsByOpenNow() {
+        for (int count : RESTAURANT_COUNTS) {
+            List<Restaurant> restaurants = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Restaurant restaurant = StandInSearchServer.restaurant(i);
+                if (i % 3 == 0) {
+                    Map<String, String> hours = new LinkedHashMap<>(restaurant.getHours());
+                    hours.put("friday", "5:00 PM - 2:00 AM");
+                    hours.put("saturday", "11:00 AM - 3:00 PM, 5:00 PM - 1:00 AM");
+                    restaurant.setHours(hours);
+                }
+                restaurants.add(restaurant);
+            }
+
+            int iterations = Math.max(20, 200000 / count);
+            double parsed = 0;
+            double reparsed = 0;
+            for (int round = 0; round < 2; round++) {
+                // First round warms up the JIT
+                long start = System.nanoTime();
+                int open = 0;
+                for (int i = 0; i < iterations; i++) {
+                    open += countOpen(restaurants, weekMinute(i % 7, (i * 5) % 24, i % 60));
+                }
+                parsed = (double) (System.nanoTime() - start) / iterations;
+
+                int reparseIterations = Math.max(5, iterations / 20);
+                start = System.nanoTime();
+                int reopened = 0;
+                for (int i = 0; i < reparseIterations; i++) {
+                    reopened += countOpenReparsing(restaurants, weekMinute(i % 7, (i * 5) % 24, i % 60));
+                }
+                reparsed = (double) (System.nanoTime() - start) / reparseIterations;
+                assertTrue(open > 0 && reopened > 0);
+            }
+
+            System.out.println(String.format(
+                    "%5d restaurants: open-now filter %7.3fms, reparsing hours each time %7.3fms",
+                    count, parsed / 1e6, reparsed / 1e6));
+        }
+    }
+
+    private static long timeFirstParse(Gson gson, String json) {
+        long start = System.nanoTime();
+        SearchResponse response = gson.fromJson(new StringReader(json), SearchResponse.class);
+        long elapsed = System.nanoTime() - start;
+        assertNotNull(response);
+        return elapsed;
+    }
+
+    private static double timeParses(Gson gson, String json, int iterations) {
+        // Warm up the JIT before measuring
+        for (int i = 0; i < iterations; i++) {
+            gson.fromJson(new StringReader(json), SearchResponse.class);
+        }
+        long start = System.nanoTime();
+        int total = 0;
+        for (int i = 0; i < iterations; i++) {
+            total += gson.fromJson(new StringReader(json), SearchResponse.class).getRestaurants().size();
+        }
+        long elapsed = System.nanoTime() - start;
+        assertTrue(total > 0);
+        return (double) elapsed / iterations;
+    }
+
+    private double timeDecodes(byte[] payload, int iterations, boolean cbor) throws IOException {
+        // Warm up the JIT before measuring
+        for (int i = 0; i < iterations; i++) {
+            decode(payload, cbor);
+        }
+        long start = System.nanoTime();
+        int total = 0;
+        for (int i = 0; i < iterations; i++) {
+            total += decode(payload, cbor).getRestaurants().size();
+        }
+        long elapsed = System.nanoTime() - start;
+        assertTrue(total > 0);
+        return (double) elapsed / iterations;
+    }
+
+    private SearchResponse decode(byte[] payload, boolean cbor) throws IOException {
+        if (cbor) {
+            return CborModelCodec.readSearchResponse(new ByteArrayInputStream(payload));
+        }
+        return adapterGson.fromJson(new InputStreamReader(new ByteArrayInputStream(payload), StandardCharsets.UTF_8),
+                SearchResponse.class);
+    }
+
+    private static int gzipSize(byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.size();
+    }
+
+    private static List<Restaurant> map(File file) throws IOException {
+        try (RandomAccessFile in = new RandomAccessFile(file, "r"); FileChannel channel = in.getChannel()) {
+            return TrendingSnapshot.wrap(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    private static int countOpen(List<Restaurant> restaurants, int weekMinute) {
+        int open = 0;
+        for (Restaurant restaurant : restaurants) {
+            if (restaurant.isOpenAt(weekMinute)) open++;
+        }
+        return open;
+    }
+
+    private static int countOpenReparsing(List<Restaurant> restaurants, int weekMinute) {
+        int open = 0;
+        for (Restaurant restaurant : restaurants) {
+            if (OpeningHours.of(restaurant.getHours()).isOpenAt(weekMinute)) open++;
+        }
+        return open;
+    }
+
+    private static int weekMinute(int day, int hour, int minute) {
+        return (day * 24 + hour) * 60 + minute;
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.project.network;
+
+import com.example.project.network.RequestScheduler.Priority;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Timeout;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks admission order, per-class caps and queue accounting with calls that never touch the network
+ */
+public class RequestSchedulerTest {
+
+    private final List<String> started = new ArrayList<>();
+    private final List<String> failed = new ArrayList<>();
+
+    @Test
+    public void interactiveSearchSkipsAheadOfQueuedWork() {
+        RequestScheduler scheduler = new RequestScheduler(2, 1, 1, 1);
+        FakeCall sync = enqueue(scheduler, "sync", Priority.BACKGROUND);
+        FakeCall page = enqueue(scheduler, "page", Priority.PREFETCH);
+        FakeCall trending = enqueue(scheduler, "trending", Priority.SCREEN_LOAD);
+        FakeCall search = enqueue(scheduler, "search", Priority.INTERACTIVE);
+
+        // The last slot is kept for the search; everything else waits behind the sync
+        assertEquals(List.of("sync", "search"), started);
+
+        sync.finish();
+        // Prefetch stays deferred while a search runs, and a screen load may not take the reserved slot
+        assertEquals(List.of("sync", "search"), started);
+
+        search.finish();
+        assertEquals(List.of("sync", "search", "trending"), started);
+
+        trending.finish();
+        assertEquals(List.of("sync", "search", "trending", "page"), started);
+        page.finish();
+
+        SchedulerStats stats = scheduler.getStats();
+        assertEquals(0, stats.getRunning());
+        assertEquals(1, stats.get(Priority.PREFETCH).getStartedCount());
+        assertEquals(0, stats.get(Priority.INTERACTIVE).getQueued());
+    }
+
+    @Test
+    public void classCapLimitsConcurrency() {
+        RequestScheduler scheduler = new RequestScheduler(5, 2, 1, 1);
+        List<FakeCall> calls = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            calls.add(enqueue(scheduler, "screen" + i, Priority.SCREEN_LOAD));
+        }
+
+        assertEquals(List.of("screen0", "screen1"), started);
+        assertEquals(2, scheduler.getStats().get(Priority.SCREEN_LOAD).getQueued());
+
+        calls.get(0).finish();
+        assertEquals(List.of("screen0", "screen1", "screen2"), started);
+    }
+
+    @Test
+    public void cancelledWhileQueuedFailsWithoutTakingASlot() {
+        RequestScheduler scheduler = new RequestScheduler(1, 1, 1, 1);
+        FakeCall first = enqueue(scheduler, "first", Priority.INTERACTIVE);
+        FakeCall second = enqueue(scheduler, "second", Priority.INTERACTIVE);
+        FakeCall third = enqueue(scheduler, "third", Priority.INTERACTIVE);
+
+        second.cancel();
+        first.finish();
+
+        assertEquals(List.of("first", "third"), started);
+        assertEquals(List.of("first", "second"), failed);
+        assertFalse(third.isCanceled());
+    }
+
+    @Test
+    public void blockingCallWaitsForItsSlot() throws Exception {
+        RequestScheduler scheduler = new RequestScheduler(2, 1, 1, 1);
+        FakeCall search = enqueue(scheduler, "search", Priority.INTERACTIVE);
+
+        Thread background = new Thread(() -> {
+            try {
+                scheduler.execute(new FakeCall("sync"), Priority.BACKGROUND);
+            } catch (IOException e) {
+                failed.add("sync");
+            }
+        });
+        background.start();
+        Thread.sleep(100);
+        assertTrue(background.isAlive());
+        assertEquals(1, scheduler.getStats().get(Priority.BACKGROUND).getQueued());
+
+        search.finish();
+        background.join(1000);
+        assertFalse(background.isAlive());
+        assertEquals(List.of("search", "sync"), started);
+        assertEquals(1, scheduler.getStats().get(Priority.BACKGROUND).getWaitedCount());
+    }
+
+    @Test
+    public void hedgeSlotNeverTakesTheReservedSlotOrJumpsTheQueue() {
+        RequestScheduler scheduler = new RequestScheduler(3, 1, 1, 1);
+        FakeCall search = enqueue(scheduler, "search", Priority.INTERACTIVE);
+
+        Runnable hedge = scheduler.tryAcquire(new FakeCall("hedge"), Priority.INTERACTIVE);
+        assertNotNull(hedge);
+        assertEquals(2, scheduler.getStats().getRunning());
+        // Only the slot kept free for the next search is left
+        assertNull(scheduler.tryAcquire(new FakeCall("hedge2"), Priority.INTERACTIVE));
+
+        FakeCall next = enqueue(scheduler, "next", Priority.INTERACTIVE);
+        FakeCall queued = enqueue(scheduler, "queued", Priority.INTERACTIVE);
+        assertEquals(List.of("search", "next"), started);
+
+        // A freed slot goes to the waiting search, not to another hedge
+        search.finish();
+        assertEquals(List.of("search", "next", "queued"), started);
+        hedge.run();
+        hedge.run();
+        next.finish();
+        queued.finish();
+        assertEquals(0, scheduler.getStats().getRunning());
+    }
+
+    private FakeCall enqueue(RequestScheduler scheduler, String name, Priority priority) {
+        FakeCall call = new FakeCall(name);
+        scheduler.enqueue(call, priority, new Callback() {
+            @Override
+            public void onFailure(Call c, IOException e) {
+                failed.add(name);
+            }
+
+            @Override
+            public void onResponse(Call c, Response response) {
+            }
+        });
+        return call;
+    }
+
+    /**
+     * Call that records when it is started and completes when the test says so
+     */
+    private class FakeCall implements Call {
+        private final String name;
+        private Callback callback;
+        private boolean cancelled;
+
+        FakeCall(String name) {
+            this.name = name;
+        }
+
+        void finish() {
+            callback.onFailure(this, new IOException("done"));
+        }
+
+        @Override
+        public void enqueue(Callback callback) {
+            synchronized (started) {
+                started.add(name);
+            }
+            this.callback = callback;
+        }
+
+        @Override
+        public Response execute() {
+            synchronized (started) {
+                started.add(name);
+            }
+            return null;
+        }
+
+        @Override public Request request() { return null; }
+        @Override public void cancel() { cancelled = true; }
+        @Override public boolean isExecuted() { return callback != null; }
+        @Override public boolean isCanceled() { return cancelled; }
+        @Override public Timeout timeout() { return null; }
+        @Override public Call clone() { return new FakeCall(name); }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.project.network;
+
+import com.example.project.models.FavoriteItem;
+import com.example.project.models.Restaurant;
+import com.example.project.models.SearchResponse;
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that parsed restaurants collapse to one shared instance per id without shared instances being modified
+ */
+public class RestaurantIdentityMapTest {
+
+    private final Gson gson = ModelTypeAdapters.createGson();
+
+    @Test
+    public void unchangedRecordsShareOneInstance() {
+        RestaurantIdentityMap map = new RestaurantIdentityMap(100);
+        SearchResponse search = parse(StandInSearchServer.searchResponse(20));
+        SearchResponse trending = parse(StandInSearchServer.searchResponse(10));
+
+        map.internAll(search.getRestaurants());
+        map.internAll(trending.getRestaurants());
+
+        for (int i = 0; i < 10; i++) {
+            assertSame(search.getRestaurants().get(i), trending.getRestaurants().get(i));
+        }
+        Map<Restaurant, Boolean> distinct = new IdentityHashMap<>();
+        for (Restaurant restaurant : search.getRestaurants()) distinct.put(restaurant, true);
+        for (Restaurant restaurant : trending.getRestaurants()) distinct.put(restaurant, true);
+        assertEquals(20, distinct.size());
+        assertEquals(10, map.getSharedCount());
+        // Unchanged results still compare equal, so a background refresh is not redelivered
+        assertTrue(search.hasSameResults(parse(StandInSearchServer.searchResponse(20))));
+    }
+
+    @Test
+    public void compactRowKeepsDetailsLoadedEarlier() {
+        RestaurantIdentityMap map = new RestaurantIdentityMap(100);
+        Restaurant full = map.intern(StandInSearchServer.restaurant(4));
+
+        Restaurant row = map.intern(StandInSearchServer.toSummary(StandInSearchServer.restaurant(4)));
+
+        assertSame(full, row);
+        assertTrue(row.hasDetails());
+    }
+
+    @Test
+    public void changedRecordReplacesSharedInstanceWithoutModifyingIt() {
+        RestaurantIdentityMap map = new RestaurantIdentityMap(100);
+        Restaurant full = map.intern(StandInSearchServer.restaurant(2));
+
+        Restaurant rerated = StandInSearchServer.toSummary(StandInSearchServer.restaurant(2));
+        rerated.setRating(4.9);
+        Restaurant shared = map.intern(rerated);
+
+        assertNotSame(full, shared);
+        assertSame(shared, map.get("r2"));
+        assertEquals(4.9, shared.getRating(), 0.0);
+        assertEquals(full.getDescription(), shared.getDescription());
+        assertEquals(full.getLatitude(), shared.getLatitude());
+        assertEquals(StandInSearchServer.restaurant(2), full);
+    }
+
+    @Test
+    public void favoritesAndRecordsWithoutIdsAreHandled() {
+        RestaurantIdentityMap map = new RestaurantIdentityMap(100);
+        Restaurant listed = map.intern(StandInSearchServer.restaurant(1));
+        List<FavoriteItem> favorites = new ArrayList<>();
+        favorites.add(new FavoriteItem("f1", StandInSearchServer.restaurant(1), "2024-01-01"));
+        favorites.add(new FavoriteItem("f2", null, "2024-01-02"));
+
+        map.internFavorites(favorites);
+        assertSame(listed, favorites.get(0).getRestaurantData());
+
+        Restaurant anonymous = StandInSearchServer.restaurant(3);
+        anonymous.setId(null);
+        assertSame(anonymous, map.intern(anonymous));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void leastRecentlyUsedIdsAreEvictedPastTheCap() {
+        RestaurantIdentityMap map = new RestaurantIdentityMap(2);
+        List<Restaurant> held = new ArrayList<>();
+        Collections.addAll(held, map.intern(StandInSearchServer.restaurant(0)),
+                map.intern(StandInSearchServer.restaurant(1)));
+        assertNotNull(map.get("r0"));
+
+        held.add(map.intern(StandInSearchServer.restaurant(2)));
+
+        assertEquals(2, map.size());
+        assertNull(map.get("r1"));
+        assertNotNull(map.get("r0"));
+    }
+
+    private SearchResponse parse(SearchResponse response) {
+        return gson.fromJson(gson.toJson(response), SearchResponse.class);
+    }
+}
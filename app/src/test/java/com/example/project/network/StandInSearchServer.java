@@ -0,0 +1,193 @@
+package com.example.project.network;
+
+import com.example.project.models.Restaurant;
+import com.example.project.models.RestaurantDetailResponse;
+import com.example.project.models.SearchResponse;
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local stand-in for the search API that negotiates the response format on Accept
+ * Serves /api/restaurants/search and /api/restaurants/trending with generated restaurants
+ * (limit query parameter, default 20) as CBOR or JSON, honoring the fields projection, and
+ * /api/restaurants/{id} with the full record as JSON. Run main() to point the emulator at it
+ * (api.base.url=http://10.0.2.2:8080).
+ */
+public class StandInSearchServer {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final HttpServer server;
+    private final Gson gson = ModelTypeAdapters.createGson();
+
+    public StandInSearchServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.createContext("/api/restaurants/search", this::handleSearch);
+        server.createContext("/api/restaurants/trending", this::handleSearch);
+        server.createContext("/api/restaurants/", this::handleDetail);
+    }
+
+    public static void main(String[] args) throws IOException {
+        StandInSearchServer server = new StandInSearchServer(args.length > 0 ? Integer.parseInt(args[0]) : 8080);
+        server.start();
+        System.out.println("Stand-in search server on " + server.getBaseUrl());
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Encode a response in the format the server negotiated
+     */
+    public byte[] encode(SearchResponse response, boolean cbor) throws IOException {
+        if (cbor) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            CborModelEncoder.writeSearchResponse(response, out);
+            return out.toByteArray();
+        }
+        return gson.toJson(response).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void handleSearch(HttpExchange exchange) throws IOException {
+        int limit = DEFAULT_LIMIT;
+        boolean projected = false;
+        String query = exchange.getRequestURI().getQuery();
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                if (parameter.startsWith("limit=")) {
+                    limit = Integer.parseInt(parameter.substring("limit=".length()));
+                } else if (parameter.startsWith("fields=")) {
+                    projected = true;
+                }
+            }
+        }
+
+        SearchResponse response = searchResponse(limit);
+        if (projected) {
+            for (Restaurant restaurant : response.getRestaurants()) {
+                toSummary(restaurant);
+            }
+        }
+        boolean cbor = acceptsCbor(exchange.getRequestHeaders().getFirst("Accept"));
+        exchange.getResponseHeaders().set("Vary", "Accept");
+        send(exchange, encode(response, cbor), cbor ? CborModelCodec.MEDIA_TYPE : "application/json; charset=utf-8");
+    }
+
+    private void handleDetail(HttpExchange exchange) throws IOException {
+        String id = exchange.getRequestURI().getPath().substring("/api/restaurants/".length());
+        RestaurantDetailResponse response = new RestaurantDetailResponse();
+        int index = id.startsWith("r") ? parseIndex(id.substring(1)) : -1;
+        if (index < 0) {
+            response.setError("Not found");
+            response.setMessage("No restaurant " + id);
+            send(exchange, 404, gson.toJson(response).getBytes(StandardCharsets.UTF_8), "application/json; charset=utf-8");
+            return;
+        }
+        response.setSuccess(true);
+        response.setRestaurant(restaurant(index));
+        send(exchange, gson.toJson(response).getBytes(StandardCharsets.UTF_8), "application/json; charset=utf-8");
+    }
+
+    private static void send(HttpExchange exchange, byte[] body, String contentType) throws IOException {
+        send(exchange, 200, body, contentType);
+    }
+
+    private static void send(HttpExchange exchange, int code, byte[] body, String contentType) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(code, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static int parseIndex(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Strip a record down to the list projection the app asks for
+     */
+    public static Restaurant toSummary(Restaurant restaurant) {
+        restaurant.setDescription(null);
+        restaurant.setPhone(null);
+        restaurant.setHours(null);
+        return restaurant;
+    }
+
+    private static boolean acceptsCbor(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        for (String range : accept.split(",")) {
+            String[] parts = range.trim().split(";");
+            if (!parts[0].trim().equals(CborModelCodec.MEDIA_TYPE)) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    return Double.parseDouble(parameter.substring(2)) > 0;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    public static SearchResponse searchResponse(int size) {
+        List<Restaurant> restaurants = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            restaurants.add(restaurant(i));
+        }
+        SearchResponse response = new SearchResponse(true, restaurants, size);
+        response.setNextCursor("cursor-" + size);
+        return response;
+    }
+
+    private static final String[] CUISINES = {"Italian", "Japanese", "Mexican", "Thai", "Indian", "American"};
+
+    public static Restaurant restaurant(int i) {
+        Map<String, String> hours = new LinkedHashMap<>();
+        hours.put("monday", "11:00 AM - 10:00 PM");
+        hours.put("tuesday", "11:00 AM - 10:00 PM");
+        hours.put("wednesday", "11:00 AM - 10:00 PM");
+        hours.put("thursday", "11:00 AM - 10:00 PM");
+        hours.put("friday", "11:00 AM - 11:00 PM");
+        hours.put("saturday", "10:00 AM - 11:00 PM");
+        hours.put("sunday", i % 7 == 0 ? "Closed" : "10:00 AM - 9:00 PM");
+
+        Restaurant restaurant = new Restaurant("Restaurant " + i, CUISINES[i % CUISINES.length], 3.0 + (i % 20) / 10.0,
+                i + " Main Street, San Francisco, CA", "(555) 010-" + (1000 + i % 9000),
+                "A neighborhood spot serving handmade pasta, wood-fired pizza and seasonal plates.", hours);
+        restaurant.setId("r" + i);
+        if (i % 2 == 0) {
+            restaurant.setLatitude(37.7 + i * 0.001);
+            restaurant.setLongitude(-122.4 - i * 0.001);
+        }
+        return restaurant;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.project.network;
+
+import com.example.project.models.Restaurant;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Round-trips the home screen's trending snapshot and checks that damaged files are rejected
+ */
+public class TrendingSnapshotTest {
+
+    @Test
+    public void snapshot_roundTripsListFields() throws IOException {
+        List<Restaurant> restaurants = StandInSearchServer.searchResponse(5).getRestaurants();
+        restaurants.get(2).setName("Café Ümlaut 寿司");
+        restaurants.get(3).setAddress(null);
+
+        List<Restaurant> decoded = TrendingSnapshot.wrap(ByteBuffer.wrap(TrendingSnapshot.encode(restaurants)));
+
+        assertEquals(5, decoded.size());
+        for (int i = 0; i < restaurants.size(); i++) {
+            assertEquals(StandInSearchServer.toSummary(restaurants.get(i)), decoded.get(i));
+        }
+        // Decoded once, then reused
+        assertSame(decoded.get(1), decoded.get(1));
+    }
+
+    @Test
+    public void snapshot_keepsOnlyTheFirstRestaurants() throws IOException {
+        List<Restaurant> restaurants = StandInSearchServer.searchResponse(100).getRestaurants();
+        List<Restaurant> decoded = TrendingSnapshot.wrap(ByteBuffer.wrap(TrendingSnapshot.encode(restaurants)));
+        assertEquals(TrendingSnapshot.MAX_RESTAURANTS, decoded.size());
+        assertEquals("r19", decoded.get(TrendingSnapshot.MAX_RESTAURANTS - 1).getId());
+    }
+
+    @Test
+    public void snapshot_rejectsForeignOrCorruptFiles() throws IOException {
+        byte[] encoded = TrendingSnapshot.encode(StandInSearchServer.searchResponse(3).getRestaurants());
+
+        byte[] json = "{\"success\":true}".getBytes(StandardCharsets.UTF_8);
+        try {
+            TrendingSnapshot.wrap(ByteBuffer.wrap(json));
+            fail("Expected IOException");
+        } catch (IOException expected) {
+        }
+
+        byte[] truncated = new byte[12];
+        System.arraycopy(encoded, 0, truncated, 0, truncated.length);
+        try {
+            TrendingSnapshot.wrap(ByteBuffer.wrap(truncated));
+            fail("Expected IOException");
+        } catch (IOException expected) {
+        }
+    }
+
+    @Test
+    public void snapshot_rejectsRecordsOutsideTheirExtent() throws IOException {
+        byte[] encoded = TrendingSnapshot.encode(StandInSearchServer.searchResponse(3).getRestaurants());
+
+        // Offsets must run forward, one record after another
+        ByteBuffer swapped = ByteBuffer.wrap(encoded.clone());
+        int first = swapped.getInt(8);
+        swapped.putInt(8, swapped.getInt(12));
+        swapped.putInt(12, first);
+        try {
+            TrendingSnapshot.wrap(swapped);
+            fail("Expected IOException");
+        } catch (IOException expected) {
+        }
+
+        // A cut-off or padded last record only fails when it is read; earlier cards still decode
+        byte[] cut = new byte[encoded.length - 1];
+        System.arraycopy(encoded, 0, cut, 0, cut.length);
+        byte[] padded = new byte[encoded.length + 1];
+        System.arraycopy(encoded, 0, padded, 0, encoded.length);
+        for (byte[] garbled : new byte[][] {cut, padded}) {
+            List<Restaurant> decoded = TrendingSnapshot.wrap(ByteBuffer.wrap(garbled));
+            assertEquals("Restaurant 0", decoded.get(0).getName());
+            try {
+                decoded.get(2);
+                fail("Expected IllegalStateException");
+            } catch (IllegalStateException expected) {
+            }
+        }
+    }
+}